@@ -0,0 +1,210 @@
+package net.coderodde.graph.allpairs.benchmark;
+
+import java.util.Random;
+import net.coderodde.graph.allpairs.AdjacencyMatrix;
+
+/**
+ * This class generates the random input graphs of the benchmarks. Unlike 
+ * {@code Demo}, all the graphs are generated from a fixed seed so that the 
+ * numbers are reproducible between runs.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class BenchmarkGraphs {
+
+    /**
+     * The seed used by all the benchmarks.
+     */
+    static final long SEED = 0x5EED_F10_7DL;
+
+    private BenchmarkGraphs() {}
+
+    /**
+     * Creates a random adjacency matrix over {@code nodes} nodes with 
+     * <b>approximately</b> {@code density * nodes * nodes} arcs. The weight of
+     * each arc varies between {@code minWeight} and {@code maxWeight}.
+     * 
+     * @param nodes     the number of nodes.
+     * @param density   the fraction of all possible arcs to generate.
+     * @param minWeight the minimum arc weight.
+     * @param maxWeight the maximum arc weight.
+     * @param random    the random number generator.
+     * @return an adjacency matrix representing the graph with requested 
+     *         parameters.
+     */
+    static AdjacencyMatrix getRandomAdjacencyMatrix(int nodes,
+                                                    double density,
+                                                    double minWeight,
+                                                    double maxWeight,
+                                                    Random random) {
+        return getRandomArcs(nodes, 
+                             density, 
+                             minWeight, 
+                             maxWeight, 
+                             false, 
+                             random).toAdjacencyMatrix();
+    }
+
+    /**
+     * Creates a random adjacency matrix as 
+     * {@link #getRandomArcs(int, double, double, boolean, boolean, Random)} 
+     * does.
+     */
+    static AdjacencyMatrix getRandomAdjacencyMatrix(int nodes,
+                                                    double density,
+                                                    double maxWeight,
+                                                    boolean negativeWeights,
+                                                    boolean integralWeights,
+                                                    Random random) {
+        return getRandomArcs(nodes, 
+                             density, 
+                             maxWeight, 
+                             negativeWeights, 
+                             integralWeights,
+                             random).toAdjacencyMatrix();
+    }
+
+    /**
+     * Generates random arcs with fractional weights as 
+     * {@link #getRandomArcs(int, double, double, boolean, boolean, Random)} 
+     * does.
+     */
+    static Arcs getRandomArcs(int nodes,
+                              double density,
+                              double maxWeight,
+                              boolean negativeWeights,
+                              Random random) {
+        return getRandomArcs(nodes, 
+                             density, 
+                             maxWeight, 
+                             negativeWeights, 
+                             false, 
+                             random);
+    }
+
+    /**
+     * Generates <b>approximately</b> {@code density * nodes * nodes} random 
+     * arcs with the weights between {@code 0} and {@code maxWeight}. With 
+     * negative weights enabled, each node {@code u} gets a random potential 
+     * {@code p(u)} between {@code 0} and {@code maxWeight / 4}, and each arc 
+     * {@code (u, v)} is reweighted by {@code p(u) - p(v)}. The potentials 
+     * cancel out along every cycle, so there are no negative weight cycles, 
+     * while about 4 percent of the arcs get negative weights.
+     * <p>
+     * With integral weights, both the weights and the potentials are whole 
+     * numbers. All the path costs are then exact, so every engine computes 
+     * the same costs and no engine pays for breaking ties that rounding 
+     * errors would otherwise resolve.
+     * 
+     * @param nodes           the number of nodes.
+     * @param density         the fraction of all possible arcs to generate.
+     * @param maxWeight       the maximum arc weight before the reweighting.
+     * @param negativeWeights whether to reweight the arcs by potentials.
+     * @param integralWeights whether to generate only whole weights.
+     * @param random          the random number generator.
+     * @return the arcs.
+     */
+    static Arcs getRandomArcs(int nodes,
+                              double density,
+                              double maxWeight,
+                              boolean negativeWeights,
+                              boolean integralWeights,
+                              Random random) {
+        Arcs arcs = getRandomArcs(nodes, 
+                                  density, 
+                                  0.0, 
+                                  maxWeight, 
+                                  integralWeights, 
+                                  random);
+
+        if (negativeWeights) {
+            double[] potentials = new double[nodes];
+
+            for (int i = 0; i < nodes; ++i) {
+                potentials[i] = getRandomWeight(0.0, 
+                                                0.25 * maxWeight, 
+                                                integralWeights, 
+                                                random);
+            }
+
+            for (int i = 0; i < arcs.weights.length; ++i) {
+                arcs.weights[i] += potentials[arcs.tails[i]] - 
+                                   potentials[arcs.heads[i]];
+            }
+        }
+
+        return arcs;
+    }
+
+    private static Arcs getRandomArcs(int nodes,
+                                      double density,
+                                      double minWeight,
+                                      double maxWeight,
+                                      boolean integralWeights,
+                                      Random random) {
+        int arcs = (int) Math.round(density * nodes * nodes);
+        int[] tails = new int[arcs];
+        int[] heads = new int[arcs];
+        double[] weights = new double[arcs];
+
+        for (int i = 0; i < arcs; ++i) {
+            tails[i] = random.nextInt(nodes);
+            heads[i] = random.nextInt(nodes);
+            weights[i] = getRandomWeight(minWeight, 
+                                         maxWeight, 
+                                         integralWeights, 
+                                         random);
+        }
+
+        return new Arcs(nodes, tails, heads, weights);
+    }
+
+    // Returns a uniform weight from [minWeight, maxWeight) or, if integral, a
+    // uniform whole weight from [ceil(minWeight), floor(maxWeight)].
+    private static double getRandomWeight(double minWeight,
+                                          double maxWeight,
+                                          boolean integral,
+                                          Random random) {
+        if (!integral) {
+            return (maxWeight - minWeight) * random.nextDouble() + minWeight;
+        }
+
+        double min = Math.ceil(minWeight);
+        double max = Math.floor(maxWeight);
+        return min + Math.floor((max - min + 1.0) * random.nextDouble());
+    }
+
+    /**
+     * This class holds the arcs of a random graph in parallel arrays, so that
+     * a benchmark may generate them once and time only setting them.
+     */
+    static final class Arcs {
+
+        final int nodes;
+        final int[] tails;
+        final int[] heads;
+        final double[] weights;
+
+        private Arcs(int nodes, int[] tails, int[] heads, double[] weights) {
+            this.nodes = nodes;
+            this.tails = tails;
+            this.heads = heads;
+            this.weights = weights;
+        }
+
+        /**
+         * Creates an adjacency matrix and sets the arcs one by one; the later
+         * of two parallel arcs wins.
+         */
+        AdjacencyMatrix toAdjacencyMatrix() {
+            AdjacencyMatrix m = new AdjacencyMatrix(nodes);
+
+            for (int i = 0; i < tails.length; ++i) {
+                m.setArcCost(tails[i], heads[i], weights[i]);
+            }
+
+            return m;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.coderodde.graph.allpairs.benchmark;
+
+import net.coderodde.graph.allpairs.AdjacencyMatrix;
+import net.coderodde.graph.allpairs.BlockedFloydWarshall;
+import net.coderodde.graph.allpairs.FloydWarshall;
+import net.coderodde.graph.allpairs.ParallelFloydWarshall;
+import net.coderodde.graph.allpairs.SccFloydWarshall;
+import net.coderodde.graph.allpairs.ShortestPathData;
+import net.coderodde.graph.allpairs.VectorFloydWarshall;
+
+/**
+ * This enumeration lists the all-pairs engines the benchmarks compare.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public enum Engine {
+
+    FLOYD_WARSHALL {
+        @Override
+        public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+            return new FloydWarshall().compute(adjacencyMatrix);
+        }
+    },
+
+    BLOCKED {
+        @Override
+        public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+            return new BlockedFloydWarshall().compute(adjacencyMatrix);
+        }
+    },
+
+    PARALLEL {
+        @Override
+        public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+            return new ParallelFloydWarshall().compute(adjacencyMatrix);
+        }
+    },
+
+    VECTOR {
+        @Override
+        public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+            return new VectorFloydWarshall().compute(adjacencyMatrix);
+        }
+    },
+
+    SCC {
+        @Override
+        public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+            return new SccFloydWarshall().compute(adjacencyMatrix);
+        }
+    };
+
+    public abstract ShortestPathData compute(AdjacencyMatrix adjacencyMatrix);
+}
@@ -0,0 +1,70 @@
+package net.coderodde.graph.allpairs.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.allpairs.AdjacencyMatrix;
+import net.coderodde.graph.allpairs.ShortestPathData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures the running time of a full all-pairs computation.
+ * The integral weights keep all the path costs exact, so that the engines are
+ * compared on identical results.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class FloydWarshallBenchmark {
+
+    @Param({ "256", "512", "1024" })
+    private int nodes;
+
+    @Param({ "0.01", "0.15" })
+    private double density;
+
+    @Param({ "4.0" })
+    private double maxWeight;
+
+    @Param({ "false", "true" })
+    private boolean negativeWeights;
+
+    @Param({ "false", "true" })
+    private boolean integralWeights;
+
+    @Param({ "FLOYD_WARSHALL", "BLOCKED", "PARALLEL", "VECTOR" })
+    private Engine engine;
+
+    private AdjacencyMatrix adjacencyMatrix;
+
+    @Setup
+    public void setup() {
+        adjacencyMatrix = BenchmarkGraphs.getRandomAdjacencyMatrix(
+                nodes,
+                density,
+                maxWeight,
+                negativeWeights,
+                integralWeights,
+                new Random(BenchmarkGraphs.SEED));
+    }
+
+    @Benchmark
+    public ShortestPathData compute() {
+        return engine.compute(adjacencyMatrix);
+    }
+}
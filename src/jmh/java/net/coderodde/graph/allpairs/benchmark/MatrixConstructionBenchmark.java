@@ -0,0 +1,61 @@
+package net.coderodde.graph.allpairs.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.allpairs.AdjacencyMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures building an adjacency matrix: allocating it and 
+ * setting the arcs one by one. The arcs are generated up front, so the 
+ * random number generation is not timed.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MatrixConstructionBenchmark {
+
+    @Param({ "256", "1024", "4096" })
+    private int nodes;
+
+    @Param({ "0.0", "0.01", "0.15" })
+    private double density;
+
+    @Param({ "4.0" })
+    private double maxWeight;
+
+    @Param({ "false", "true" })
+    private boolean negativeWeights;
+
+    private BenchmarkGraphs.Arcs arcs;
+
+    @Setup
+    public void setup() {
+        arcs = BenchmarkGraphs.getRandomArcs(nodes,
+                                             density,
+                                             maxWeight,
+                                             negativeWeights,
+                                             new Random(BenchmarkGraphs.SEED));
+    }
+
+    @Benchmark
+    public AdjacencyMatrix construct() {
+        return arcs.toAdjacencyMatrix();
+    }
+}
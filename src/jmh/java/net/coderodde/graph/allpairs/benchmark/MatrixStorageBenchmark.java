@@ -0,0 +1,84 @@
+package net.coderodde.graph.allpairs.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.allpairs.AdjacencyMatrix;
+import net.coderodde.graph.allpairs.FloydWarshall;
+import net.coderodde.graph.allpairs.MatrixStorage;
+import net.coderodde.graph.allpairs.ShortestPathData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark compares the running time of {@link FloydWarshall} storing
+ * its results in double precision against the reduced-precision costs and
+ * the compact parents.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MatrixStorageBenchmark {
+
+    public enum Storage {
+
+        DOUBLE(MatrixStorage.heap()),
+        FLOAT(MatrixStorage.heap().withFloatCosts()),
+        FIXED_POINT(MatrixStorage.heap().withFixedPointCosts(1.0 / 1024)),
+        COMPACT_PARENTS(MatrixStorage.heap().withCompactParents()),
+        FLOAT_COMPACT_PARENTS(
+                MatrixStorage.heap().withFloatCosts().withCompactParents());
+
+        private final MatrixStorage storage;
+
+        Storage(MatrixStorage storage) {
+            this.storage = storage;
+        }
+    }
+
+    @Param({ "512", "1024", "2048" })
+    private int nodes;
+
+    @Param({ "0.15" })
+    private double density;
+
+    @Param({ "DOUBLE",
+             "FLOAT",
+             "FIXED_POINT",
+             "COMPACT_PARENTS",
+             "FLOAT_COMPACT_PARENTS" })
+    private Storage storage;
+
+    private AdjacencyMatrix adjacencyMatrix;
+    private FloydWarshall algorithm;
+
+    @Setup
+    public void setup() {
+        adjacencyMatrix = BenchmarkGraphs.getRandomAdjacencyMatrix(
+                nodes,
+                density,
+                0.0,
+                4.0,
+                new Random(BenchmarkGraphs.SEED));
+        algorithm = new FloydWarshall(storage.storage);
+    }
+
+    @Benchmark
+    public ShortestPathData compute() {
+        return algorithm.compute(adjacencyMatrix);
+    }
+}
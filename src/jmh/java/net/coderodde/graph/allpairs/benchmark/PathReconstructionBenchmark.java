@@ -0,0 +1,92 @@
+package net.coderodde.graph.allpairs.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.allpairs.FloydWarshall;
+import net.coderodde.graph.allpairs.ParentMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark measures the shortest path reconstruction from a parent 
+ * matrix. Each invocation reconstructs a fixed batch of random paths.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathReconstructionBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({ "256", "1024" })
+    private int nodes;
+
+    @Param({ "0.005", "0.05" })
+    private double density;
+
+    @Param({ "4.0" })
+    private double maxWeight;
+
+    private ParentMatrix parentMatrix;
+    private int[] sources;
+    private int[] targets;
+    private int[] path;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkGraphs.SEED);
+        parentMatrix = new FloydWarshall().compute(
+                BenchmarkGraphs.getRandomAdjacencyMatrix(nodes,
+                                                         density,
+                                                         0.0,
+                                                         maxWeight,
+                                                         random))
+                .getParentMatrix();
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+
+        for (int i = 0; i < QUERIES; ++i) {
+            sources[i] = random.nextInt(nodes);
+            targets[i] = random.nextInt(nodes);
+        }
+
+        path = new int[nodes];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void getShortestPath(Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; ++i) {
+            blackhole.consume(parentMatrix.getShortestPath(sources[i], 
+                                                           targets[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void getShortestPathIntoArray(Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; ++i) {
+            blackhole.consume(parentMatrix.getShortestPath(sources[i], 
+                                                           targets[i],
+                                                           path,
+                                                           0));
+        }
+    }
+}
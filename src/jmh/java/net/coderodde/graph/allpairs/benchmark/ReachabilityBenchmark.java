@@ -0,0 +1,69 @@
+package net.coderodde.graph.allpairs.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.allpairs.AdjacencyMatrix;
+import net.coderodde.graph.allpairs.FloydWarshall;
+import net.coderodde.graph.allpairs.ReachabilityMatrix;
+import net.coderodde.graph.allpairs.ShortestPathData;
+import net.coderodde.graph.allpairs.TransitiveClosure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark compares the bit-parallel transitive closure against the 
+ * full all-pairs computation answering the same reachability queries.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ReachabilityBenchmark {
+
+    @Param({ "512", "1024", "2048" })
+    private int nodes;
+
+    @Param({ "0.001", "0.01" })
+    private double density;
+
+    private AdjacencyMatrix adjacencyMatrix;
+
+    @Setup
+    public void setup() {
+        adjacencyMatrix = BenchmarkGraphs.getRandomAdjacencyMatrix(
+                nodes,
+                density,
+                1.0,
+                4.0,
+                new Random(BenchmarkGraphs.SEED));
+    }
+
+    @Benchmark
+    public ShortestPathData floydWarshall() {
+        return new FloydWarshall().compute(adjacencyMatrix);
+    }
+
+    @Benchmark
+    public ReachabilityMatrix transitiveClosure() {
+        return new TransitiveClosure().compute(adjacencyMatrix, 1);
+    }
+
+    @Benchmark
+    public ReachabilityMatrix parallelTransitiveClosure() {
+        return new TransitiveClosure().compute(adjacencyMatrix);
+    }
+}
@@ -1,5 +1,6 @@
 package net.coderodde.graph.allpairs;
 
+import java.util.Objects;
 import static net.coderodde.graph.allpairs.Utils.checkArcCost;
 import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
 import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
@@ -15,26 +16,22 @@ import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
  */
 public final class AdjacencyMatrix {
 
-    private final double[][] matrix;
+    // The row 'i' holds the costs of the arcs leaving the node 'i'.
+    private final DoubleMatrixStorage matrix;
 
     public AdjacencyMatrix(int numberOfNodes) {
         checkNumberOfNodes(numberOfNodes);
-        this.matrix = new double[numberOfNodes][numberOfNodes];
-
-        for (int y = 0; y < numberOfNodes; ++y) {
-            for (int x = 0; x < numberOfNodes; ++x) {
-                matrix[y][x] = Double.POSITIVE_INFINITY;
-            }
-        }
+        this.matrix = new HeapDoubleMatrixStorage(numberOfNodes, 
+                                                  Double.POSITIVE_INFINITY);
 
         for (int i = 0; i < numberOfNodes; ++i) {
             // The distance from a node to itself is always zero.
-            matrix[i][i] = 0.0;
+            matrix.set(i, i, 0.0);
         }
     }
 
     public int getNumberOfNodes() {
-        return matrix.length;
+        return matrix.getNumberOfNodes();
     }
 
     /**
@@ -46,9 +43,9 @@ public final class AdjacencyMatrix {
      * @return the current cost of the arc.
      */
     public double getArcCost(int tailNodeIndex, int headNodeIndex) {
-        checkNodeIndex(tailNodeIndex, matrix.length);
-        checkNodeIndex(headNodeIndex, matrix.length);
-        return matrix[headNodeIndex][tailNodeIndex];
+        checkNodeIndex(tailNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(headNodeIndex, matrix.getNumberOfNodes());
+        return matrix.get(tailNodeIndex, headNodeIndex);
     }
 
     /**
@@ -60,14 +57,78 @@ public final class AdjacencyMatrix {
      * @param cost the cost of the arc to set.
      */
     public void setArcCost(int tailNodeIndex, int headNodeIndex, double cost) {
-        checkNodeIndex(tailNodeIndex, matrix.length);
-        checkNodeIndex(headNodeIndex, matrix.length);
+        checkNodeIndex(tailNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(headNodeIndex, matrix.getNumberOfNodes());
         checkArcCost(cost);
 
         // Do not update cost from a node to itself, or namely, do not introduce
         // self-loops.
         if (tailNodeIndex != headNodeIndex) {
-            matrix[headNodeIndex][tailNodeIndex] = cost;
+            matrix.set(tailNodeIndex, headNodeIndex, cost);
+        }
+    }
+
+    /**
+     * Sets the costs of the arcs {@code (tails[i], heads[i])} to 
+     * {@code costs[i]} for all {@code i}, resolving the arcs given several 
+     * times according to {@code policy}. All the arcs are validated before
+     * any of them is set, so on failure this matrix remains intact. 
+     * Self-loops are ignored.
+     * 
+     * @param tails  the tail node indices of the arcs.
+     * @param heads  the head node indices of the arcs.
+     * @param costs  the arc costs.
+     * @param policy the duplicate arc policy.
+     */
+    public void setArcCosts(int[] tails, 
+                            int[] heads, 
+                            double[] costs, 
+                            DuplicateArcPolicy policy) {
+        Objects.requireNonNull(tails, "The tail array is null.");
+        Objects.requireNonNull(heads, "The head array is null.");
+        Objects.requireNonNull(costs, "The cost array is null.");
+
+        if (tails.length != heads.length || tails.length != costs.length) {
+            throw new IllegalArgumentException(
+                    "The arc arrays have different lengths: " + tails.length +
+                    ", " + heads.length + ", " + costs.length + ".");
         }
+
+        setArcCosts(tails, heads, costs, tails.length, policy);
+    }
+
+    // Sets the first 'length' arcs of the arrays.
+    void setArcCosts(int[] tails, 
+                     int[] heads, 
+                     double[] costs, 
+                     int length,
+                     DuplicateArcPolicy policy) {
+        Objects.requireNonNull(policy, "The duplicate arc policy is null.");
+        int n = matrix.getNumberOfNodes();
+
+        for (int i = 0; i < length; ++i) {
+            checkNodeIndex(tails[i], n);
+            checkNodeIndex(heads[i], n);
+            checkArcCost(costs[i]);
+        }
+
+        boolean keepMinimum = policy == DuplicateArcPolicy.MIN;
+
+        for (int i = 0; i < length; ++i) {
+            int tail = tails[i];
+            int head = heads[i];
+
+            if (tail == head 
+                    || (keepMinimum && matrix.get(tail, head) <= costs[i])) {
+                continue;
+            }
+
+            matrix.set(tail, head, costs[i]);
+        }
+    }
+
+    // Gives the engines direct access to the rows of this matrix.
+    DoubleMatrixStorage getStorage() {
+        return matrix;
     }
 }
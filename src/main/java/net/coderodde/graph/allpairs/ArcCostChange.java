@@ -0,0 +1,42 @@
+package net.coderodde.graph.allpairs;
+
+import static net.coderodde.graph.allpairs.Utils.checkArcCost;
+
+/**
+ * This class describes a change of the cost of a single arc. Setting the cost
+ * to positive infinity removes the arc.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class ArcCostChange {
+
+    private final int tailNodeIndex;
+    private final int headNodeIndex;
+    private final double newCost;
+
+    public ArcCostChange(int tailNodeIndex, int headNodeIndex, double newCost) {
+        checkArcCost(newCost);
+        this.tailNodeIndex = tailNodeIndex;
+        this.headNodeIndex = headNodeIndex;
+        this.newCost = newCost;
+    }
+
+    public int getTailNodeIndex() {
+        return tailNodeIndex;
+    }
+
+    public int getHeadNodeIndex() {
+        return headNodeIndex;
+    }
+
+    public double getNewCost() {
+        return newCost;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + tailNodeIndex + " -> " + headNodeIndex + ", " + newCost 
+                   + ")";
+    }
+}
@@ -0,0 +1,216 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Objects;
+import static net.coderodde.graph.allpairs.Utils.checkTileSize;
+
+/**
+ * This class implements a cache-blocked (tiled) variant of the Floyd-Warshall
+ * algorithm. The cost matrix is split into square tiles of 
+ * {@code tileSize x tileSize} entries. For each block of pivot nodes, the 
+ * diagonal tile is processed first, then the tiles on the pivot row and the 
+ * pivot column, and finally all the remaining tiles. This way each tile update
+ * touches only three tiles, which keeps the working set in the CPU caches for
+ * large graphs.
+ * <p>
+ * If all the arc weights are integral (or otherwise exactly representable 
+ * along with all the path costs), the shortest path costs and the negative 
+ * weight cycle flag are the same as the ones computed by 
+ * {@link FloydWarshall}. Other weights are summed in a different order, so 
+ * the costs may differ from those of {@link FloydWarshall} in the last bits.
+ * If there are several shortest paths between two nodes, the parent matrix 
+ * may describe a different one.
+ * <p>
+ * Relaxing the tiles out of the plain pivot order, a plain cost comparison 
+ * may, on ties such as around zero-weight cycles, pick the parents of a row 
+ * from different shortest paths that do not join into a tree. The engine 
+ * therefore tracks the number of arcs on each path and prefers the paths 
+ * with fewer arcs among the equally costly ones.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class BlockedFloydWarshall {
+
+    /**
+     * The default tile size. 64 x 64 doubles take 32 KiB, so three tiles fit
+     * comfortably in a typical L2 cache.
+     */
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    private final int tileSize;
+
+    public BlockedFloydWarshall() {
+        this(DEFAULT_TILE_SIZE);
+    }
+
+    public BlockedFloydWarshall(int tileSize) {
+        checkTileSize(tileSize);
+        this.tileSize = tileSize;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+        int n = adjacencyMatrix.getNumberOfNodes();
+        ShortestPathCostMatrix costMatrix = new ShortestPathCostMatrix(n);
+        ParentMatrix parentMatrix = new ParentMatrix(n);
+        FloydWarshall.preprocess(adjacencyMatrix, costMatrix, parentMatrix);
+
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        IntMatrixStorage p = parentMatrix.getStorage();
+        IntMatrixStorage h = createHopMatrix(n);
+        int numberOfTiles = (n + tileSize - 1) / tileSize;
+
+        for (int kb = 0; kb < numberOfTiles; ++kb) {
+            int k0 = kb * tileSize;
+            int k1 = Math.min(k0 + tileSize, n);
+
+            // Phase 1: the diagonal tile depends only on itself.
+            relaxTile(d, p, h, k0, k1, k0, k1, k0, k1);
+
+            // Phase 2: the tiles on the pivot row and the pivot column depend
+            // on themselves and on the diagonal tile.
+            for (int b = 0; b < numberOfTiles; ++b) {
+                if (b == kb) {
+                    continue;
+                }
+
+                int b0 = b * tileSize;
+                int b1 = Math.min(b0 + tileSize, n);
+                relaxTile(d, p, h, k0, k1, b0, b1, k0, k1);
+                relaxTile(d, p, h, b0, b1, k0, k1, k0, k1);
+            }
+
+            // Phase 3: the rest of the tiles depend only on the tiles on the
+            // pivot row and the pivot column.
+            for (int ib = 0; ib < numberOfTiles; ++ib) {
+                if (ib == kb) {
+                    continue;
+                }
+
+                int i0 = ib * tileSize;
+                int i1 = Math.min(i0 + tileSize, n);
+
+                for (int jb = 0; jb < numberOfTiles; ++jb) {
+                    if (jb == kb) {
+                        continue;
+                    }
+
+                    int j0 = jb * tileSize;
+                    int j1 = Math.min(j0 + tileSize, n);
+                    relaxIndependentTile(d, p, h, i0, i1, j0, j1, k0, k1);
+                }
+            }
+        }
+
+        boolean containsNegativeWeightCycle = 
+                FloydWarshall.containsNegativeWeightCycle(adjacencyMatrix, 
+                                                          costMatrix);
+
+        return new ShortestPathData(costMatrix, 
+                                    parentMatrix, 
+                                    containsNegativeWeightCycle);
+    }
+
+    // All the three matrices share the same heap layout. The hops of the 
+    // absent paths are never read.
+    private static IntMatrixStorage createHopMatrix(int n) {
+        IntMatrixStorage h = new HeapIntMatrixStorage(n, 1);
+
+        for (int i = 0; i < n; ++i) {
+            h.set(i, i, 0);
+        }
+
+        return h;
+    }
+
+    // Relaxes a tile that may depend on itself; the pivot loop must be the 
+    // outermost one.
+    //
+    // Both kernels compare (cost, hops) pairs: every final parent arc then 
+    // ends a path with strictly more arcs than the path to its tail, so the 
+    // parents cannot form a cycle whatever order the tiles are relaxed in.
+    private static void relaxTile(DoubleMatrixStorage d, 
+                                  IntMatrixStorage p,
+                                  IntMatrixStorage h,
+                                  int i0, int i1,
+                                  int j0, int j1,
+                                  int k0, int k1) {
+        for (int k = k0; k < k1; ++k) {
+            double[] dk = d.getSegment(k);
+            int[] pk = p.getSegment(k);
+            int[] hk = h.getSegment(k);
+            int ok = d.getRowOffset(k);
+
+            for (int i = i0; i < i1; ++i) {
+                double[] di = d.getSegment(i);
+                int oi = d.getRowOffset(i);
+                double dik = di[oi + k];
+
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                int[] pi = p.getSegment(i);
+                int[] hi = h.getSegment(i);
+                relaxRow(di, pi, hi, oi, dik, hi[oi + k], dk, pk, hk, ok, 
+                         j0, j1);
+            }
+        }
+    }
+
+    // Relaxes a tile that does not overlap the pivot row nor the pivot column,
+    // so the loops may be ordered for the best locality.
+    private static void relaxIndependentTile(DoubleMatrixStorage d, 
+                                             IntMatrixStorage p,
+                                             IntMatrixStorage h,
+                                             int i0, int i1,
+                                             int j0, int j1,
+                                             int k0, int k1) {
+        for (int i = i0; i < i1; ++i) {
+            double[] di = d.getSegment(i);
+            int[] pi = p.getSegment(i);
+            int[] hi = h.getSegment(i);
+            int oi = d.getRowOffset(i);
+
+            for (int k = k0; k < k1; ++k) {
+                double dik = di[oi + k];
+
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                int ok = d.getRowOffset(k);
+                relaxRow(di, pi, hi, oi, dik, hi[oi + k], 
+                         d.getSegment(k), p.getSegment(k), h.getSegment(k), 
+                         ok, j0, j1);
+            }
+        }
+    }
+
+    // Relaxes the columns j0, ..., j1 - 1 of the row i through the pivot k.
+    private static void relaxRow(double[] di, int[] pi, int[] hi, int oi,
+                                 double dik, int hik,
+                                 double[] dk, int[] pk, int[] hk, int ok,
+                                 int j0, int j1) {
+        for (int j = j0; j < j1; ++j) {
+            double tentativeCost = dik + dk[ok + j];
+            double cost = di[oi + j];
+
+            if (cost > tentativeCost) {
+                di[oi + j] = tentativeCost;
+                pi[oi + j] = pk[ok + j];
+                hi[oi + j] = hik + hk[ok + j];
+            } else if (cost == tentativeCost 
+                    && tentativeCost != Double.POSITIVE_INFINITY
+                    && hi[oi + j] > hik + hk[ok + j]) {
+                pi[oi + j] = pk[ok + j];
+                hi[oi + j] = hik + hk[ok + j];
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a square matrix of small non-negative {@code int} 
+ * values stored as unsigned bytes in Java arrays, which takes a quarter of 
+ * the memory of {@link HeapIntMatrixStorage}. The stored values must be 
+ * either {@link ParentMatrix#NIL}, encoded as {@code 0xFF}, or between zero 
+ * and {@link #MAX_VALUE}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class ByteMatrixStorage extends IntMatrixStorage {
+
+    static final int MAX_VALUE = 0xFE;
+
+    private static final byte NIL = (byte) 0xFF;
+
+    private final int numberOfNodes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final byte[][] segments;
+
+    ByteMatrixStorage(int numberOfNodes, int initialValue) {
+        SegmentLayout layout = 
+                new SegmentLayout(numberOfNodes, 
+                                  HeapDoubleMatrixStorage.MAX_SEGMENT_LENGTH);
+        this.numberOfNodes = numberOfNodes;
+        this.segmentShift = layout.shift;
+        this.segmentMask = layout.mask;
+        this.segments = new byte[layout.numberOfSegments][];
+
+        for (int s = 0; s < segments.length; ++s) {
+            segments[s] = new byte[layout.getSegmentLength(s)];
+        }
+
+        fill(initialValue);
+    }
+
+    @Override
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    int get(int row, int column) {
+        return decode(segments[row >>> segmentShift]
+                              [(row & segmentMask) * numberOfNodes + column]);
+    }
+
+    @Override
+    void set(int row, int column, int value) {
+        segments[row >>> segmentShift]
+                [(row & segmentMask) * numberOfNodes + column] = 
+                encode(value);
+    }
+
+    @Override
+    void fill(int value) {
+        for (byte[] segment : segments) {
+            Arrays.fill(segment, encode(value));
+        }
+    }
+
+    @Override
+    void readRow(int row, int[] destination) {
+        byte[] segment = segments[row >>> segmentShift];
+        int offset = (row & segmentMask) * numberOfNodes;
+
+        for (int j = 0; j < numberOfNodes; ++j) {
+            destination[j] = decode(segment[offset + j]);
+        }
+    }
+
+    @Override
+    void writeRow(int row, int[] source) {
+        byte[] segment = segments[row >>> segmentShift];
+        int offset = (row & segmentMask) * numberOfNodes;
+
+        for (int j = 0; j < numberOfNodes; ++j) {
+            segment[offset + j] = encode(source[j]);
+        }
+    }
+
+    private static byte encode(int value) {
+        return value == ParentMatrix.NIL ? NIL : (byte) value;
+    }
+
+    private static int decode(byte value) {
+        return value == NIL ? ParentMatrix.NIL : value & 0xFF;
+    }
+}
@@ -0,0 +1,39 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * This class implements a cooperative cancellation flag. A computation 
+ * polls the token at safe points and gives up by throwing a 
+ * {@link CancellationException} once the token is cancelled. A token cannot
+ * be reset.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /**
+     * Requests the cancellation of the computations polling this token. May
+     * be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Throws a {@link CancellationException} if this token is cancelled.
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException(
+                    "The shortest path computation was cancelled.");
+        }
+    }
+}
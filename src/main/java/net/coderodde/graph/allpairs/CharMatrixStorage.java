@@ -0,0 +1,100 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a square matrix of node indices stored as unsigned 
+ * 16-bit values in Java arrays, which takes half the memory of 
+ * {@link HeapIntMatrixStorage}. Since {@link ParentMatrix#NIL} is stored as 
+ * {@code 0xFFFF}, graphs of up to {@link #MAX_NUMBER_OF_NODES} nodes are 
+ * supported.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class CharMatrixStorage extends IntMatrixStorage {
+
+    static final int MAX_NUMBER_OF_NODES = 0xFFFF;
+
+    private static final char NIL = (char) 0xFFFF;
+
+    private final int numberOfNodes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final char[][] segments;
+
+    CharMatrixStorage(int numberOfNodes, int initialValue) {
+        if (numberOfNodes > MAX_NUMBER_OF_NODES) {
+            throw new IllegalArgumentException(
+                    "Too many nodes for 16-bit node indices: " + 
+                    numberOfNodes);
+        }
+
+        SegmentLayout layout = 
+                new SegmentLayout(numberOfNodes, 
+                                  HeapDoubleMatrixStorage.MAX_SEGMENT_LENGTH);
+        this.numberOfNodes = numberOfNodes;
+        this.segmentShift = layout.shift;
+        this.segmentMask = layout.mask;
+        this.segments = new char[layout.numberOfSegments][];
+
+        for (int s = 0; s < segments.length; ++s) {
+            segments[s] = new char[layout.getSegmentLength(s)];
+        }
+
+        fill(initialValue);
+    }
+
+    @Override
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    int get(int row, int column) {
+        return decode(segments[row >>> segmentShift]
+                              [(row & segmentMask) * numberOfNodes + column]);
+    }
+
+    @Override
+    void set(int row, int column, int value) {
+        segments[row >>> segmentShift]
+                [(row & segmentMask) * numberOfNodes + column] = 
+                encode(value);
+    }
+
+    @Override
+    void fill(int value) {
+        for (char[] segment : segments) {
+            Arrays.fill(segment, encode(value));
+        }
+    }
+
+    @Override
+    void readRow(int row, int[] destination) {
+        char[] segment = segments[row >>> segmentShift];
+        int offset = (row & segmentMask) * numberOfNodes;
+
+        for (int j = 0; j < numberOfNodes; ++j) {
+            destination[j] = decode(segment[offset + j]);
+        }
+    }
+
+    @Override
+    void writeRow(int row, int[] source) {
+        char[] segment = segments[row >>> segmentShift];
+        int offset = (row & segmentMask) * numberOfNodes;
+
+        for (int j = 0; j < numberOfNodes; ++j) {
+            segment[offset + j] = encode(source[j]);
+        }
+    }
+
+    private static char encode(int value) {
+        return value == ParentMatrix.NIL ? NIL : (char) value;
+    }
+
+    private static int decode(char value) {
+        return value == NIL ? ParentMatrix.NIL : value;
+    }
+}
@@ -0,0 +1,120 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an indexed binary minimum heap over the node indices
+ * {@code 0, 1, ..., n - 1} with {@code double} priority keys. It supports the 
+ * decrease-key operation needed by Dijkstra's algorithm without allocating
+ * anything after construction.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class DijkstraHeap {
+
+    private static final int ABSENT = -1;
+
+    private final int[] nodes;
+    private final int[] positions;
+    private final double[] keys;
+    private int size;
+
+    DijkstraHeap(int numberOfNodes) {
+        this.nodes = new int[numberOfNodes];
+        this.positions = new int[numberOfNodes];
+        this.keys = new double[numberOfNodes];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; ++i) {
+            positions[nodes[i]] = ABSENT;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Inserts {@code node} with the priority {@code key}, or decreases its
+     * priority if it is already in the heap. The caller must make sure that
+     * the key of a node present in the heap is never increased.
+     */
+    void insertOrDecreaseKey(int node, double key) {
+        int position = positions[node];
+
+        if (position == ABSENT) {
+            position = size++;
+        }
+
+        keys[node] = key;
+        siftUp(node, position);
+    }
+
+    int extractMinimum() {
+        int minimum = nodes[0];
+        positions[minimum] = ABSENT;
+        --size;
+
+        if (size > 0) {
+            siftDown(nodes[size], 0);
+        }
+
+        return minimum;
+    }
+
+    private void siftUp(int node, int position) {
+        double key = keys[node];
+
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parentNode = nodes[parentPosition];
+
+            if (keys[parentNode] <= key) {
+                break;
+            }
+
+            nodes[position] = parentNode;
+            positions[parentNode] = position;
+            position = parentPosition;
+        }
+
+        nodes[position] = node;
+        positions[node] = position;
+    }
+
+    private void siftDown(int node, int position) {
+        double key = keys[node];
+
+        while (true) {
+            int childPosition = 2 * position + 1;
+
+            if (childPosition >= size) {
+                break;
+            }
+
+            if (childPosition + 1 < size 
+                    && keys[nodes[childPosition + 1]] 
+                     < keys[nodes[childPosition]]) {
+                ++childPosition;
+            }
+
+            int childNode = nodes[childPosition];
+
+            if (keys[childNode] >= key) {
+                break;
+            }
+
+            nodes[position] = childNode;
+            positions[childNode] = position;
+            position = childPosition;
+        }
+
+        nodes[position] = node;
+        positions[node] = position;
+    }
+}
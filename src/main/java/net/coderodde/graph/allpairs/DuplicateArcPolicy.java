@@ -0,0 +1,23 @@
+package net.coderodde.graph.allpairs;
+
+/**
+ * This enumeration lists the ways of resolving several costs given to the 
+ * same arc when loading a graph in bulk.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public enum DuplicateArcPolicy {
+
+    /**
+     * The arc keeps the smallest of its costs, including the cost it had 
+     * before loading. This gives the same shortest paths as keeping all the
+     * parallel arcs.
+     */
+    MIN,
+
+    /**
+     * The arc gets the cost given last.
+     */
+    LAST_WINS
+}
@@ -0,0 +1,580 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
+
+/**
+ * This class loads graphs from edge-list files in bulk. The files are 
+ * memory-mapped and parsed in chunks, optionally in parallel on the common 
+ * fork/join pool. The arcs are then set in the file order, so 
+ * {@link DuplicateArcPolicy#LAST_WINS} keeps the cost appearing last in the 
+ * file.
+ * <p>
+ * A text edge list has one arc per line: the tail node index, the head node 
+ * index and the arc cost, separated by spaces or tabs. Empty lines and lines 
+ * starting with {@code #} are skipped.
+ * <p>
+ * A binary edge list is little-endian and consists of a 24-byte header 
+ * followed by the arcs:
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "FWEL"
+ *      4     4  format version
+ *      8     4  number of nodes n
+ *     12     4  reserved (0)
+ *     16     8  number of arcs m
+ *     24        m records of (int tail, int head, double cost)
+ * </pre>
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class EdgeListIO {
+
+    static final int MAGIC = 0x4C455746; // "FWEL" in little-endian.
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 2 * Integer.BYTES + Double.BYTES;
+
+    // The files are parsed in chunks of roughly this many bytes.
+    static final int DEFAULT_CHUNK_SIZE = 1 << 26;
+
+    // Binary chunks smaller than this are not worth a parallel task.
+    private static final int MIN_RECORDS_PER_CHUNK = 1 << 12;
+
+    // The largest number of arcs we can hold in Java arrays.
+    private static final int MAX_NUMBER_OF_ARCS = Integer.MAX_VALUE - 8;
+
+    private EdgeListIO() {}
+
+    /**
+     * Loads a graph from the text edge list {@code file}.
+     * 
+     * @param file          the file to load.
+     * @param numberOfNodes the number of nodes in the graph.
+     * @param policy        the duplicate arc policy.
+     * @param parallel      whether to parse the file in parallel.
+     * @return the loaded graph.
+     * @throws IOException if the file cannot be read or is malformed.
+     * @throws IllegalArgumentException if an arc refers to a node out of 
+     *                                  range or has the cost NaN.
+     */
+    public static AdjacencyMatrix loadText(Path file,
+                                           int numberOfNodes,
+                                           DuplicateArcPolicy policy,
+                                           boolean parallel) 
+    throws IOException {
+        return loadText(file, 
+                        numberOfNodes, 
+                        policy, 
+                        parallel, 
+                        DEFAULT_CHUNK_SIZE);
+    }
+
+    static AdjacencyMatrix loadText(Path file,
+                                    int numberOfNodes,
+                                    DuplicateArcPolicy policy,
+                                    boolean parallel,
+                                    int chunkSize) throws IOException {
+        Objects.requireNonNull(file, "The file is null.");
+        Objects.requireNonNull(policy, "The duplicate arc policy is null.");
+        checkNumberOfNodes(numberOfNodes);
+        AdjacencyMatrix matrix = new AdjacencyMatrix(numberOfNodes);
+
+        try (FileChannel channel = 
+                FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = getLineAlignedChunkBounds(channel, chunkSize);
+            List<TextChunkParser> parsers = new ArrayList<>();
+
+            for (int c = 0; c + 1 < bounds.length; ++c) {
+                parsers.add(new TextChunkParser(channel, 
+                                                bounds[c], 
+                                                bounds[c + 1]));
+            }
+
+            if (parallel) {
+                runInParallel(parsers);
+            }
+
+            for (TextChunkParser parser : parsers) {
+                if (!parallel) {
+                    parser.call();
+                }
+
+                matrix.setArcCosts(parser.tails, 
+                                   parser.heads, 
+                                   parser.costs, 
+                                   parser.size, 
+                                   policy);
+
+                // Let the arcs of the chunk be collected.
+                parser.clear();
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Loads a graph from the binary edge list {@code file}.
+     * 
+     * @param file     the file to load.
+     * @param policy   the duplicate arc policy.
+     * @param parallel whether to decode the file in parallel.
+     * @return the loaded graph.
+     * @throws IOException if the file cannot be read or is malformed.
+     * @throws IllegalArgumentException if an arc refers to a node out of 
+     *                                  range or has the cost NaN.
+     */
+    public static AdjacencyMatrix loadBinary(Path file,
+                                             DuplicateArcPolicy policy,
+                                             boolean parallel) 
+    throws IOException {
+        Objects.requireNonNull(file, "The file is null.");
+        Objects.requireNonNull(policy, "The duplicate arc policy is null.");
+
+        try (FileChannel channel = 
+                FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("The file is too short: " + file);
+                }
+            }
+
+            header.flip();
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a binary edge list file: " + file);
+            }
+
+            int version = header.getInt();
+
+            if (version != VERSION) {
+                throw new IOException("Unsupported format version " + 
+                                      version + ": " + file);
+            }
+
+            int n = header.getInt();
+            header.getInt();
+            long m = header.getLong();
+
+            if (n < 0 || m < 0L || m > MAX_NUMBER_OF_ARCS) {
+                throw new IOException("Corrupted header: " + file);
+            }
+
+            if (channel.size() != HEADER_SIZE + m * RECORD_SIZE) {
+                throw new IOException("The file size does not match the " +
+                                      "header: " + file);
+            }
+
+            int numberOfArcs = (int) m;
+            int[] tails = new int[numberOfArcs];
+            int[] heads = new int[numberOfArcs];
+            double[] costs = new double[numberOfArcs];
+            int recordsPerChunk = DEFAULT_CHUNK_SIZE / RECORD_SIZE;
+
+            if (parallel) {
+                // Give every worker of the pool at least one chunk.
+                int parallelism = ForkJoinPool.getCommonPoolParallelism();
+                recordsPerChunk =
+                        Math.min(recordsPerChunk,
+                                 Math.max(MIN_RECORDS_PER_CHUNK,
+                                          numberOfArcs / parallelism + 1));
+            }
+
+            List<Callable<Void>> decoders = new ArrayList<>();
+
+            for (int first = 0; first < numberOfArcs; first += recordsPerChunk) {
+                int from = first;
+                int to = (int) Math.min((long) first + recordsPerChunk, 
+                                        numberOfArcs);
+                decoders.add(() -> {
+                    decodeRecords(channel, from, to, tails, heads, costs);
+                    return null;
+                });
+            }
+
+            if (parallel) {
+                runInParallel(decoders);
+            } else {
+                for (Callable<Void> decoder : decoders) {
+                    try {
+                        decoder.call();
+                    } catch (IOException ex) {
+                        throw ex;
+                    } catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }
+            }
+
+            AdjacencyMatrix matrix = new AdjacencyMatrix(n);
+            matrix.setArcCosts(tails, heads, costs, numberOfArcs, policy);
+            return matrix;
+        }
+    }
+
+    /**
+     * Writes the arcs {@code (tails[i], heads[i], costs[i])} to {@code file} 
+     * as a binary edge list, replacing its contents.
+     * 
+     * @param file          the target file.
+     * @param numberOfNodes the number of nodes in the graph.
+     * @param tails         the tail node indices of the arcs.
+     * @param heads         the head node indices of the arcs.
+     * @param costs         the arc costs.
+     * @throws IOException if writing fails.
+     */
+    public static void writeBinary(Path file,
+                                   int numberOfNodes,
+                                   int[] tails,
+                                   int[] heads,
+                                   double[] costs) throws IOException {
+        Objects.requireNonNull(file, "The file is null.");
+        Objects.requireNonNull(tails, "The tail array is null.");
+        Objects.requireNonNull(heads, "The head array is null.");
+        Objects.requireNonNull(costs, "The cost array is null.");
+        checkNumberOfNodes(numberOfNodes);
+
+        if (tails.length != heads.length || tails.length != costs.length) {
+            throw new IllegalArgumentException(
+                    "The arc arrays have different lengths: " + tails.length +
+                    ", " + heads.length + ", " + costs.length + ".");
+        }
+
+        try (FileChannel channel = 
+                FileChannel.open(file, 
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.WRITE,
+                                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putInt(numberOfNodes)
+                  .putInt(0)
+                  .putLong(tails.length);
+
+            for (int i = 0; i < tails.length; ++i) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    writeFully(channel, buffer);
+                }
+
+                buffer.putInt(tails[i]).putInt(heads[i]).putDouble(costs[i]);
+            }
+
+            writeFully(channel, buffer);
+        }
+    }
+
+    // Splits the file into chunks of about 'chunkSize' bytes, each ending 
+    // right after a line break or at the end of the file.
+    private static long[] getLineAlignedChunkBounds(FileChannel channel, 
+                                                    int chunkSize) 
+    throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long start = 0L;
+        bounds.add(0L);
+
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+
+            // Move the end past the next line break.
+            scan:
+            while (end < size) {
+                buffer.clear();
+                int read = channel.read(buffer, end);
+
+                for (int i = 0; i < read; ++i) {
+                    if (buffer.get(i) == '\n') {
+                        end += i + 1;
+                        break scan;
+                    }
+                }
+
+                end += read;
+            }
+
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("A line is too long at byte " + start);
+            }
+
+            bounds.add(end);
+            start = end;
+        }
+
+        long[] result = new long[bounds.size()];
+
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = bounds.get(i);
+        }
+
+        return result;
+    }
+
+    private static void decodeRecords(FileChannel channel,
+                                      int from,
+                                      int to,
+                                      int[] tails,
+                                      int[] heads,
+                                      double[] costs) throws IOException {
+        MappedByteBuffer buffer = 
+                channel.map(FileChannel.MapMode.READ_ONLY,
+                            HEADER_SIZE + (long) from * RECORD_SIZE,
+                            (long)(to - from) * RECORD_SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int i = from, position = 0; i < to; ++i) {
+            tails[i] = buffer.getInt(position);
+            heads[i] = buffer.getInt(position + Integer.BYTES);
+            costs[i] = buffer.getDouble(position + 2 * Integer.BYTES);
+            position += RECORD_SIZE;
+        }
+    }
+
+    // Runs the tasks on the common pool and rethrows their I/O errors.
+    private static void runInParallel(List<? extends Callable<?>> tasks) 
+    throws IOException {
+        List<Callable<Object>> callables = new ArrayList<>();
+
+        for (Callable<?> task : tasks) {
+            callables.add(task::call);
+        }
+
+        try {
+            Utils.runAll(ForkJoinPool.commonPool(), callables);
+        } catch (IllegalStateException ex) {
+            // The fork/join pool may wrap checked exceptions once more.
+            for (Throwable cause = ex.getCause();
+                    cause != null;
+                    cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+
+                if (cause instanceof IllegalArgumentException) {
+                    throw (IllegalArgumentException) cause;
+                }
+            }
+
+            throw ex;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) 
+    throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    // Parses the arcs in the byte range [start, end) of a text edge list.
+    private static final class TextChunkParser implements Callable<Void> {
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        int[] tails = new int[16];
+        int[] heads = new int[16];
+        double[] costs = new double[16];
+        int size;
+
+        TextChunkParser(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            MappedByteBuffer buffer = 
+                    channel.map(FileChannel.MapMode.READ_ONLY, 
+                                start, 
+                                end - start);
+            int limit = buffer.limit();
+            int position = 0;
+
+            while (position < limit) {
+                position = skipBlanks(buffer, position);
+
+                if (position == limit) {
+                    break;
+                }
+
+                byte b = buffer.get(position);
+
+                if (b == '\n') {
+                    ++position;
+                    continue;
+                }
+
+                if (b == '#') {
+                    while (position < limit && buffer.get(position) != '\n') {
+                        ++position;
+                    }
+
+                    continue;
+                }
+
+                int tailEnd = getTokenEnd(buffer, position);
+                int tail = parseNodeIndex(buffer, position, tailEnd);
+                position = skipBlanks(buffer, tailEnd);
+                int headEnd = getTokenEnd(buffer, position);
+                int head = parseNodeIndex(buffer, position, headEnd);
+                position = skipBlanks(buffer, headEnd);
+                int costEnd = getTokenEnd(buffer, position);
+                double cost = parseCost(buffer, position, costEnd);
+                position = skipBlanks(buffer, costEnd);
+
+                if (position < limit && buffer.get(position) != '\n') {
+                    throw malformed(position);
+                }
+
+                add(tail, head, cost);
+            }
+
+            return null;
+        }
+
+        void clear() {
+            tails = null;
+            heads = null;
+            costs = null;
+        }
+
+        private void add(int tail, int head, double cost) {
+            if (size == tails.length) {
+                int capacity = size + (size >> 1);
+                tails = Arrays.copyOf(tails, capacity);
+                heads = Arrays.copyOf(heads, capacity);
+                costs = Arrays.copyOf(costs, capacity);
+            }
+
+            tails[size] = tail;
+            heads[size] = head;
+            costs[size] = cost;
+            ++size;
+        }
+
+        private int parseNodeIndex(ByteBuffer buffer, int from, int to) 
+        throws IOException {
+            if (from == to || to - from > 10) {
+                throw malformed(from);
+            }
+
+            long value = 0L;
+
+            for (int i = from; i < to; ++i) {
+                int digit = buffer.get(i) - '0';
+
+                if (digit < 0 || digit > 9) {
+                    throw malformed(i);
+                }
+
+                value = 10L * value + digit;
+            }
+
+            if (value > Integer.MAX_VALUE) {
+                throw malformed(from);
+            }
+
+            return (int) value;
+        }
+
+        // Integer costs of up to 15 digits are parsed exactly by hand, 
+        // everything else by Double.parseDouble.
+        private double parseCost(ByteBuffer buffer, int from, int to) 
+        throws IOException {
+            if (from == to) {
+                throw malformed(from);
+            }
+
+            boolean negative = buffer.get(from) == '-';
+            int i = negative || buffer.get(from) == '+' ? from + 1 : from;
+
+            if (i < to && to - i <= 15) {
+                long value = 0L;
+
+                for (; i < to; ++i) {
+                    int digit = buffer.get(i) - '0';
+
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+
+                    value = 10L * value + digit;
+                }
+
+                if (i == to) {
+                    return negative ? -value : value;
+                }
+            }
+
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+
+            try {
+                return Double.parseDouble(
+                        new String(bytes, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException ex) {
+                throw malformed(from);
+            }
+        }
+
+        private IOException malformed(int position) {
+            return new IOException("Malformed edge list at byte " + 
+                                   (start + position) + ".");
+        }
+
+        private static int skipBlanks(ByteBuffer buffer, int position) {
+            while (position < buffer.limit()) {
+                byte b = buffer.get(position);
+
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    break;
+                }
+
+                ++position;
+            }
+
+            return position;
+        }
+
+        private static int getTokenEnd(ByteBuffer buffer, int position) {
+            while (position < buffer.limit()) {
+                byte b = buffer.get(position);
+
+                if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                    break;
+                }
+
+                ++position;
+            }
+
+            return position;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a square matrix of costs stored as {@code int} 
+ * multiples of a fixed unit. A cost {@code c} is stored as 
+ * {@code round(c / unit)}. Positive infinity is stored as 
+ * {@link #POSITIVE_INFINITY} and negative infinity as 
+ * {@link #NEGATIVE_INFINITY}; finite costs beyond the representable range 
+ * saturate to the largest (or the smallest) finite value.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class FixedPointMatrixStorage extends DoubleMatrixStorage {
+
+    static final int POSITIVE_INFINITY = Integer.MAX_VALUE;
+    static final int NEGATIVE_INFINITY = Integer.MIN_VALUE;
+
+    private final int numberOfNodes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final int[][] segments;
+    private final double unit;
+
+    FixedPointMatrixStorage(int numberOfNodes, 
+                            double unit, 
+                            double initialValue) {
+        SegmentLayout layout = 
+                new SegmentLayout(numberOfNodes, 
+                                  HeapDoubleMatrixStorage.MAX_SEGMENT_LENGTH);
+        this.numberOfNodes = numberOfNodes;
+        this.segmentShift = layout.shift;
+        this.segmentMask = layout.mask;
+        this.segments = new int[layout.numberOfSegments][];
+        this.unit = unit;
+
+        for (int s = 0; s < segments.length; ++s) {
+            segments[s] = new int[layout.getSegmentLength(s)];
+        }
+
+        fill(initialValue);
+    }
+
+    double getUnit() {
+        return unit;
+    }
+
+    @Override
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    double get(int row, int column) {
+        return decode(segments[row >>> segmentShift]
+                              [(row & segmentMask) * numberOfNodes + column]);
+    }
+
+    @Override
+    void set(int row, int column, double value) {
+        segments[row >>> segmentShift]
+                [(row & segmentMask) * numberOfNodes + column] = 
+                encode(value);
+    }
+
+    @Override
+    void fill(double value) {
+        for (int[] segment : segments) {
+            Arrays.fill(segment, encode(value));
+        }
+    }
+
+    @Override
+    void readRow(int row, double[] destination) {
+        int[] segment = segments[row >>> segmentShift];
+        int offset = (row & segmentMask) * numberOfNodes;
+
+        for (int j = 0; j < numberOfNodes; ++j) {
+            destination[j] = decode(segment[offset + j]);
+        }
+    }
+
+    @Override
+    void writeRow(int row, double[] source) {
+        int[] segment = segments[row >>> segmentShift];
+        int offset = (row & segmentMask) * numberOfNodes;
+
+        for (int j = 0; j < numberOfNodes; ++j) {
+            segment[offset + j] = encode(source[j]);
+        }
+    }
+
+    /**
+     * Returns the array holding the raw fixed-point values of the row 
+     * {@code row}.
+     */
+    int[] getRawSegment(int row) {
+        return segments[row >>> segmentShift];
+    }
+
+    int getRawRowOffset(int row) {
+        return (row & segmentMask) * numberOfNodes;
+    }
+
+    private int encode(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return POSITIVE_INFINITY;
+        }
+
+        if (value == Double.NEGATIVE_INFINITY) {
+            return NEGATIVE_INFINITY;
+        }
+
+        long units = Math.round(value / unit);
+
+        if (units >= POSITIVE_INFINITY) {
+            return POSITIVE_INFINITY - 1;
+        }
+
+        if (units <= NEGATIVE_INFINITY) {
+            return NEGATIVE_INFINITY + 1;
+        }
+
+        return (int) units;
+    }
+
+    private double decode(int value) {
+        if (value == POSITIVE_INFINITY) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        if (value == NEGATIVE_INFINITY) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        return value * unit;
+    }
+}
@@ -0,0 +1,92 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a square matrix of costs stored as {@code float} 
+ * values in Java arrays. It takes half the memory of 
+ * {@link HeapDoubleMatrixStorage} at the price of rounding every stored cost 
+ * to single precision. The infinities are stored exactly.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class FloatMatrixStorage extends DoubleMatrixStorage {
+
+    private final int numberOfNodes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final float[][] segments;
+
+    FloatMatrixStorage(int numberOfNodes, double initialValue) {
+        SegmentLayout layout = 
+                new SegmentLayout(numberOfNodes, 
+                                  HeapDoubleMatrixStorage.MAX_SEGMENT_LENGTH);
+        this.numberOfNodes = numberOfNodes;
+        this.segmentShift = layout.shift;
+        this.segmentMask = layout.mask;
+        this.segments = new float[layout.numberOfSegments][];
+
+        for (int s = 0; s < segments.length; ++s) {
+            segments[s] = new float[layout.getSegmentLength(s)];
+        }
+
+        fill(initialValue);
+    }
+
+    @Override
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    double get(int row, int column) {
+        return segments[row >>> segmentShift]
+                       [(row & segmentMask) * numberOfNodes + column];
+    }
+
+    @Override
+    void set(int row, int column, double value) {
+        segments[row >>> segmentShift]
+                [(row & segmentMask) * numberOfNodes + column] = (float) value;
+    }
+
+    @Override
+    void fill(double value) {
+        for (float[] segment : segments) {
+            Arrays.fill(segment, (float) value);
+        }
+    }
+
+    @Override
+    void readRow(int row, double[] destination) {
+        float[] segment = segments[row >>> segmentShift];
+        int offset = (row & segmentMask) * numberOfNodes;
+
+        for (int j = 0; j < numberOfNodes; ++j) {
+            destination[j] = segment[offset + j];
+        }
+    }
+
+    @Override
+    void writeRow(int row, double[] source) {
+        float[] segment = segments[row >>> segmentShift];
+        int offset = (row & segmentMask) * numberOfNodes;
+
+        for (int j = 0; j < numberOfNodes; ++j) {
+            segment[offset + j] = (float) source[j];
+        }
+    }
+
+    /**
+     * Returns the array holding the raw {@code float} values of the row 
+     * {@code row}.
+     */
+    float[] getRawSegment(int row) {
+        return segments[row >>> segmentShift];
+    }
+
+    int getRawRowOffset(int row) {
+        return (row & segmentMask) * numberOfNodes;
+    }
+}
@@ -1,65 +1,594 @@
 package net.coderodde.graph.allpairs;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * This class implements the Floyd-Warshall algorithm for all-pairs shortest 
  * path problem.
+ * <p>
+ * A negative weight cycle is detected as soon as the relaxation finds a 
+ * negative distance from a node to itself, and the cycle is reported through
+ * {@link ShortestPathData#getNegativeWeightCycle()}. The engine may be told to
+ * stop right there, in which case the returned matrices are incomplete.
+ * <p>
+ * The computation runs one phase per pivot node. A {@link PhaseListener} may
+ * observe the phases, which are also recorded as JFR events, and a 
+ * {@link CancellationToken} polled at the start of every phase may abort 
+ * the computation.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Nov 3, 2015)
  */
 public final class FloydWarshall {
 
-    private ShortestPathCostMatrix costMatrix;
-    private ParentMatrix parentMatrix;
-    
+    private final MatrixStorage storage;
+    private final boolean stopAtNegativeWeightCycle;
+
     public FloydWarshall() {
-        
+        this(MatrixStorage.heap());
     }
     
-    private FloydWarshall(ShortestPathCostMatrix costMatrix,
-                          ParentMatrix parentMatrix) {
-        this.costMatrix = costMatrix;
-        this.parentMatrix = parentMatrix;
+    /**
+     * Constructs this engine storing the results in {@code storage}.
+     * 
+     * @param storage the storage of the result matrices.
+     */
+    public FloydWarshall(MatrixStorage storage) {
+        this(storage, false);
+    }
+
+    /**
+     * Constructs this engine storing the results in {@code storage}. 
+     * 
+     * @param storage                   the storage of the result matrices.
+     * @param stopAtNegativeWeightCycle whether to stop the computation as 
+     *                                  soon as a negative weight cycle is 
+     *                                  found.
+     */
+    public FloydWarshall(MatrixStorage storage, 
+                         boolean stopAtNegativeWeightCycle) {
+        this.storage = Objects.requireNonNull(storage, 
+                                              "The matrix storage is null.");
+        this.stopAtNegativeWeightCycle = stopAtNegativeWeightCycle;
     }
     
     public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
         Objects.requireNonNull(adjacencyMatrix,
                                "The adjacency matrix is null.");
+        return compute(adjacencyMatrix, 
+                       null, 
+                       PhaseRecorder.none(
+                               adjacencyMatrix.getNumberOfNodes()));
+    }
+
+    /**
+     * Computes the shortest paths reporting each completed phase to 
+     * {@code listener}. If {@code cancellationToken} gets cancelled, the 
+     * computation stops before its next phase.
+     * 
+     * @param adjacencyMatrix   the graph.
+     * @param listener          the phase listener.
+     * @param cancellationToken the cancellation token.
+     * @return the shortest path data.
+     * @throws java.util.concurrent.CancellationException if the computation
+     *                                                    was cancelled.
+     */
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix,
+                                    PhaseListener listener,
+                                    CancellationToken cancellationToken) {
+        Objects.requireNonNull(adjacencyMatrix,
+                               "The adjacency matrix is null.");
+        Objects.requireNonNull(listener, "The phase listener is null.");
+        Objects.requireNonNull(cancellationToken, 
+                               "The cancellation token is null.");
+        return compute(adjacencyMatrix, 
+                       null, 
+                       new PhaseRecorder(
+                               listener, 
+                               cancellationToken,
+                               adjacencyMatrix.getNumberOfNodes()));
+    }
+
+    /**
+     * Computes the shortest paths together with the next hop matrix, 
+     * available through {@link ShortestPathData#getNextHopMatrix()}.
+     * 
+     * @param adjacencyMatrix the graph.
+     * @param encoding        the encoding of the next hops.
+     * @return the shortest path data.
+     */
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix,
+                                    NextHopMatrix.Encoding encoding) {
+        Objects.requireNonNull(adjacencyMatrix,
+                               "The adjacency matrix is null.");
+        Objects.requireNonNull(encoding, "The next hop encoding is null.");
+        return compute(adjacencyMatrix, 
+                       NextHopMatrix.create(adjacencyMatrix, encoding),
+                       PhaseRecorder.none(
+                               adjacencyMatrix.getNumberOfNodes()));
+    }
+
+    /**
+     * Computes only whether each node is reachable from each other node, 
+     * without costs or parents. This runs Warshall's algorithm on bit rows in
+     * the calling thread; see {@link TransitiveClosure} for the parallel 
+     * version.
+     * 
+     * @param adjacencyMatrix the graph.
+     * @return the reachability matrix.
+     */
+    public ReachabilityMatrix computeReachability(
+            AdjacencyMatrix adjacencyMatrix) {
+        return new TransitiveClosure().compute(adjacencyMatrix, 1);
+    }
+
+    private ShortestPathData compute(AdjacencyMatrix adjacencyMatrix,
+                                     NextHopMatrix nextHopMatrix,
+                                     PhaseRecorder recorder) {
         int n = adjacencyMatrix.getNumberOfNodes();
-        FloydWarshall fw = new FloydWarshall(new ShortestPathCostMatrix(n),
-                                             new ParentMatrix(n));
-        fw.preprocess(adjacencyMatrix);
+        ShortestPathCostMatrix costMatrix = storage.createCostMatrix(n);
+        ParentMatrix parentMatrix = storage.createParentMatrix(n);
+        preprocess(adjacencyMatrix, costMatrix, parentMatrix);
+
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        IntMatrixStorage p = parentMatrix.getStorage();
+        IntMatrixStorage h = nextHopMatrix == null ? 
+                             null : 
+                             nextHopMatrix.getStorage();
+        int[] negativeWeightCycle;
+
+        if (d instanceof FloatMatrixStorage) {
+            negativeWeightCycle = relaxFloats(a, 
+                                              (FloatMatrixStorage) d, 
+                                              p, 
+                                              h, 
+                                              recorder);
+        } else if (d instanceof FixedPointMatrixStorage) {
+            negativeWeightCycle = relaxFixedPoint(a, 
+                                                  (FixedPointMatrixStorage) d,
+                                                  p, 
+                                                  h, 
+                                                  recorder);
+        } else if (d.isArrayBacked()) {
+            negativeWeightCycle = relaxInArrays(a, d, p, h, recorder);
+        } else {
+            negativeWeightCycle = relaxByRows(a, d, p, h, recorder);
+        }
+
+        ShortestPathData data;
+
+        if (negativeWeightCycle == null) {
+            data = new ShortestPathData(costMatrix, parentMatrix, false);
+        } else {
+            data = new ShortestPathData(costMatrix, 
+                                        parentMatrix, 
+                                        true,
+                                        negativeWeightCycle);
+        }
+
+        data.setNextHopMatrix(nextHopMatrix);
+        return data;
+    }
+
+    // The hot loop works directly on the backing arrays: the node indices are
+    // valid by construction, so the checks done by the public accessors would
+    // only slow it down. The next hops 'h' are updated only if present. If 
+    // the parents are not in int arrays, as with the compact parents, they are
+    // copied through the storage on the rare improvements. Returns the first 
+    // negative weight cycle found, or null if there is none.
+    private int[] relaxInArrays(DoubleMatrixStorage a,
+                                DoubleMatrixStorage d, 
+                                IntMatrixStorage p,
+                                IntMatrixStorage h,
+                                PhaseRecorder recorder) {
+        int n = d.getNumberOfNodes();
+        int[] negativeWeightCycle = null;
+        boolean parentArrays = p.isArrayBacked();
 
         for (int k = 0; k < n; ++k) {
+            recorder.beginPhase();
+            long relaxations = 0L;
+            long improvements = 0L;
+            double[] dk = d.getSegment(k);
+            int[] pk = parentArrays ? p.getSegment(k) : null;
+            int ok = d.getRowOffset(k);
+
             for (int i = 0; i < n; ++i) {
+                double[] di = d.getSegment(i);
+                int oi = d.getRowOffset(i);
+                double dik = di[oi + k];
+
+                if (dik == Double.POSITIVE_INFINITY) {
+                    // No path from i to k, nothing to improve via k.
+                    continue;
+                }
+
+                if (negativeWeightCycle == null && dik + dk[ok + i] < 0.0) {
+                    negativeWeightCycle = 
+                            findNegativeWeightCycle(a, p, i, k);
+
+                    if (stopAtNegativeWeightCycle) {
+                        return negativeWeightCycle;
+                    }
+                }
+
+                relaxations += n;
+
+                if (h != null || !parentArrays) {
+                    improvements += relaxThroughStorages(di, oi, dik, dk, ok, 
+                                                         p, h, i, k);
+                    continue;
+                }
+
+                int[] pi = p.getSegment(i);
+
                 for (int j = 0; j < n; ++j) {
-                    fw.attemptImprovement(k, i, j);
+                    double tentativeCost = dik + dk[ok + j];
+
+                    if (di[oi + j] > tentativeCost) {
+                        di[oi + j] = tentativeCost;
+                        pi[oi + j] = pk[ok + j];
+                        ++improvements;
+                    }
                 }
             }
+
+            recorder.endPhase(k, relaxations, improvements);
         }
-        
-        boolean containsNegativeWeightCycles = 
-                fw.containsNegativeWeightCycle(adjacencyMatrix);
-        
-        return new ShortestPathData(fw.costMatrix, 
-                                    fw.parentMatrix, 
-                                    containsNegativeWeightCycles);
+
+        return negativeWeightCycle;
+    }
+
+    // Relaxes the row i through the pivot k with the parents and the next 
+    // hops, if any, updated through their storages: the next hop from i to 
+    // any node reached via k becomes the next hop from i to k. Returns the 
+    // number of improvements.
+    private static int relaxThroughStorages(double[] di, 
+                                            int oi, 
+                                            double dik,
+                                            double[] dk,
+                                            int ok,
+                                            IntMatrixStorage p,
+                                            IntMatrixStorage h,
+                                            int i,
+                                            int k) {
+        int n = p.getNumberOfNodes();
+        int hik = h == null ? ParentMatrix.NIL : h.get(i, k);
+        int improvements = 0;
+
+        for (int j = 0; j < n; ++j) {
+            double tentativeCost = dik + dk[ok + j];
+
+            if (di[oi + j] > tentativeCost) {
+                di[oi + j] = tentativeCost;
+                p.set(i, j, p.get(k, j));
+                ++improvements;
+
+                if (h != null) {
+                    h.set(i, j, hik);
+                }
+            }
+        }
+
+        return improvements;
+    }
+
+    // Relaxes the single precision costs in their own arrays, so that the 
+    // relaxation reads half the bytes of the double precision loop. The sum 
+    // of two floats rounds the same as the double sum rounded to a float, so 
+    // the costs match the ones stored by the row-wise loop.
+    private int[] relaxFloats(DoubleMatrixStorage a,
+                              FloatMatrixStorage d, 
+                              IntMatrixStorage p,
+                              IntMatrixStorage h,
+                              PhaseRecorder recorder) {
+        int n = d.getNumberOfNodes();
+        int[] negativeWeightCycle = null;
+
+        for (int k = 0; k < n; ++k) {
+            recorder.beginPhase();
+            long relaxations = 0L;
+            long improvements = 0L;
+            float[] dk = d.getRawSegment(k);
+            int ok = d.getRawRowOffset(k);
+
+            for (int i = 0; i < n; ++i) {
+                float[] di = d.getRawSegment(i);
+                int oi = d.getRawRowOffset(i);
+                float dik = di[oi + k];
+
+                if (dik == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                if (negativeWeightCycle == null && dik + dk[ok + i] < 0.0f) {
+                    negativeWeightCycle = 
+                            findNegativeWeightCycle(a, p, i, k);
+
+                    if (stopAtNegativeWeightCycle) {
+                        return negativeWeightCycle;
+                    }
+                }
+
+                relaxations += n;
+                int hik = h == null ? ParentMatrix.NIL : h.get(i, k);
+
+                for (int j = 0; j < n; ++j) {
+                    float tentativeCost = dik + dk[ok + j];
+
+                    if (di[oi + j] > tentativeCost) {
+                        di[oi + j] = tentativeCost;
+                        p.set(i, j, p.get(k, j));
+                        ++improvements;
+
+                        if (h != null) {
+                            h.set(i, j, hik);
+                        }
+                    }
+                }
+            }
+
+            recorder.endPhase(k, relaxations, improvements);
+        }
+
+        return negativeWeightCycle;
+    }
+
+    // Relaxes the fixed-point costs in their own int arrays. The sums are 
+    // taken in long arithmetic and saturate to the largest finite magnitude,
+    // just like the costs stored by the row-wise loop.
+    private int[] relaxFixedPoint(DoubleMatrixStorage a,
+                                  FixedPointMatrixStorage d, 
+                                  IntMatrixStorage p,
+                                  IntMatrixStorage h,
+                                  PhaseRecorder recorder) {
+        int n = d.getNumberOfNodes();
+        int[] negativeWeightCycle = null;
+
+        for (int k = 0; k < n; ++k) {
+            recorder.beginPhase();
+            long relaxations = 0L;
+            long improvements = 0L;
+            int[] dk = d.getRawSegment(k);
+            int ok = d.getRawRowOffset(k);
+
+            for (int i = 0; i < n; ++i) {
+                int[] di = d.getRawSegment(i);
+                int oi = d.getRawRowOffset(i);
+                int dik = di[oi + k];
+
+                if (dik == FixedPointMatrixStorage.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                if (negativeWeightCycle == null 
+                        && dk[ok + i] != 
+                           FixedPointMatrixStorage.POSITIVE_INFINITY
+                        && (long) dik + dk[ok + i] < 0L) {
+                    negativeWeightCycle = 
+                            findNegativeWeightCycle(a, p, i, k);
+
+                    if (stopAtNegativeWeightCycle) {
+                        return negativeWeightCycle;
+                    }
+                }
+
+                relaxations += n;
+                int hik = h == null ? ParentMatrix.NIL : h.get(i, k);
+
+                for (int j = 0; j < n; ++j) {
+                    int dkj = dk[ok + j];
+
+                    if (dkj == FixedPointMatrixStorage.POSITIVE_INFINITY) {
+                        continue;
+                    }
+
+                    long tentativeCost = (long) dik + dkj;
+
+                    if (di[oi + j] > tentativeCost) {
+                        di[oi + j] = (int) Math.max(
+                                FixedPointMatrixStorage.NEGATIVE_INFINITY + 1L,
+                                Math.min(
+                                    FixedPointMatrixStorage.POSITIVE_INFINITY 
+                                            - 1L,
+                                    tentativeCost));
+                        p.set(i, j, p.get(k, j));
+                        ++improvements;
+
+                        if (h != null) {
+                            h.set(i, j, hik);
+                        }
+                    }
+                }
+            }
+
+            recorder.endPhase(k, relaxations, improvements);
+        }
+
+        return negativeWeightCycle;
+    }
+
+    // Relaxes storages that are not backed by arrays, such as the off-heap 
+    // ones. Each row is copied into a scratch array, relaxed there and copied
+    // back only if it changed.
+    private int[] relaxByRows(DoubleMatrixStorage a,
+                              DoubleMatrixStorage d, 
+                              IntMatrixStorage p,
+                              IntMatrixStorage h,
+                              PhaseRecorder recorder) {
+        int n = d.getNumberOfNodes();
+        int[] negativeWeightCycle = null;
+        double[] dk = new double[n];
+        int[] pk = new int[n];
+        double[] di = new double[n];
+        int[] pi = new int[n];
+
+        for (int k = 0; k < n; ++k) {
+            recorder.beginPhase();
+            long relaxations = 0L;
+            long improvements = 0L;
+            d.readRow(k, dk);
+            p.readRow(k, pk);
+
+            for (int i = 0; i < n; ++i) {
+                double dik = d.get(i, k);
+
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                if (negativeWeightCycle == null && dik + dk[i] < 0.0) {
+                    negativeWeightCycle = 
+                            findNegativeWeightCycle(a, p, i, k);
+
+                    if (stopAtNegativeWeightCycle) {
+                        return negativeWeightCycle;
+                    }
+                }
+
+                boolean improved = false;
+                relaxations += n;
+                int hik = h == null ? ParentMatrix.NIL : h.get(i, k);
+                d.readRow(i, di);
+
+                for (int j = 0; j < n; ++j) {
+                    double tentativeCost = dik + dk[j];
+
+                    if (di[j] > tentativeCost) {
+                        if (!improved) {
+                            improved = true;
+                            p.readRow(i, pi);
+                        }
+
+                        di[j] = tentativeCost;
+                        pi[j] = pk[j];
+                        ++improvements;
+
+                        if (h != null) {
+                            h.set(i, j, hik);
+                        }
+                    }
+                }
+
+                if (improved) {
+                    d.writeRow(i, di);
+                    p.writeRow(i, pi);
+                }
+            }
+
+            recorder.endPhase(k, relaxations, improvements);
+        }
+
+        return negativeWeightCycle;
+    }
+
+    // Called as soon as the shortest paths from i to k and from k to i, both
+    // only through the nodes below k, make up a closed walk of negative 
+    // weight. Since no diagonal entry has gone negative before, these paths 
+    // are still recorded correctly in the parent matrix. The walk splits into
+    // simple cycles, at least one of which is negative; that one is returned.
+    // An empty array is returned if the parent pointers do not form the 
+    // expected paths.
+    private static int[] findNegativeWeightCycle(DoubleMatrixStorage a,
+                                                 IntMatrixStorage p,
+                                                 int i,
+                                                 int k) {
+        int[] pathToPivot = getPath(p, i, k);
+        int[] pathFromPivot = getPath(p, k, i);
+
+        if (pathToPivot == null || pathFromPivot == null) {
+            return new int[0];
+        }
+
+        int n = a.getNumberOfNodes();
+        int[] stackIndex = new int[n];
+        int[] stack = new int[pathToPivot.length + pathFromPivot.length];
+        int size = 0;
+        Arrays.fill(stackIndex, -1);
+
+        for (int t = 0; t < pathToPivot.length + pathFromPivot.length - 1; 
+                ++t) {
+            int node = t < pathToPivot.length ? 
+                       pathToPivot[t] :
+                       pathFromPivot[t - pathToPivot.length + 1];
+            int start = stackIndex[node];
+
+            if (start == -1) {
+                stackIndex[node] = size;
+                stack[size++] = node;
+                continue;
+            }
+
+            // The nodes stack[start], ..., stack[size - 1], node form a cycle.
+            double cycleCost = 0.0;
+
+            for (int s = start; s < size; ++s) {
+                int head = s + 1 < size ? stack[s + 1] : node;
+                cycleCost += a.get(stack[s], head);
+            }
+
+            if (cycleCost < 0.0) {
+                return Arrays.copyOfRange(stack, start, size);
+            }
+
+            for (int s = start + 1; s < size; ++s) {
+                stackIndex[stack[s]] = -1;
+            }
+
+            size = start + 1;
+        }
+
+        return new int[0];
+    }
+
+    // Returns the nodes on the path from 'source' to 'target' recorded in the
+    // parent matrix, or null if the parent pointers do not lead back to the
+    // source.
+    private static int[] getPath(IntMatrixStorage p, int source, int target) {
+        int n = p.getNumberOfNodes();
+        int[] reversedPath = new int[n];
+        int length = 0;
+        int node = target;
+
+        while (node != source) {
+            if (node == ParentMatrix.NIL || length == n - 1) {
+                return null;
+            }
+
+            reversedPath[length++] = node;
+            node = p.get(source, node);
+        }
+
+        reversedPath[length++] = source;
+        int[] path = new int[length];
+
+        for (int t = 0; t < length; ++t) {
+            path[t] = reversedPath[length - 1 - t];
+        }
+
+        return path;
     }
     
-    private boolean 
-        containsNegativeWeightCycle(AdjacencyMatrix adjacencyMatrix) {
-        int n = adjacencyMatrix.getNumberOfNodes();
+    // Checks whether the costs in 'costMatrix' imply a negative weight cycle.
+    static boolean containsNegativeWeightCycle(AdjacencyMatrix adjacencyMatrix,
+                                               ShortestPathCostMatrix costMatrix) {
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        int n = a.getNumberOfNodes();
         
-        for (int i = 0; i < n; ++i) {
-            for (int j = 0; j < n; ++j) {
-                double arcCost = adjacencyMatrix.getArcCost(j, i);
+        for (int j = 0; j < n; ++j) {
+            double[] aj = a.getSegment(j);
+            int oj = a.getRowOffset(j);
+
+            for (int i = 0; i < n; ++i) {
+                double arcCost = aj[oj + i];
                 
                 // Arc (j -> i) exists?
                 if (Double.isFinite(arcCost)) {
                     // The cost of the shortest path from i to j.
-                    double currentCost = costMatrix.getShortestPathCost(i, j);
+                    double currentCost = d.get(i, j);
                  
                     if (arcCost + currentCost < 0.0) {
                         // We have found a negative weight cycle.
@@ -72,30 +601,53 @@ public final class FloydWarshall {
         return false;
     }
     
-    private void attemptImprovement(int k, int i, int j) {
-        double currentCost = costMatrix.getShortestPathCost(i, j);
-        double tentativeCost = costMatrix.getShortestPathCost(i, k) +
-                               costMatrix.getShortestPathCost(k, j);
-
-        if (currentCost > tentativeCost) {
-            costMatrix.setShortestPathCost(i, j, tentativeCost);
-            parentMatrix.setParent(i, j, parentMatrix.getParent(k, j));
-        }
-    }
-    
     // Initializes the parent and shortest path cost matrices.
-    private void preprocess(AdjacencyMatrix adjacencyMatrix) {
-        int n = adjacencyMatrix.getNumberOfNodes();
+    static void preprocess(AdjacencyMatrix adjacencyMatrix,
+                           ShortestPathCostMatrix costMatrix,
+                           ParentMatrix parentMatrix) {
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        IntMatrixStorage p = parentMatrix.getStorage();
+        int n = a.getNumberOfNodes();
+
+        if (!d.isArrayBacked() || !p.isArrayBacked()) {
+            preprocessByRows(a, d, p);
+            return;
+        }
 
         for (int i = 0; i < n; ++i) {
-            for (int j = 0; j < n; ++j) {
-                double cost = adjacencyMatrix.getArcCost(i, j);
-                costMatrix.setShortestPathCost(i, j, cost);
+            // All three matrices share the same layout.
+            double[] ai = a.getSegment(i);
+            int[] pi = p.getSegment(i);
+            int oi = a.getRowOffset(i);
+            System.arraycopy(ai, oi, d.getSegment(i), oi, n);
 
-                if (i != j && !Double.isInfinite(cost)) {
-                    parentMatrix.setParent(i, j, i);
+            for (int j = 0; j < n; ++j) {
+                if (i != j && !Double.isInfinite(ai[oi + j])) {
+                    pi[oi + j] = i;
                 }
             }
         }
     }
+
+    private static void preprocessByRows(DoubleMatrixStorage a,
+                                         DoubleMatrixStorage d,
+                                         IntMatrixStorage p) {
+        int n = a.getNumberOfNodes();
+        double[] costRow = new double[n];
+        int[] parentRow = new int[n];
+
+        for (int i = 0; i < n; ++i) {
+            a.readRow(i, costRow);
+            d.writeRow(i, costRow);
+
+            for (int j = 0; j < n; ++j) {
+                parentRow[j] = i != j && !Double.isInfinite(costRow[j]) ? 
+                               i : 
+                               ParentMatrix.NIL;
+            }
+
+            p.writeRow(i, parentRow);
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a square matrix of {@code double} values stored in 
+ * Java arrays in row-major order. As long as the matrix fits in a single Java
+ * array, all the entries live in one flat array. Otherwise the rows are split
+ * into segments of at most {@link #MAX_SEGMENT_LENGTH} entries each. A row 
+ * never spans two segments, so the engines may always process a row as a 
+ * contiguous range of a single array.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class HeapDoubleMatrixStorage extends DoubleMatrixStorage {
+
+    /**
+     * The largest array length that can be allocated safely on common JVMs.
+     */
+    static final int MAX_SEGMENT_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int numberOfNodes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final double[][] segments;
+
+    HeapDoubleMatrixStorage(int numberOfNodes, double initialValue) {
+        SegmentLayout layout = new SegmentLayout(numberOfNodes, 
+                                                 MAX_SEGMENT_LENGTH);
+        this.numberOfNodes = numberOfNodes;
+        this.segmentShift = layout.shift;
+        this.segmentMask = layout.mask;
+        this.segments = new double[layout.numberOfSegments][];
+
+        for (int s = 0; s < segments.length; ++s) {
+            segments[s] = new double[layout.getSegmentLength(s)];
+        }
+
+        fill(initialValue);
+    }
+
+    @Override
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    double get(int row, int column) {
+        return segments[row >>> segmentShift]
+                       [(row & segmentMask) * numberOfNodes + column];
+    }
+
+    @Override
+    void set(int row, int column, double value) {
+        segments[row >>> segmentShift]
+                [(row & segmentMask) * numberOfNodes + column] = value;
+    }
+
+    @Override
+    void fill(double value) {
+        for (double[] segment : segments) {
+            Arrays.fill(segment, value);
+        }
+    }
+
+    @Override
+    void readRow(int row, double[] destination) {
+        System.arraycopy(getSegment(row), 
+                         getRowOffset(row), 
+                         destination, 
+                         0, 
+                         numberOfNodes);
+    }
+
+    @Override
+    void writeRow(int row, double[] source) {
+        System.arraycopy(source, 
+                         0, 
+                         getSegment(row), 
+                         getRowOffset(row), 
+                         numberOfNodes);
+    }
+
+    @Override
+    boolean isArrayBacked() {
+        return true;
+    }
+
+    @Override
+    double[] getSegment(int row) {
+        return segments[row >>> segmentShift];
+    }
+
+    @Override
+    int getRowOffset(int row) {
+        return (row & segmentMask) * numberOfNodes;
+    }
+}
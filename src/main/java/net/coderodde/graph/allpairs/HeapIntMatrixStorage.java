@@ -0,0 +1,95 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a square matrix of {@code int} values stored in 
+ * Java arrays in row-major order. As long as the matrix fits in a single Java
+ * array, all the entries live in one flat array. Otherwise the rows are split
+ * into segments of whole rows. The layout is the same as in 
+ * {@link HeapDoubleMatrixStorage}, so the engines may use the same row offsets
+ * for the cost and the parent matrices.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class HeapIntMatrixStorage extends IntMatrixStorage {
+
+    private final int numberOfNodes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final int[][] segments;
+
+    HeapIntMatrixStorage(int numberOfNodes, int initialValue) {
+        SegmentLayout layout = new SegmentLayout(numberOfNodes, 
+                                                 HeapDoubleMatrixStorage
+                                                    .MAX_SEGMENT_LENGTH);
+        this.numberOfNodes = numberOfNodes;
+        this.segmentShift = layout.shift;
+        this.segmentMask = layout.mask;
+        this.segments = new int[layout.numberOfSegments][];
+
+        for (int s = 0; s < segments.length; ++s) {
+            segments[s] = new int[layout.getSegmentLength(s)];
+        }
+
+        fill(initialValue);
+    }
+
+    @Override
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    int get(int row, int column) {
+        return segments[row >>> segmentShift]
+                       [(row & segmentMask) * numberOfNodes + column];
+    }
+
+    @Override
+    void set(int row, int column, int value) {
+        segments[row >>> segmentShift]
+                [(row & segmentMask) * numberOfNodes + column] = value;
+    }
+
+    @Override
+    void fill(int value) {
+        for (int[] segment : segments) {
+            Arrays.fill(segment, value);
+        }
+    }
+
+    @Override
+    void readRow(int row, int[] destination) {
+        System.arraycopy(getSegment(row), 
+                         getRowOffset(row), 
+                         destination, 
+                         0, 
+                         numberOfNodes);
+    }
+
+    @Override
+    void writeRow(int row, int[] source) {
+        System.arraycopy(source, 
+                         0, 
+                         getSegment(row), 
+                         getRowOffset(row), 
+                         numberOfNodes);
+    }
+
+    @Override
+    boolean isArrayBacked() {
+        return true;
+    }
+
+    @Override
+    int[] getSegment(int row) {
+        return segments[row >>> segmentShift];
+    }
+
+    @Override
+    int getRowOffset(int row) {
+        return (row & segmentMask) * numberOfNodes;
+    }
+}
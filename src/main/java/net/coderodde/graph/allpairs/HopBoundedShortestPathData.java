@@ -0,0 +1,151 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.List;
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+
+/**
+ * This class holds the result of {@link HopBoundedShortestPaths}: the costs 
+ * of the cheapest paths of at most {@link #getMaxHops()} arcs and the 
+ * witnesses of the min-plus products, from which the paths themselves are 
+ * reconstructed.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class HopBoundedShortestPathData {
+
+    // A matrix of the product chain. Its entry (i, j) is the cheapest path
+    // from i to the witness in the 'left' level followed by the cheapest 
+    // path from the witness to j in the 'right' level. The level 0 holds the
+    // arcs themselves and has no witnesses.
+    static final class Level {
+
+        final int[] witnesses;
+        final int left;
+        final int right;
+
+        // Tells which diagonal entries are zero, that is, which nodes the 
+        // level maps to themselves by an empty path.
+        final double[] diagonal;
+
+        Level(int[] witnesses, int left, int right, double[] diagonal) {
+            this.witnesses = witnesses;
+            this.left = left;
+            this.right = right;
+            this.diagonal = diagonal;
+        }
+    }
+
+    private final int maxHops;
+    private final ShortestPathCostMatrix costMatrix;
+    private final Level[] levels;
+    private final int resultLevel;
+
+    HopBoundedShortestPathData(int maxHops,
+                               ShortestPathCostMatrix costMatrix,
+                               List<Level> levels,
+                               int resultLevel) {
+        this.maxHops = maxHops;
+        this.costMatrix = costMatrix;
+        this.levels = levels.toArray(new Level[0]);
+        this.resultLevel = resultLevel;
+    }
+
+    public int getNumberOfNodes() {
+        return costMatrix.getNumberOfNodes();
+    }
+
+    public int getMaxHops() {
+        return maxHops;
+    }
+
+    public ShortestPathCostMatrix getCostMatrix() {
+        return costMatrix;
+    }
+
+    public double getShortestPathCost(int sourceNodeIndex, 
+                                      int targetNodeIndex) {
+        return costMatrix.getShortestPathCost(sourceNodeIndex, 
+                                              targetNodeIndex);
+    }
+
+    /**
+     * Constructs a cheapest path of at most {@link #getMaxHops()} arcs from 
+     * the node {@code sourceNodeIndex} to the node {@code targetNodeIndex}. 
+     * If there is no such path, an empty array is returned.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @return the node indices on the path, from the source node to the 
+     *         target node, or an empty array.
+     */
+    public int[] getShortestPath(int sourceNodeIndex, int targetNodeIndex) {
+        int n = getNumberOfNodes();
+        checkNodeIndex(sourceNodeIndex, n);
+        checkNodeIndex(targetNodeIndex, n);
+
+        if (costMatrix.getShortestPathCost(sourceNodeIndex, targetNodeIndex) 
+                == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+
+        if (resultLevel < 0) {
+            return new int[]{ sourceNodeIndex };
+        }
+
+        int[] path = new int[1 + countArcs(resultLevel, 
+                                           sourceNodeIndex, 
+                                           targetNodeIndex)];
+        path[0] = sourceNodeIndex;
+        writeArcs(resultLevel, sourceNodeIndex, targetNodeIndex, path, 1);
+        return path;
+    }
+
+    // Counts the arcs on the path from 'i' to 'j' of the given level. Empty
+    // cycles are skipped, so each expanded piece adds at least one arc; walks
+    // through negative cycles may still repeat nodes.
+    private int countArcs(int level, int i, int j) {
+        if (level == 0) {
+            return i == j ? 0 : 1;
+        }
+
+        Level l = levels[level];
+        int m = l.witnesses[i * getNumberOfNodes() + j];
+        int arcs = 0;
+
+        if (m != i || levels[l.left].diagonal[i] < 0.0) {
+            arcs += countArcs(l.left, i, m);
+        }
+
+        if (m != j || levels[l.right].diagonal[j] < 0.0) {
+            arcs += countArcs(l.right, m, j);
+        }
+
+        return arcs;
+    }
+
+    // Writes the nodes after 'i' on the path from 'i' to 'j' of the given 
+    // level starting at path[index]. Returns the index past the last node.
+    private int writeArcs(int level, int i, int j, int[] path, int index) {
+        if (level == 0) {
+            if (i != j) {
+                path[index++] = j;
+            }
+
+            return index;
+        }
+
+        Level l = levels[level];
+        int m = l.witnesses[i * getNumberOfNodes() + j];
+
+        if (m != i || levels[l.left].diagonal[i] < 0.0) {
+            index = writeArcs(l.left, i, m, path, index);
+        }
+
+        if (m != j || levels[l.right].diagonal[j] < 0.0) {
+            index = writeArcs(l.right, m, j, path, index);
+        }
+
+        return index;
+    }
+}
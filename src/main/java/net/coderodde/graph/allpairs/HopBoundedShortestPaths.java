@@ -0,0 +1,331 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import static net.coderodde.graph.allpairs.Utils.checkParallelism;
+import static net.coderodde.graph.allpairs.Utils.checkTileSize;
+import static net.coderodde.graph.allpairs.Utils.getDefaultParallelism;
+import static net.coderodde.graph.allpairs.Utils.runAll;
+
+/**
+ * This class computes the cheapest paths using at most {@code h} arcs. Let 
+ * {@code D} be the adjacency matrix with zeros on its diagonal. In the 
+ * min-plus algebra, where {@code (A * B)[i][j] = min_m A[i][m] + B[m][j]}, 
+ * the matrix {@code D^h} holds exactly the costs of the cheapest paths of at
+ * most {@code h} arcs. It is computed by repeated squaring in 
+ * {@code O(n^3 log h)} time.
+ * <p>
+ * Each product is computed in square tiles for cache locality, with the rows
+ * split into chunks multiplied concurrently in the given executor. Every 
+ * product records, for each node pair, the node at which its two factors 
+ * were joined; these witnesses are enough to reconstruct the paths and take 
+ * {@code O(n^2 log h)} integers in total.
+ * <p>
+ * With {@code h = n - 1} and no negative weight cycles, the costs are the 
+ * ones computed by {@link FloydWarshall}. If there are negative weight 
+ * cycles, the cheapest walks of at most {@code h} arcs may go around them and
+ * visit nodes several times.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class HopBoundedShortestPaths {
+
+    /**
+     * The default tile size of the min-plus products.
+     */
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    /**
+     * The largest number of nodes whose matrices fit in a single array.
+     */
+    public static final int MAX_NUMBER_OF_NODES = 46_340;
+
+    private final ExecutorService executor;
+    private final int tileSize;
+
+    /**
+     * Constructs this engine running on the common fork/join pool.
+     */
+    public HopBoundedShortestPaths() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public HopBoundedShortestPaths(ExecutorService executor) {
+        this(executor, DEFAULT_TILE_SIZE);
+    }
+
+    public HopBoundedShortestPaths(ExecutorService executor, int tileSize) {
+        this.executor = Objects.requireNonNull(executor, 
+                                               "The executor is null.");
+        checkTileSize(tileSize);
+        this.tileSize = tileSize;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Computes the cheapest paths of at most {@code maxHops} arcs splitting 
+     * the rows of each product into as many chunks as there are threads in 
+     * the executor.
+     * 
+     * @param adjacencyMatrix the input graph.
+     * @param maxHops         the largest number of arcs on a path.
+     * @return the hop-bounded shortest path data.
+     */
+    public HopBoundedShortestPathData compute(AdjacencyMatrix adjacencyMatrix,
+                                              int maxHops) {
+        return compute(adjacencyMatrix, 
+                       maxHops, 
+                       getDefaultParallelism(executor));
+    }
+
+    /**
+     * Computes the cheapest paths of at most {@code maxHops} arcs splitting 
+     * the rows of each product into {@code parallelism} chunks. With 
+     * {@code parallelism} 1 the products run in the calling thread.
+     * 
+     * @param adjacencyMatrix the input graph.
+     * @param maxHops         the largest number of arcs on a path.
+     * @param parallelism     the number of row chunks multiplied 
+     *                        concurrently.
+     * @return the hop-bounded shortest path data.
+     */
+    public HopBoundedShortestPathData compute(AdjacencyMatrix adjacencyMatrix,
+                                              int maxHops,
+                                              int parallelism) {
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+        checkParallelism(parallelism);
+
+        if (maxHops < 0) {
+            throw new IllegalArgumentException(
+                    "The number of hops is negative: " + maxHops);
+        }
+
+        int n = adjacencyMatrix.getNumberOfNodes();
+
+        if (n > MAX_NUMBER_OF_NODES) {
+            throw new IllegalArgumentException(
+                    "Too many nodes for the min-plus products: " + n);
+        }
+
+        // Level 0 is D itself. Each product adds a level with its witnesses.
+        List<HopBoundedShortestPathData.Level> levels = new ArrayList<>();
+        levels.add(new HopBoundedShortestPathData.Level(null, -1, -1, 
+                                                        new double[n]));
+        double[] power = getArcCosts(adjacencyMatrix);
+        int powerLevel = 0;
+        double[] result = null;
+        int resultLevel = -1;
+        double[] scratch = new double[n * n];
+
+        // The hop bound is consumed from its lowest bit: 'power' is D^(2^t)
+        // and 'result' the product of the powers for the bits seen so far.
+        for (int hops = maxHops; hops != 0; hops >>>= 1) {
+            if ((hops & 1) != 0) {
+                if (result == null) {
+                    result = power.clone();
+                    resultLevel = powerLevel;
+                } else {
+                    int[] witnesses = multiply(result, power, scratch, 
+                                               n, parallelism);
+                    levels.add(new HopBoundedShortestPathData.Level(
+                            witnesses, 
+                            resultLevel, 
+                            powerLevel, 
+                            getDiagonal(scratch, n)));
+                    resultLevel = levels.size() - 1;
+                    double[] tmp = result;
+                    result = scratch;
+                    scratch = tmp;
+                }
+            }
+
+            if (hops >>> 1 != 0) {
+                int[] witnesses = multiply(power, power, scratch, 
+                                           n, parallelism);
+                levels.add(new HopBoundedShortestPathData.Level(
+                        witnesses, 
+                        powerLevel, 
+                        powerLevel, 
+                        getDiagonal(scratch, n)));
+                powerLevel = levels.size() - 1;
+                double[] tmp = power;
+                power = scratch;
+                scratch = tmp;
+            }
+        }
+
+        if (result == null) {
+            // Zero hops: every node reaches only itself.
+            result = scratch;
+            Arrays.fill(result, Double.POSITIVE_INFINITY);
+
+            for (int i = 0; i < n; ++i) {
+                result[i * n + i] = 0.0;
+            }
+        }
+
+        ShortestPathCostMatrix costMatrix = new ShortestPathCostMatrix(n);
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        double[] row = new double[n];
+
+        for (int i = 0; i < n; ++i) {
+            System.arraycopy(result, i * n, row, 0, n);
+            d.writeRow(i, row);
+        }
+
+        return new HopBoundedShortestPathData(maxHops,
+                                              costMatrix, 
+                                              levels, 
+                                              resultLevel);
+    }
+
+    // Returns the matrix D as a flat array.
+    private static double[] getArcCosts(AdjacencyMatrix adjacencyMatrix) {
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        int n = a.getNumberOfNodes();
+        double[] costs = new double[n * n];
+        double[] row = new double[n];
+
+        for (int i = 0; i < n; ++i) {
+            a.readRow(i, row);
+            System.arraycopy(row, 0, costs, i * n, n);
+            costs[i * n + i] = 0.0;
+        }
+
+        return costs;
+    }
+
+    private static double[] getDiagonal(double[] matrix, int n) {
+        double[] diagonal = new double[n];
+
+        for (int i = 0; i < n; ++i) {
+            diagonal[i] = matrix[i * n + i];
+        }
+
+        return diagonal;
+    }
+
+    // Stores the min-plus product of 'a' and 'b' in 'c' and returns its 
+    // witnesses.
+    private int[] multiply(double[] a, 
+                           double[] b, 
+                           double[] c, 
+                           int n, 
+                           int parallelism) {
+        int[] witnesses = new int[n * n];
+        int chunks = Math.min(parallelism, Math.max(n, 1));
+
+        if (chunks == 1) {
+            new ProductTask(a, b, c, witnesses, n, tileSize, 0, n).call();
+            return witnesses;
+        }
+
+        List<ProductTask> tasks = new ArrayList<>(chunks);
+
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            tasks.add(new ProductTask(a, 
+                                      b, 
+                                      c, 
+                                      witnesses, 
+                                      n, 
+                                      tileSize,
+                                      (int)((long) n * chunk / chunks),
+                                      (int)((long) n * (chunk + 1) / chunks)));
+        }
+
+        runAll(executor, tasks);
+        return witnesses;
+    }
+
+    // Multiplies the rows [fromRow, toRow). For each pair the candidate 
+    // witnesses are tried in increasing order and only a strict improvement
+    // replaces the current one, so the result does not depend on the 
+    // chunking.
+    private static final class ProductTask implements Callable<Void> {
+
+        private final double[] a;
+        private final double[] b;
+        private final double[] c;
+        private final int[] witnesses;
+        private final int n;
+        private final int tileSize;
+        private final int fromRow;
+        private final int toRow;
+
+        ProductTask(double[] a, 
+                    double[] b, 
+                    double[] c, 
+                    int[] witnesses,
+                    int n,
+                    int tileSize,
+                    int fromRow, 
+                    int toRow) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.witnesses = witnesses;
+            this.n = n;
+            this.tileSize = tileSize;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        public Void call() {
+            Arrays.fill(c, fromRow * n, toRow * n, Double.POSITIVE_INFINITY);
+            Arrays.fill(witnesses, fromRow * n, toRow * n, -1);
+
+            for (int i0 = fromRow; i0 < toRow; i0 += tileSize) {
+                int i1 = Math.min(i0 + tileSize, toRow);
+
+                for (int m0 = 0; m0 < n; m0 += tileSize) {
+                    int m1 = Math.min(m0 + tileSize, n);
+
+                    for (int j0 = 0; j0 < n; j0 += tileSize) {
+                        int j1 = Math.min(j0 + tileSize, n);
+                        multiplyTile(i0, i1, m0, m1, j0, j1);
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        private void multiplyTile(int i0, int i1, 
+                                  int m0, int m1, 
+                                  int j0, int j1) {
+            for (int i = i0; i < i1; ++i) {
+                int oi = i * n;
+
+                for (int m = m0; m < m1; ++m) {
+                    double aim = a[oi + m];
+
+                    if (aim == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+
+                    int om = m * n;
+
+                    for (int j = j0; j < j1; ++j) {
+                        double tentativeCost = aim + b[om + j];
+
+                        if (c[oi + j] > tentativeCost) {
+                            c[oi + j] = tentativeCost;
+                            witnesses[oi + j] = m;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package net.coderodde.graph.allpairs;
+
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
+
+/**
+ * This class implements implicitly a directed graph with integer arc costs by
+ * means of adjacency matrix. The absent arcs have the cost 
+ * {@link #INFINITY}, and the present ones cost more than {@code -INFINITY} 
+ * and less than {@code INFINITY}. After construction, no arcs are present in
+ * the graph.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class IntAdjacencyMatrix {
+
+    /**
+     * The cost denoting an absent arc. It is half the {@code int} range, so 
+     * that the sum of two costs never overflows.
+     */
+    public static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    // The row 'i' holds the costs of the arcs leaving the node 'i'.
+    private final IntMatrixStorage matrix;
+
+    public IntAdjacencyMatrix(int numberOfNodes) {
+        checkNumberOfNodes(numberOfNodes);
+        this.matrix = new HeapIntMatrixStorage(numberOfNodes, INFINITY);
+
+        for (int i = 0; i < numberOfNodes; ++i) {
+            // The distance from a node to itself is always zero.
+            matrix.set(i, i, 0);
+        }
+    }
+
+    public int getNumberOfNodes() {
+        return matrix.getNumberOfNodes();
+    }
+
+    /**
+     * Reads the cost of the arc from {@code tailNodeIndex} to 
+     * {@code headNodeIndex}.
+     * 
+     * @param tailNodeIndex the index of the tail node.
+     * @param headNodeIndex the index of the head node.
+     * @return the current cost of the arc, or {@link #INFINITY} if there is 
+     *         no such arc.
+     */
+    public int getArcCost(int tailNodeIndex, int headNodeIndex) {
+        checkNodeIndex(tailNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(headNodeIndex, matrix.getNumberOfNodes());
+        return matrix.get(tailNodeIndex, headNodeIndex);
+    }
+
+    /**
+     * Sets the cost of the arc from {@code tailNodeIndex} to
+     * {@code headNodeIndex}. Setting the cost to {@link #INFINITY} removes the
+     * arc.
+     * 
+     * @param tailNodeIndex the index of the tail node.
+     * @param headNodeIndex the index of the head node.
+     * @param cost the cost of the arc to set.
+     * @throws IllegalArgumentException if {@code cost} is not above 
+     *                                  {@code -INFINITY} and not below 
+     *                                  {@code INFINITY}, nor 
+     *                                  {@code INFINITY} itself.
+     */
+    public void setArcCost(int tailNodeIndex, int headNodeIndex, int cost) {
+        checkNodeIndex(tailNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(headNodeIndex, matrix.getNumberOfNodes());
+
+        if (cost <= -INFINITY || cost > INFINITY) {
+            throw new IllegalArgumentException(
+                    "The arc cost is out of range: " + cost);
+        }
+
+        // Do not introduce self-loops.
+        if (tailNodeIndex != headNodeIndex) {
+            matrix.set(tailNodeIndex, headNodeIndex, cost);
+        }
+    }
+
+    // Gives the engines direct access to the rows of this matrix.
+    IntMatrixStorage getStorage() {
+        return matrix;
+    }
+}
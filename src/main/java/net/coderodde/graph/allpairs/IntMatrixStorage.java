@@ -0,0 +1,58 @@
+package net.coderodde.graph.allpairs;
+
+/**
+ * This class defines the storage of a square matrix of {@code int} values
+ * in row-major order. The implementations either keep the entries in Java 
+ * arrays, which lets the engines work on the arrays directly, or off the heap.
+ * <p>
+ * The storages do not check the indices; the public matrix classes do that.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+abstract class IntMatrixStorage {
+
+    abstract int getNumberOfNodes();
+
+    abstract int get(int row, int column);
+
+    abstract void set(int row, int column, int value);
+
+    abstract void fill(int value);
+
+    /**
+     * Copies the row {@code row} into {@code destination}.
+     */
+    abstract void readRow(int row, int[] destination);
+
+    /**
+     * Copies {@code source} into the row {@code row}.
+     */
+    abstract void writeRow(int row, int[] source);
+
+    /**
+     * Returns {@code true} if this storage keeps its rows in Java arrays, so 
+     * that {@link #getSegment(int)} and {@link #getRowOffset(int)} may be 
+     * used.
+     */
+    boolean isArrayBacked() {
+        return false;
+    }
+
+    /**
+     * Returns the array holding the row {@code row}.
+     */
+    int[] getSegment(int row) {
+        throw new UnsupportedOperationException(
+                "The matrix is not stored in Java arrays.");
+    }
+
+    /**
+     * Returns the index of the first entry of the row {@code row} within its
+     * segment.
+     */
+    int getRowOffset(int row) {
+        throw new UnsupportedOperationException(
+                "The matrix is not stored in Java arrays.");
+    }
+}
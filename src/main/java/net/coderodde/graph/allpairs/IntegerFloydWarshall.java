@@ -0,0 +1,161 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Objects;
+
+/**
+ * This class implements the Floyd-Warshall algorithm for graphs with integer
+ * arc costs. The relaxation loop works on {@code int} arrays with 
+ * {@link IntAdjacencyMatrix#INFINITY}, half the {@code int} range, standing
+ * for the absent paths. Since no sum of two stored costs overflows, the loop
+ * through a pivot reachable at a non-negative cost is a plain addition and 
+ * {@link Math#min(int, int)}, with no infinity checks and no saturation; the
+ * rare pivots reached at a negative cost take a loop guarding against 
+ * infinity.
+ * <p>
+ * The costs are exact as long as they stay above {@code -INFINITY} and below
+ * {@code INFINITY}. A path costing {@code INFINITY} or more is reported as 
+ * absent, and the costs in the presence of negative weight cycles saturate 
+ * just above {@code -INFINITY}. The computed costs are returned as 
+ * {@code double} values in heap storage, so the result may be updated by 
+ * {@link ShortestPathUpdater}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class IntegerFloydWarshall {
+
+    private static final int INFINITY = IntAdjacencyMatrix.INFINITY;
+    private static final int MIN_FINITE_COST = -INFINITY + 1;
+
+    public ShortestPathData compute(IntAdjacencyMatrix adjacencyMatrix) {
+        Objects.requireNonNull(adjacencyMatrix,
+                               "The adjacency matrix is null.");
+        int n = adjacencyMatrix.getNumberOfNodes();
+        IntMatrixStorage d = new HeapIntMatrixStorage(n, INFINITY);
+        IntMatrixStorage p = new HeapIntMatrixStorage(n, ParentMatrix.NIL);
+        preprocess(adjacencyMatrix.getStorage(), d, p);
+        relax(d, p);
+
+        ShortestPathCostMatrix costMatrix = new ShortestPathCostMatrix(n);
+        boolean containsNegativeWeightCycle = copyCosts(d, costMatrix);
+        return new ShortestPathData(costMatrix,
+                                    new ParentMatrix(p),
+                                    containsNegativeWeightCycle);
+    }
+
+    private static void preprocess(IntMatrixStorage a,
+                                   IntMatrixStorage d,
+                                   IntMatrixStorage p) {
+        int n = a.getNumberOfNodes();
+
+        for (int i = 0; i < n; ++i) {
+            // All three matrices share the same layout.
+            int[] ai = a.getSegment(i);
+            int[] pi = p.getSegment(i);
+            int oi = a.getRowOffset(i);
+            System.arraycopy(ai, oi, d.getSegment(i), oi, n);
+
+            for (int j = 0; j < n; ++j) {
+                if (i != j && ai[oi + j] != INFINITY) {
+                    pi[oi + j] = i;
+                }
+            }
+        }
+    }
+
+    private static void relax(IntMatrixStorage d, IntMatrixStorage p) {
+        int n = d.getNumberOfNodes();
+
+        for (int k = 0; k < n; ++k) {
+            int[] dk = d.getSegment(k);
+            int[] pk = p.getSegment(k);
+            int ok = d.getRowOffset(k);
+
+            for (int i = 0; i < n; ++i) {
+                int[] di = d.getSegment(i);
+                int oi = d.getRowOffset(i);
+                int dik = di[oi + k];
+
+                if (dik >= INFINITY) {
+                    // No path from i to k, nothing to improve via k.
+                    continue;
+                }
+
+                int[] pi = p.getSegment(i);
+
+                if (dik < 0) {
+                    relaxThroughNegative(di, pi, oi, dik, dk, pk, ok, n);
+                    continue;
+                }
+
+                // Here dik + INFINITY is at least INFINITY, so the absent 
+                // paths via k never improve anything.
+                for (int j = 0; j < n; ++j) {
+                    int tentativeCost = dik + dk[ok + j];
+                    int cost = Math.min(di[oi + j], tentativeCost);
+
+                    if (cost != di[oi + j]) {
+                        di[oi + j] = cost;
+                        pi[oi + j] = pk[ok + j];
+                    }
+                }
+            }
+        }
+    }
+
+    // With dik negative, dik + INFINITY would look like a finite cost, so the
+    // absent paths via k are skipped explicitly. The costs saturate at 
+    // MIN_FINITE_COST so that the later sums cannot overflow.
+    private static void relaxThroughNegative(int[] di,
+                                             int[] pi,
+                                             int oi,
+                                             int dik,
+                                             int[] dk,
+                                             int[] pk,
+                                             int ok,
+                                             int n) {
+        for (int j = 0; j < n; ++j) {
+            int dkj = dk[ok + j];
+
+            if (dkj >= INFINITY) {
+                continue;
+            }
+
+            int tentativeCost = Math.max(MIN_FINITE_COST, dik + dkj);
+
+            if (di[oi + j] > tentativeCost) {
+                di[oi + j] = tentativeCost;
+                pi[oi + j] = pk[ok + j];
+            }
+        }
+    }
+
+    // Copies the costs into 'costMatrix' mapping the costs of INFINITY or 
+    // more to the positive infinity. Returns true if some node has a 
+    // negative cost to itself, which after the relaxation is the case if and
+    // only if the graph contains a negative weight cycle.
+    private static boolean copyCosts(IntMatrixStorage d, 
+                                     ShortestPathCostMatrix costMatrix) {
+        DoubleMatrixStorage c = costMatrix.getStorage();
+        int n = d.getNumberOfNodes();
+        boolean containsNegativeWeightCycle = false;
+
+        for (int i = 0; i < n; ++i) {
+            int[] di = d.getSegment(i);
+            int oi = d.getRowOffset(i);
+            double[] ci = c.getSegment(i);
+            int offset = c.getRowOffset(i);
+
+            for (int j = 0; j < n; ++j) {
+                int cost = di[oi + j];
+                ci[offset + j] = cost >= INFINITY ? 
+                                 Double.POSITIVE_INFINITY : 
+                                 cost;
+            }
+
+            containsNegativeWeightCycle |= di[oi + i] < 0;
+        }
+
+        return containsNegativeWeightCycle;
+    }
+}
@@ -0,0 +1,164 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import static net.coderodde.graph.allpairs.Utils.checkParallelism;
+import static net.coderodde.graph.allpairs.Utils.getDefaultParallelism;
+import static net.coderodde.graph.allpairs.Utils.runAll;
+
+/**
+ * This class implements Johnson's algorithm for the all-pairs shortest path 
+ * problem on sparse graphs. A single run of the Bellman-Ford algorithm
+ * computes node potentials that make all the arc costs non-negative, after 
+ * which Dijkstra's algorithm is run from every node. The Dijkstra runs are 
+ * distributed over the given executor. The running time is 
+ * {@code O(nm log n)} instead of the {@code O(n^3)} of Floyd-Warshall.
+ * <p>
+ * The shortest path costs and the negative weight cycle flag are the same as
+ * the ones computed by {@link FloydWarshall}. If the graph contains a negative
+ * weight cycle, no shortest paths exist and the returned matrices contain only
+ * the direct arcs.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class Johnson {
+
+    private final ExecutorService executor;
+
+    /**
+     * Constructs this engine running on the common fork/join pool.
+     */
+    public Johnson() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public Johnson(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, 
+                                               "The executor is null.");
+    }
+
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+        return compute(SparseGraph.fromAdjacencyMatrix(adjacencyMatrix));
+    }
+
+    public ShortestPathData compute(SparseGraph graph) {
+        return compute(graph, getDefaultParallelism(executor));
+    }
+
+    /**
+     * Computes the all-pairs shortest paths splitting the sources into 
+     * {@code parallelism} chunks.
+     * 
+     * @param graph       the input graph.
+     * @param parallelism the number of source chunks processed concurrently.
+     * @return the shortest path data.
+     */
+    public ShortestPathData compute(SparseGraph graph, int parallelism) {
+        Objects.requireNonNull(graph, "The graph is null.");
+        checkParallelism(parallelism);
+        int n = graph.getNumberOfNodes();
+        ShortestPathCostMatrix costMatrix = new ShortestPathCostMatrix(n);
+        ParentMatrix parentMatrix = new ParentMatrix(n);
+        double[] potentials = computePotentials(graph);
+
+        if (potentials == null) {
+            storeArcs(graph, costMatrix, parentMatrix);
+            return new ShortestPathData(costMatrix, parentMatrix, true);
+        }
+
+        final DoubleMatrixStorage d = costMatrix.getStorage();
+        final IntMatrixStorage p = parentMatrix.getStorage();
+        int chunks = Math.min(parallelism, Math.max(n, 1));
+        List<Callable<Void>> tasks = new ArrayList<>(chunks);
+
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            int fromSource = (int)((long) n * chunk / chunks);
+            int toSource = (int)((long) n * (chunk + 1) / chunks);
+
+            tasks.add(() -> {
+                SingleSourceDijkstra dijkstra = 
+                        new SingleSourceDijkstra(graph, potentials);
+
+                for (int s = fromSource; s < toSource; ++s) {
+                    dijkstra.run(s, 
+                                 d.getSegment(s), 
+                                 p.getSegment(s), 
+                                 d.getRowOffset(s));
+                }
+
+                return null;
+            });
+        }
+
+        runAll(executor, tasks);
+        return new ShortestPathData(costMatrix, parentMatrix, false);
+    }
+
+    /**
+     * Runs the Bellman-Ford algorithm from a virtual source connected to all 
+     * the nodes with zero-cost arcs.
+     * 
+     * @param graph the graph.
+     * @return the node potentials, or {@code null} if the graph contains a 
+     *         negative weight cycle.
+     */
+    static double[] computePotentials(SparseGraph graph) {
+        int n = graph.getNumberOfNodes();
+        int[] firstArc = graph.getFirstArcArray();
+        int[] heads = graph.getHeadArray();
+        double[] costs = graph.getCostArray();
+        double[] potentials = new double[n];
+
+        // The shortest paths from the virtual source have at most n arcs, the
+        // first of which is accounted for by the zero initialization. If the 
+        // n-th round still improves something, there is a negative cycle.
+        for (int round = 1; round <= n; ++round) {
+            boolean improved = false;
+
+            for (int u = 0; u < n; ++u) {
+                double potentialU = potentials[u];
+
+                for (int arc = firstArc[u]; arc < firstArc[u + 1]; ++arc) {
+                    double tentativePotential = potentialU + costs[arc];
+
+                    if (potentials[heads[arc]] > tentativePotential) {
+                        potentials[heads[arc]] = tentativePotential;
+                        improved = true;
+                    }
+                }
+            }
+
+            if (!improved) {
+                return potentials;
+            }
+        }
+
+        return n == 0 ? potentials : null;
+    }
+
+    private static void storeArcs(SparseGraph graph,
+                                  ShortestPathCostMatrix costMatrix,
+                                  ParentMatrix parentMatrix) {
+        int n = graph.getNumberOfNodes();
+        int[] firstArc = graph.getFirstArcArray();
+        int[] heads = graph.getHeadArray();
+        double[] costs = graph.getCostArray();
+
+        for (int u = 0; u < n; ++u) {
+            costMatrix.setShortestPathCost(u, u, 0.0);
+
+            for (int arc = firstArc[u]; arc < firstArc[u + 1]; ++arc) {
+                if (costMatrix.getShortestPathCost(u, heads[arc]) 
+                        > costs[arc]) {
+                    costMatrix.setShortestPathCost(u, heads[arc], costs[arc]);
+                    parentMatrix.setParent(u, heads[arc], u);
+                }
+            }
+        }
+    }
+}
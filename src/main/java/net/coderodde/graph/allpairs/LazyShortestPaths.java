@@ -0,0 +1,255 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+
+/**
+ * This class implements a lazy all-pairs shortest path view for workloads 
+ * that query only a few sources. Instead of materializing all the 
+ * {@code n^2} costs and parents, the row of a source is computed on its first
+ * query by Dijkstra's algorithm, with the arc costs reweighted by the node 
+ * potentials of Johnson's algorithm, so negative arc costs are allowed. The 
+ * potentials are computed once, on construction.
+ * <p>
+ * The computed rows are kept in a cache with the least recently used 
+ * eviction, bounded by the memory taken by the rows. Concurrent queries on a
+ * source whose row is not cached are collapsed into a single computation, 
+ * which the other callers wait for. This class is thread-safe.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class LazyShortestPaths {
+
+    // The cost and the parent of every node.
+    private static final int BYTES_PER_ROW_ENTRY = 
+            Double.BYTES + Integer.BYTES;
+
+    private final SparseGraph graph;
+    private final double[] potentials;
+    private final int rowCacheCapacity;
+    private final Map<Integer, Row> rowCache;
+    private final Map<Integer, CompletableFuture<Row>> pendingRows = 
+            new HashMap<>();
+    private final LongAdder rowCacheHits = new LongAdder();
+    private final LongAdder rowComputations = new LongAdder();
+    private final LongAdder rowCacheEvictions = new LongAdder();
+
+    /**
+     * Constructs this view over {@code adjacencyMatrix}. The graph is copied 
+     * into a {@link SparseGraph}, so later changes to the matrix are not 
+     * seen.
+     * 
+     * @param adjacencyMatrix the graph.
+     * @param maxCacheBytes   the memory budget of the cached rows.
+     */
+    public LazyShortestPaths(AdjacencyMatrix adjacencyMatrix, 
+                             long maxCacheBytes) {
+        this(SparseGraph.fromAdjacencyMatrix(adjacencyMatrix), maxCacheBytes);
+    }
+
+    /**
+     * Constructs this view over {@code graph}. At least one row is always 
+     * cached, even if it takes more than {@code maxCacheBytes}.
+     * 
+     * @param graph         the graph.
+     * @param maxCacheBytes the memory budget of the cached rows.
+     * @throws IllegalArgumentException if the graph contains a negative 
+     *                                  weight cycle.
+     */
+    public LazyShortestPaths(SparseGraph graph, long maxCacheBytes) {
+        this.graph = Objects.requireNonNull(graph, "The graph is null.");
+
+        if (maxCacheBytes < 0L) {
+            throw new IllegalArgumentException(
+                    "The row cache budget is negative: " + maxCacheBytes);
+        }
+
+        this.potentials = Johnson.computePotentials(graph);
+
+        if (potentials == null) {
+            throw new IllegalArgumentException(
+                    "The graph contains a negative weight cycle.");
+        }
+
+        long rowBytes = 
+                Math.max(1L, 
+                         (long) BYTES_PER_ROW_ENTRY * graph.getNumberOfNodes());
+        this.rowCacheCapacity = 
+                (int) Math.max(1L, 
+                               Math.min(Integer.MAX_VALUE, 
+                                        maxCacheBytes / rowBytes));
+        this.rowCache = new LinkedHashMap<Integer, Row>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Row> e) {
+                if (size() > rowCacheCapacity) {
+                    rowCacheEvictions.increment();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    public int getNumberOfNodes() {
+        return graph.getNumberOfNodes();
+    }
+
+    /**
+     * Returns the maximum number of rows the cache holds at a time.
+     * 
+     * @return the row cache capacity.
+     */
+    public int getRowCacheCapacity() {
+        return rowCacheCapacity;
+    }
+
+    public double getShortestPathCost(int sourceNodeIndex, 
+                                      int targetNodeIndex) {
+        checkNodeIndex(targetNodeIndex, getNumberOfNodes());
+        return getRow(sourceNodeIndex).costs[targetNodeIndex];
+    }
+
+    public int getParent(int sourceNodeIndex, int targetNodeIndex) {
+        checkNodeIndex(targetNodeIndex, getNumberOfNodes());
+        return getRow(sourceNodeIndex).parents[targetNodeIndex];
+    }
+
+    /**
+     * Constructs a shortest path from the node {@code sourceNodeIndex} to the
+     * node {@code targetNodeIndex}, or an empty array if the target node is 
+     * not reachable from the source node.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @return the node indices on a shortest path or an empty array.
+     */
+    public int[] getShortestPath(int sourceNodeIndex, int targetNodeIndex) {
+        checkNodeIndex(targetNodeIndex, getNumberOfNodes());
+        Row row = getRow(sourceNodeIndex);
+
+        if (row.costs[targetNodeIndex] == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+
+        int length = 1;
+
+        for (int node = targetNodeIndex; 
+                node != sourceNodeIndex; 
+                node = row.parents[node]) {
+            ++length;
+        }
+
+        int[] path = new int[length];
+
+        for (int node = targetNodeIndex; length > 0; node = row.parents[node]) {
+            path[--length] = node;
+        }
+
+        return path;
+    }
+
+    public long getRowCacheHits() {
+        return rowCacheHits.sum();
+    }
+
+    /**
+     * Returns the number of rows computed so far, that is, the number of 
+     * cache misses not collapsed into another computation.
+     * 
+     * @return the number of row computations.
+     */
+    public long getRowComputations() {
+        return rowComputations.sum();
+    }
+
+    public long getRowCacheEvictions() {
+        return rowCacheEvictions.sum();
+    }
+
+    // Returns the row of the source, computing it if it is neither cached nor
+    // being computed by another thread.
+    private Row getRow(int source) {
+        checkNodeIndex(source, getNumberOfNodes());
+        CompletableFuture<Row> pendingRow;
+        boolean computeHere = false;
+
+        synchronized (rowCache) {
+            Row row = rowCache.get(source);
+
+            if (row != null) {
+                rowCacheHits.increment();
+                return row;
+            }
+
+            pendingRow = pendingRows.get(source);
+
+            if (pendingRow == null) {
+                pendingRow = new CompletableFuture<>();
+                pendingRows.put(source, pendingRow);
+                computeHere = true;
+            }
+        }
+
+        if (!computeHere) {
+            try {
+                return pendingRow.join();
+            } catch (CompletionException ex) {
+                throw new IllegalStateException(
+                        "Computing the row of " + source + " failed.", 
+                        ex.getCause());
+            }
+        }
+
+        try {
+            Row row = computeRow(source);
+
+            synchronized (rowCache) {
+                rowCache.put(source, row);
+                pendingRows.remove(source);
+            }
+
+            pendingRow.complete(row);
+            return row;
+        } catch (RuntimeException | Error ex) {
+            synchronized (rowCache) {
+                pendingRows.remove(source);
+            }
+
+            pendingRow.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Row computeRow(int source) {
+        int n = getNumberOfNodes();
+        Row row = new Row(n);
+        Arrays.fill(row.costs, Double.POSITIVE_INFINITY);
+        Arrays.fill(row.parents, ParentMatrix.NIL);
+        new SingleSourceDijkstra(graph, potentials).run(source, 
+                                                        row.costs, 
+                                                        row.parents, 
+                                                        0);
+        rowComputations.increment();
+        return row;
+    }
+
+    private static final class Row {
+
+        final double[] costs;
+        final int[] parents;
+
+        Row(int numberOfNodes) {
+            this.costs = new double[numberOfNodes];
+            this.parents = new int[numberOfNodes];
+        }
+    }
+}
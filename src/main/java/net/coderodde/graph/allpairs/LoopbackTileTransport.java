@@ -0,0 +1,55 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This class implements a tile transport between the workers running in the 
+ * same JVM. Each worker has a queue of incoming messages, and the messages 
+ * are passed by reference.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class LoopbackTileTransport implements TileTransport {
+
+    private final List<BlockingQueue<TileMessage>> queues;
+
+    public LoopbackTileTransport(int numberOfWorkers) {
+        if (numberOfWorkers < 1) {
+            throw new IllegalArgumentException(
+                    "The number of workers is non-positive: " + 
+                    numberOfWorkers);
+        }
+
+        this.queues = new ArrayList<>(numberOfWorkers);
+
+        for (int i = 0; i < numberOfWorkers; ++i) {
+            queues.add(new LinkedBlockingQueue<>());
+        }
+    }
+
+    @Override
+    public void send(int targetWorker, TileMessage message) {
+        checkWorker(targetWorker);
+        queues.get(targetWorker).add(
+                Objects.requireNonNull(message, "The message is null."));
+    }
+
+    @Override
+    public TileMessage receive(int worker) throws InterruptedException {
+        checkWorker(worker);
+        return queues.get(worker).take();
+    }
+
+    private void checkWorker(int worker) {
+        if (worker < 0 || worker >= queues.size()) {
+            throw new IllegalArgumentException(
+                    "The worker index is out of range: " + worker + ", the " +
+                    "number of workers is " + queues.size() + ".");
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * This class selects where an engine stores the shortest path cost and parent
+ * matrices it computes. By default they are stored in Java arrays on the heap.
+ * For very large graphs the matrices may instead be stored off the heap, 
+ * either in direct memory or in memory-mapped files, which lets the operating
+ * system page the results in and out and keeps them away from the garbage 
+ * collector.
+ * <p>
+ * The heap storage may further trade accuracy for memory: the costs may be 
+ * stored as {@code float} values or as {@code int} multiples of a fixed unit,
+ * and the parent nodes as 16-bit indices whenever the graph has at most 
+ * 65535 nodes. Each halves the memory of its matrix. {@link FloydWarshall} 
+ * relaxes the reduced costs directly in their arrays, which runs at about 
+ * the speed of the double precision loop; the gain is in the memory, not in
+ * the running time.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class MatrixStorage {
+
+    private enum Kind { HEAP, DIRECT, MEMORY_MAPPED }
+
+    private enum CostEncoding { DOUBLE, FLOAT, FIXED_POINT }
+
+    private static final MatrixStorage HEAP = 
+            new MatrixStorage(Kind.HEAP, null, null);
+
+    private static final MatrixStorage DIRECT = 
+            new MatrixStorage(Kind.DIRECT, null, null);
+
+    private final Kind kind;
+    private final Path costFile;
+    private final Path parentFile;
+    private final CostEncoding costEncoding;
+    private final double fixedPointUnit;
+    private final boolean compactParents;
+
+    private MatrixStorage(Kind kind, Path costFile, Path parentFile) {
+        this(kind, costFile, parentFile, CostEncoding.DOUBLE, 0.0, false);
+    }
+
+    private MatrixStorage(Kind kind, 
+                          Path costFile, 
+                          Path parentFile,
+                          CostEncoding costEncoding,
+                          double fixedPointUnit,
+                          boolean compactParents) {
+        this.kind = kind;
+        this.costFile = costFile;
+        this.parentFile = parentFile;
+        this.costEncoding = costEncoding;
+        this.fixedPointUnit = fixedPointUnit;
+        this.compactParents = compactParents;
+    }
+
+    /**
+     * Returns the storage keeping the matrices in Java arrays.
+     * 
+     * @return the heap storage.
+     */
+    public static MatrixStorage heap() {
+        return HEAP;
+    }
+
+    /**
+     * Returns the storage keeping the matrices in direct byte buffers.
+     * 
+     * @return the direct memory storage.
+     */
+    public static MatrixStorage offHeap() {
+        return DIRECT;
+    }
+
+    /**
+     * Returns the storage keeping the matrices in memory-mapped files. The 
+     * files are created if they do not exist and truncated otherwise. The 
+     * results remain valid after the files are unmapped, so they may be mapped
+     * again later.
+     * 
+     * @param costFile   the file for the shortest path costs.
+     * @param parentFile the file for the parent nodes.
+     * @return the memory-mapped storage.
+     */
+    public static MatrixStorage memoryMapped(Path costFile, Path parentFile) {
+        Objects.requireNonNull(costFile, "The cost file is null.");
+        Objects.requireNonNull(parentFile, "The parent file is null.");
+
+        if (costFile.equals(parentFile)) {
+            throw new IllegalArgumentException(
+                    "The cost and the parent files are the same: " + 
+                    costFile);
+        }
+
+        return new MatrixStorage(Kind.MEMORY_MAPPED, costFile, parentFile);
+    }
+
+    /**
+     * Returns a storage like this one, but storing the costs as 
+     * {@code float} values. Every computed cost is rounded to single 
+     * precision, so the costs of long paths may accumulate rounding errors.
+     * 
+     * @return the storage with single precision costs.
+     * @throws UnsupportedOperationException if this is not the heap storage.
+     */
+    public MatrixStorage withFloatCosts() {
+        checkHeap();
+        return new MatrixStorage(kind, 
+                                 costFile, 
+                                 parentFile, 
+                                 CostEncoding.FLOAT, 
+                                 0.0, 
+                                 compactParents);
+    }
+
+    /**
+     * Returns a storage like this one, but storing the costs as {@code int} 
+     * multiples of {@code unit}. Every computed cost is rounded to the 
+     * nearest multiple, and the costs whose magnitude exceeds 
+     * {@code (2^31 - 2) * unit} saturate to that bound. This is exact 
+     * whenever all the arc weights are multiples of {@code unit}, for example
+     * integers with the unit 1.
+     * 
+     * @param unit the cost represented by the stored value 1.
+     * @return the storage with fixed-point costs.
+     * @throws IllegalArgumentException if {@code unit} is not a positive 
+     *                                  finite number.
+     * @throws UnsupportedOperationException if this is not the heap storage.
+     */
+    public MatrixStorage withFixedPointCosts(double unit) {
+        if (!(unit > 0.0) || Double.isInfinite(unit)) {
+            throw new IllegalArgumentException(
+                    "The fixed-point unit must be positive and finite: " + 
+                    unit);
+        }
+
+        checkHeap();
+        return new MatrixStorage(kind, 
+                                 costFile, 
+                                 parentFile, 
+                                 CostEncoding.FIXED_POINT, 
+                                 unit, 
+                                 compactParents);
+    }
+
+    /**
+     * Returns a storage like this one, but storing the parent nodes as 16-bit 
+     * indices whenever the graph has at most 65535 nodes. Larger graphs keep 
+     * the 32-bit indices.
+     * 
+     * @return the storage with compact parent nodes.
+     * @throws UnsupportedOperationException if this is not the heap storage.
+     */
+    public MatrixStorage withCompactParents() {
+        checkHeap();
+        return new MatrixStorage(kind, 
+                                 costFile, 
+                                 parentFile, 
+                                 costEncoding, 
+                                 fixedPointUnit, 
+                                 true);
+    }
+
+    ShortestPathCostMatrix createCostMatrix(int numberOfNodes) {
+        switch (kind) {
+            case HEAP:
+                return createHeapCostMatrix(numberOfNodes);
+
+            case DIRECT:
+                return new ShortestPathCostMatrix(
+                        OffHeapDoubleMatrixStorage.allocateDirect(
+                                numberOfNodes, 
+                                Double.POSITIVE_INFINITY));
+
+            default:
+                try (FileChannel channel = open(costFile)) {
+                    DoubleMatrixStorage storage = 
+                            OffHeapDoubleMatrixStorage.map(
+                                    channel,
+                                    FileChannel.MapMode.READ_WRITE,
+                                    0L,
+                                    numberOfNodes);
+                    storage.fill(Double.POSITIVE_INFINITY);
+                    return new ShortestPathCostMatrix(storage);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+        }
+    }
+
+    ParentMatrix createParentMatrix(int numberOfNodes) {
+        switch (kind) {
+            case HEAP:
+                if (compactParents 
+                        && numberOfNodes <= 
+                           CharMatrixStorage.MAX_NUMBER_OF_NODES) {
+                    return new ParentMatrix(
+                            new CharMatrixStorage(numberOfNodes, 
+                                                  ParentMatrix.NIL));
+                }
+
+                return new ParentMatrix(numberOfNodes);
+
+            case DIRECT:
+                return new ParentMatrix(
+                        OffHeapIntMatrixStorage.allocateDirect(
+                                numberOfNodes, 
+                                ParentMatrix.NIL));
+
+            default:
+                try (FileChannel channel = open(parentFile)) {
+                    IntMatrixStorage storage = 
+                            OffHeapIntMatrixStorage.map(
+                                    channel,
+                                    FileChannel.MapMode.READ_WRITE,
+                                    0L,
+                                    numberOfNodes);
+                    storage.fill(ParentMatrix.NIL);
+                    return new ParentMatrix(storage);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+        }
+    }
+
+    private ShortestPathCostMatrix createHeapCostMatrix(int numberOfNodes) {
+        switch (costEncoding) {
+            case FLOAT:
+                return new ShortestPathCostMatrix(
+                        new FloatMatrixStorage(numberOfNodes, 
+                                               Double.POSITIVE_INFINITY));
+
+            case FIXED_POINT:
+                return new ShortestPathCostMatrix(
+                        new FixedPointMatrixStorage(
+                                numberOfNodes,
+                                fixedPointUnit,
+                                Double.POSITIVE_INFINITY));
+
+            default:
+                return new ShortestPathCostMatrix(numberOfNodes);
+        }
+    }
+
+    private void checkHeap() {
+        if (kind != Kind.HEAP) {
+            throw new UnsupportedOperationException(
+                    "Reduced precision is supported only on the heap.");
+        }
+    }
+
+    // The mappings stay valid after the channel is closed.
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, 
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
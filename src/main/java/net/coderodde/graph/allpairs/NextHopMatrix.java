@@ -0,0 +1,290 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+
+/**
+ * This class implements a data structure for querying the next hops on 
+ * shortest paths. Unlike {@link ParentMatrix}, it lets the paths be read 
+ * forward from the source node, one hop at a time in constant time.
+ * <p>
+ * Since the next hop from a node is always one of its out-neighbours, the 
+ * compressed encoding stores only the index of the next hop in the sorted 
+ * out-neighbour list of the source node. The index takes a byte per entry if
+ * no node has more than 255 out-neighbours, and two bytes if the graph has at
+ * most 65535 nodes.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class NextHopMatrix {
+
+    /**
+     * The encodings of the next hops.
+     */
+    public enum Encoding {
+
+        /**
+         * Each next hop is stored as a node index.
+         */
+        PLAIN,
+
+        /**
+         * Each next hop is stored as an index into the out-neighbour list of
+         * the source node, in as few bytes as possible.
+         */
+        COMPRESSED
+    }
+
+    // The next hops as node indices or as out-neighbour indices.
+    private final IntMatrixStorage matrix;
+
+    // The out-neighbours of the node 'i' are neighbours[firstNeighbour[i]], 
+    // ..., neighbours[firstNeighbour[i + 1] - 1]. Both are null in the plain
+    // encoding.
+    private final int[] firstNeighbour;
+    private final int[] neighbours;
+
+    private NextHopMatrix(IntMatrixStorage matrix, 
+                          int[] firstNeighbour, 
+                          int[] neighbours) {
+        this.matrix = matrix;
+        this.firstNeighbour = firstNeighbour;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Creates the next hop matrix of the paths of at most one arc in the 
+     * graph {@code adjacencyMatrix}. The engines improve it during the 
+     * relaxation by setting the next hop from i to j to the next hop from i
+     * to k whenever a path via k is shorter; this is the same in both 
+     * encodings, since both entries are in the row i.
+     */
+    static NextHopMatrix create(AdjacencyMatrix adjacencyMatrix, 
+                                Encoding encoding) {
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        int n = a.getNumberOfNodes();
+
+        if (encoding == Encoding.PLAIN) {
+            IntMatrixStorage matrix = 
+                    new HeapIntMatrixStorage(n, ParentMatrix.NIL);
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    if (i != j && !Double.isInfinite(a.get(i, j))) {
+                        matrix.set(i, j, j);
+                    }
+                }
+            }
+
+            return new NextHopMatrix(matrix, null, null);
+        }
+
+        int[] firstNeighbour = new int[n + 1];
+        int maximumDegree = 0;
+
+        for (int i = 0; i < n; ++i) {
+            int degree = 0;
+
+            for (int j = 0; j < n; ++j) {
+                if (i != j && !Double.isInfinite(a.get(i, j))) {
+                    ++degree;
+                }
+            }
+
+            firstNeighbour[i + 1] = firstNeighbour[i] + degree;
+            maximumDegree = Math.max(maximumDegree, degree);
+        }
+
+        IntMatrixStorage matrix;
+
+        if (maximumDegree <= ByteMatrixStorage.MAX_VALUE + 1) {
+            matrix = new ByteMatrixStorage(n, ParentMatrix.NIL);
+        } else if (n <= CharMatrixStorage.MAX_NUMBER_OF_NODES) {
+            matrix = new CharMatrixStorage(n, ParentMatrix.NIL);
+        } else {
+            matrix = new HeapIntMatrixStorage(n, ParentMatrix.NIL);
+        }
+
+        int[] neighbours = new int[firstNeighbour[n]];
+
+        for (int i = 0; i < n; ++i) {
+            int index = 0;
+
+            for (int j = 0; j < n; ++j) {
+                if (i != j && !Double.isInfinite(a.get(i, j))) {
+                    neighbours[firstNeighbour[i] + index] = j;
+                    matrix.set(i, j, index++);
+                }
+            }
+        }
+
+        return new NextHopMatrix(matrix, firstNeighbour, neighbours);
+    }
+
+    public int getNumberOfNodes() {
+        return matrix.getNumberOfNodes();
+    }
+
+    public Encoding getEncoding() {
+        return firstNeighbour == null ? Encoding.PLAIN : Encoding.COMPRESSED;
+    }
+
+    /**
+     * Returns the node following {@code sourceNodeIndex} on a shortest path 
+     * to {@code targetNodeIndex}.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @return the index of the next hop, or {@link ParentMatrix#NIL} if the 
+     *         source and the target nodes are the same or the target node is
+     *         not reachable from the source node.
+     */
+    public int getNextHop(int sourceNodeIndex, int targetNodeIndex) {
+        checkNodeIndex(sourceNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(targetNodeIndex, matrix.getNumberOfNodes());
+
+        if (sourceNodeIndex == targetNodeIndex) {
+            return ParentMatrix.NIL;
+        }
+
+        return nextHop(sourceNodeIndex, targetNodeIndex);
+    }
+
+    /**
+     * Constructs a shortest path from the node {@code sourceNodeIndex} to the 
+     * node {@code targetNodeIndex} as described in 
+     * {@link ParentMatrix#getShortestPath(int, int)}.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @return the nodes on a shortest path or an empty array if the target 
+     *         node is not reachable from the source node.
+     */
+    public int[] getShortestPath(int sourceNodeIndex, int targetNodeIndex) {
+        int[] path = new int[getShortestPathLength(sourceNodeIndex, 
+                                                   targetNodeIndex)];
+        writePath(sourceNodeIndex, targetNodeIndex, path, 0, path.length);
+        return path;
+    }
+
+    /**
+     * Returns the number of nodes on a shortest path from the node 
+     * {@code sourceNodeIndex} to the node {@code targetNodeIndex}, or zero if
+     * the target node is not reachable from the source node.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @return the number of nodes on a shortest path.
+     */
+    public int getShortestPathLength(int sourceNodeIndex, 
+                                     int targetNodeIndex) {
+        return forEachPathNode(sourceNodeIndex, targetNodeIndex, node -> {});
+    }
+
+    /**
+     * Writes a shortest path from the node {@code sourceNodeIndex} to the 
+     * node {@code targetNodeIndex} into {@code destination} as described in 
+     * {@link ParentMatrix#getShortestPath(int, int, int[], int)}.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @param destination     the array to write the path into.
+     * @param offset          the index of the first path node in
+     *                        {@code destination}.
+     * @return the number of nodes on the path.
+     * @throws IllegalArgumentException if the path does not fit in 
+     *                                  {@code destination}.
+     */
+    public int getShortestPath(int sourceNodeIndex,
+                               int targetNodeIndex,
+                               int[] destination,
+                               int offset) {
+        Objects.requireNonNull(destination, "The destination array is null.");
+        int length = getShortestPathLength(sourceNodeIndex, targetNodeIndex);
+
+        if (offset < 0 || offset > destination.length - length) {
+            throw new IllegalArgumentException(
+                    "The path of " + length + " nodes does not fit in an " +
+                    "array of length " + destination.length + 
+                    " at offset " + offset + ".");
+        }
+
+        writePath(sourceNodeIndex, targetNodeIndex, destination, offset, length);
+        return length;
+    }
+
+    /**
+     * Passes the nodes of a shortest path from the node 
+     * {@code sourceNodeIndex} to the node {@code targetNodeIndex} to 
+     * {@code action} in order, starting from the source node.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @param action          the action receiving the path nodes.
+     * @return the number of nodes on the path, or zero if the target node is
+     *         not reachable from the source node.
+     */
+    public int forEachPathNode(int sourceNodeIndex,
+                               int targetNodeIndex,
+                               IntConsumer action) {
+        int n = matrix.getNumberOfNodes();
+        checkNodeIndex(sourceNodeIndex, n);
+        checkNodeIndex(targetNodeIndex, n);
+        Objects.requireNonNull(action, "The action is null.");
+
+        if (sourceNodeIndex != targetNodeIndex 
+                && nextHop(sourceNodeIndex, targetNodeIndex) == 
+                   ParentMatrix.NIL) {
+            return 0;
+        }
+
+        int length = 1;
+        int node = sourceNodeIndex;
+        action.accept(node);
+
+        while (node != targetNodeIndex) {
+            node = nextHop(node, targetNodeIndex);
+
+            // Only a negative weight cycle breaks the paths.
+            if (node == ParentMatrix.NIL || length == n) {
+                throw new IllegalStateException(
+                        "The next hops to " + targetNodeIndex + " do not " +
+                        "form shortest paths; the graph contains a " + 
+                        "negative weight cycle.");
+            }
+
+            ++length;
+            action.accept(node);
+        }
+
+        return length;
+    }
+
+    // Gives the engines direct access to the stored entries.
+    IntMatrixStorage getStorage() {
+        return matrix;
+    }
+
+    private int nextHop(int sourceNodeIndex, int targetNodeIndex) {
+        int entry = matrix.get(sourceNodeIndex, targetNodeIndex);
+
+        if (entry == ParentMatrix.NIL || firstNeighbour == null) {
+            return entry;
+        }
+
+        return neighbours[firstNeighbour[sourceNodeIndex] + entry];
+    }
+
+    private void writePath(int source, 
+                           int target, 
+                           int[] destination, 
+                           int offset, 
+                           int length) {
+        for (int i = offset; i < offset + length; ++i) {
+            destination[i] = source;
+            source = nextHop(source, target);
+        }
+    }
+}
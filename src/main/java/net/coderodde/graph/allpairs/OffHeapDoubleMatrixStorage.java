@@ -0,0 +1,148 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * This class implements a square matrix of {@code double} values stored off 
+ * the Java heap, either in direct byte buffers or in memory-mapped file 
+ * regions. The entries are stored in row-major, little-endian order. Since a 
+ * single buffer may hold at most {@link #MAX_SEGMENT_LENGTH} entries, large 
+ * matrices are split into segments of whole rows as described in 
+ * {@link SegmentLayout}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class OffHeapDoubleMatrixStorage extends DoubleMatrixStorage {
+
+    /**
+     * The largest number of entries in a single buffer.
+     */
+    static final int MAX_SEGMENT_LENGTH = Integer.MAX_VALUE / Double.BYTES;
+
+    // The number of entries written at a time by 'fill'.
+    private static final int FILL_CHUNK_LENGTH = 4096;
+
+    private final int numberOfNodes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final DoubleBuffer[] segments;
+
+    private OffHeapDoubleMatrixStorage(SegmentLayout layout, 
+                                       ByteBuffer[] byteSegments) {
+        this.numberOfNodes = layout.numberOfNodes;
+        this.segmentShift = layout.shift;
+        this.segmentMask = layout.mask;
+        this.segments = new DoubleBuffer[byteSegments.length];
+
+        for (int s = 0; s < segments.length; ++s) {
+            segments[s] = byteSegments[s].order(ByteOrder.LITTLE_ENDIAN)
+                                         .asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Allocates a matrix in direct byte buffers.
+     */
+    static OffHeapDoubleMatrixStorage allocateDirect(int numberOfNodes,
+                                                     double initialValue) {
+        SegmentLayout layout = new SegmentLayout(numberOfNodes, 
+                                                 MAX_SEGMENT_LENGTH);
+        ByteBuffer[] byteSegments = new ByteBuffer[layout.numberOfSegments];
+
+        for (int s = 0; s < byteSegments.length; ++s) {
+            byteSegments[s] = ByteBuffer.allocateDirect(
+                    layout.getSegmentLength(s) * Double.BYTES);
+        }
+
+        OffHeapDoubleMatrixStorage storage = 
+                new OffHeapDoubleMatrixStorage(layout, byteSegments);
+        storage.fill(initialValue);
+        return storage;
+    }
+
+    /**
+     * Maps a matrix stored in {@code channel} starting from 
+     * {@code position}. In the read-write mode the file grows as needed.
+     */
+    static OffHeapDoubleMatrixStorage map(FileChannel channel,
+                                          FileChannel.MapMode mode,
+                                          long position,
+                                          int numberOfNodes) 
+    throws IOException {
+        SegmentLayout layout = new SegmentLayout(numberOfNodes, 
+                                                 MAX_SEGMENT_LENGTH);
+        ByteBuffer[] byteSegments = new ByteBuffer[layout.numberOfSegments];
+
+        for (int s = 0; s < byteSegments.length; ++s) {
+            long length = (long) layout.getSegmentLength(s) * Double.BYTES;
+            byteSegments[s] = channel.map(mode, position, length);
+            position += length;
+        }
+
+        return new OffHeapDoubleMatrixStorage(layout, byteSegments);
+    }
+
+    /**
+     * Returns the number of bytes a matrix over {@code numberOfNodes} nodes 
+     * takes.
+     */
+    static long getSizeInBytes(int numberOfNodes) {
+        return (long) numberOfNodes * numberOfNodes * Double.BYTES;
+    }
+
+    @Override
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    double get(int row, int column) {
+        return segments[row >>> segmentShift]
+                .get((row & segmentMask) * numberOfNodes + column);
+    }
+
+    @Override
+    void set(int row, int column, double value) {
+        segments[row >>> segmentShift]
+                .put((row & segmentMask) * numberOfNodes + column, value);
+    }
+
+    @Override
+    void fill(double value) {
+        double[] chunk = new double[FILL_CHUNK_LENGTH];
+        Arrays.fill(chunk, value);
+
+        for (DoubleBuffer segment : segments) {
+            int capacity = segment.capacity();
+
+            for (int i = 0; i < capacity; i += FILL_CHUNK_LENGTH) {
+                segment.put(i, 
+                            chunk, 
+                            0, 
+                            Math.min(FILL_CHUNK_LENGTH, capacity - i));
+            }
+        }
+    }
+
+    @Override
+    void readRow(int row, double[] destination) {
+        segments[row >>> segmentShift].get((row & segmentMask) * numberOfNodes,
+                                           destination,
+                                           0,
+                                           numberOfNodes);
+    }
+
+    @Override
+    void writeRow(int row, double[] source) {
+        segments[row >>> segmentShift].put((row & segmentMask) * numberOfNodes,
+                                           source,
+                                           0,
+                                           numberOfNodes);
+    }
+}
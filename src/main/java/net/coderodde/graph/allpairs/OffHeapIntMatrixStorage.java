@@ -0,0 +1,148 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * This class implements a square matrix of {@code int} values stored off 
+ * the Java heap, either in direct byte buffers or in memory-mapped file 
+ * regions. The entries are stored in row-major, little-endian order. Since a 
+ * single buffer may hold at most {@link #MAX_SEGMENT_LENGTH} entries, large 
+ * matrices are split into segments of whole rows as described in 
+ * {@link SegmentLayout}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class OffHeapIntMatrixStorage extends IntMatrixStorage {
+
+    /**
+     * The largest number of entries in a single buffer.
+     */
+    static final int MAX_SEGMENT_LENGTH = Integer.MAX_VALUE / Integer.BYTES;
+
+    // The number of entries written at a time by 'fill'.
+    private static final int FILL_CHUNK_LENGTH = 4096;
+
+    private final int numberOfNodes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final IntBuffer[] segments;
+
+    private OffHeapIntMatrixStorage(SegmentLayout layout, 
+                                    ByteBuffer[] byteSegments) {
+        this.numberOfNodes = layout.numberOfNodes;
+        this.segmentShift = layout.shift;
+        this.segmentMask = layout.mask;
+        this.segments = new IntBuffer[byteSegments.length];
+
+        for (int s = 0; s < segments.length; ++s) {
+            segments[s] = byteSegments[s].order(ByteOrder.LITTLE_ENDIAN)
+                                         .asIntBuffer();
+        }
+    }
+
+    /**
+     * Allocates a matrix in direct byte buffers.
+     */
+    static OffHeapIntMatrixStorage allocateDirect(int numberOfNodes,
+                                                  int initialValue) {
+        SegmentLayout layout = new SegmentLayout(numberOfNodes, 
+                                                 MAX_SEGMENT_LENGTH);
+        ByteBuffer[] byteSegments = new ByteBuffer[layout.numberOfSegments];
+
+        for (int s = 0; s < byteSegments.length; ++s) {
+            byteSegments[s] = ByteBuffer.allocateDirect(
+                    layout.getSegmentLength(s) * Integer.BYTES);
+        }
+
+        OffHeapIntMatrixStorage storage = 
+                new OffHeapIntMatrixStorage(layout, byteSegments);
+        storage.fill(initialValue);
+        return storage;
+    }
+
+    /**
+     * Maps a matrix stored in {@code channel} starting from 
+     * {@code position}. In the read-write mode the file grows as needed.
+     */
+    static OffHeapIntMatrixStorage map(FileChannel channel,
+                                       FileChannel.MapMode mode,
+                                       long position,
+                                       int numberOfNodes) 
+    throws IOException {
+        SegmentLayout layout = new SegmentLayout(numberOfNodes, 
+                                                 MAX_SEGMENT_LENGTH);
+        ByteBuffer[] byteSegments = new ByteBuffer[layout.numberOfSegments];
+
+        for (int s = 0; s < byteSegments.length; ++s) {
+            long length = (long) layout.getSegmentLength(s) * Integer.BYTES;
+            byteSegments[s] = channel.map(mode, position, length);
+            position += length;
+        }
+
+        return new OffHeapIntMatrixStorage(layout, byteSegments);
+    }
+
+    /**
+     * Returns the number of bytes a matrix over {@code numberOfNodes} nodes 
+     * takes.
+     */
+    static long getSizeInBytes(int numberOfNodes) {
+        return (long) numberOfNodes * numberOfNodes * Integer.BYTES;
+    }
+
+    @Override
+    int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    int get(int row, int column) {
+        return segments[row >>> segmentShift]
+                .get((row & segmentMask) * numberOfNodes + column);
+    }
+
+    @Override
+    void set(int row, int column, int value) {
+        segments[row >>> segmentShift]
+                .put((row & segmentMask) * numberOfNodes + column, value);
+    }
+
+    @Override
+    void fill(int value) {
+        int[] chunk = new int[FILL_CHUNK_LENGTH];
+        Arrays.fill(chunk, value);
+
+        for (IntBuffer segment : segments) {
+            int capacity = segment.capacity();
+
+            for (int i = 0; i < capacity; i += FILL_CHUNK_LENGTH) {
+                segment.put(i, 
+                            chunk, 
+                            0, 
+                            Math.min(FILL_CHUNK_LENGTH, capacity - i));
+            }
+        }
+    }
+
+    @Override
+    void readRow(int row, int[] destination) {
+        segments[row >>> segmentShift].get((row & segmentMask) * numberOfNodes,
+                                           destination,
+                                           0,
+                                           numberOfNodes);
+    }
+
+    @Override
+    void writeRow(int row, int[] source) {
+        segments[row >>> segmentShift].put((row & segmentMask) * numberOfNodes,
+                                           source,
+                                           0,
+                                           numberOfNodes);
+    }
+}
@@ -0,0 +1,171 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import static net.coderodde.graph.allpairs.Utils.checkParallelism;
+import static net.coderodde.graph.allpairs.Utils.getDefaultParallelism;
+import static net.coderodde.graph.allpairs.Utils.runAll;
+
+/**
+ * This class implements a multi-threaded Floyd-Warshall algorithm. In each
+ * k-phase the rows of the cost matrix are split into contiguous chunks which 
+ * are relaxed concurrently in the given executor. The next phase starts only 
+ * after all the chunks of the current phase are done.
+ * <p>
+ * As long as the graph contains no negative weight cycles, the results are
+ * identical to the ones computed by {@link FloydWarshall}, including the 
+ * parent matrix. Each k-phase relaxes the rows via a copy of the pivot row 
+ * taken at the start of the phase, while the sequential loop sees the pivot 
+ * row change as it relaxes the row {@code k} itself. That happens only if the 
+ * cost from {@code k} to itself is negative, so on graphs with negative 
+ * weight cycles the costs and the parents may differ; the negative weight 
+ * cycle flag is reported all the same.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class ParallelFloydWarshall {
+
+    private final ExecutorService executor;
+
+    /**
+     * Constructs this engine running on the common fork/join pool.
+     */
+    public ParallelFloydWarshall() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelFloydWarshall(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, 
+                                               "The executor is null.");
+    }
+
+    /**
+     * Computes the all-pairs shortest paths splitting the rows into as many
+     * chunks as there are threads in the executor. For executors other than
+     * {@link ForkJoinPool}, the number of available processors is used.
+     * 
+     * @param adjacencyMatrix the input graph.
+     * @return the shortest path data.
+     */
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+        return compute(adjacencyMatrix, getDefaultParallelism(executor));
+    }
+
+    /**
+     * Computes the all-pairs shortest paths splitting the rows into 
+     * {@code parallelism} chunks per phase.
+     * 
+     * @param adjacencyMatrix the input graph.
+     * @param parallelism     the number of row chunks relaxed concurrently.
+     * @return the shortest path data.
+     */
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix,
+                                    int parallelism) {
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+        checkParallelism(parallelism);
+        int n = adjacencyMatrix.getNumberOfNodes();
+        ShortestPathCostMatrix costMatrix = new ShortestPathCostMatrix(n);
+        ParentMatrix parentMatrix = new ParentMatrix(n);
+        FloydWarshall.preprocess(adjacencyMatrix, costMatrix, parentMatrix);
+
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        IntMatrixStorage p = parentMatrix.getStorage();
+        double[] pivotCostRow = new double[n];
+        int[] pivotParentRow = new int[n];
+        int chunks = Math.min(parallelism, Math.max(n, 1));
+        List<PhaseTask> tasks = new ArrayList<>(chunks);
+
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            tasks.add(new PhaseTask(d, 
+                                    p,
+                                    pivotCostRow,
+                                    pivotParentRow,
+                                    (int)((long) n * chunk / chunks),
+                                    (int)((long) n * (chunk + 1) / chunks)));
+        }
+
+        for (int k = 0; k < n; ++k) {
+            // Take a snapshot of the pivot row so that the chunks never race
+            // on it, even if a negative weight cycle makes it change in this
+            // phase.
+            int ok = d.getRowOffset(k);
+            System.arraycopy(d.getSegment(k), ok, pivotCostRow, 0, n);
+            System.arraycopy(p.getSegment(k), ok, pivotParentRow, 0, n);
+
+            for (PhaseTask task : tasks) {
+                task.k = k;
+            }
+
+            runAll(executor, tasks);
+        }
+
+        boolean containsNegativeWeightCycle =
+                FloydWarshall.containsNegativeWeightCycle(adjacencyMatrix,
+                                                          costMatrix);
+
+        return new ShortestPathData(costMatrix,
+                                    parentMatrix,
+                                    containsNegativeWeightCycle);
+    }
+
+    private static final class PhaseTask implements Callable<Void> {
+
+        private final DoubleMatrixStorage d;
+        private final IntMatrixStorage p;
+        private final double[] dk;
+        private final int[] pk;
+        private final int fromRow;
+        private final int toRow;
+        
+        // Published to the worker threads by 'ExecutorService.invokeAll'.
+        int k;
+
+        PhaseTask(DoubleMatrixStorage d, 
+                  IntMatrixStorage p, 
+                  double[] dk, 
+                  int[] pk,
+                  int fromRow, 
+                  int toRow) {
+            this.d = d;
+            this.p = p;
+            this.dk = dk;
+            this.pk = pk;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        public Void call() {
+            int n = dk.length;
+
+            for (int i = fromRow; i < toRow; ++i) {
+                double[] di = d.getSegment(i);
+                int oi = d.getRowOffset(i);
+                double dik = di[oi + k];
+
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                int[] pi = p.getSegment(i);
+
+                for (int j = 0; j < n; ++j) {
+                    double tentativeCost = dik + dk[j];
+
+                    if (di[oi + j] > tentativeCost) {
+                        di[oi + j] = tentativeCost;
+                        pi[oi + j] = pk[j];
+                    }
+                }
+            }
+
+            return null;
+        }
+    }
+}
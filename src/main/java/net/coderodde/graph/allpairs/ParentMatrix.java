@@ -1,7 +1,10 @@
 package net.coderodde.graph.allpairs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.BufferOverflowException;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
 import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
 import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
 
@@ -21,21 +24,19 @@ public final class ParentMatrix {
      */
     public static final int NIL = -1;
 
-    private final int[][] matrix;
+    private final IntMatrixStorage matrix;
 
     ParentMatrix(int numberOfNodes) {
         checkNumberOfNodes(numberOfNodes);
-        this.matrix = new int[numberOfNodes][numberOfNodes];
+        this.matrix = new HeapIntMatrixStorage(numberOfNodes, NIL);
+    }
 
-        for (int y = 0; y < numberOfNodes; ++y) {
-            for (int x = 0; x < numberOfNodes; ++x) {
-                matrix[y][x] = NIL;
-            }
-        }
+    ParentMatrix(IntMatrixStorage matrix) {
+        this.matrix = matrix;
     }
 
     public int getNumberOfNodes() {
-        return matrix.length;
+        return matrix.getNumberOfNodes();
     }
 
     /**
@@ -49,9 +50,9 @@ public final class ParentMatrix {
      *         {@code currentNodeIndex} or {@link NIL} if there is no such.
      */
     public int getParent(int sourceNodeIndex, int currentNodeIndex) {
-        checkNodeIndex(sourceNodeIndex, matrix.length);
-        checkNodeIndex(currentNodeIndex, matrix.length);
-        return matrix[sourceNodeIndex][currentNodeIndex];
+        checkNodeIndex(sourceNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(currentNodeIndex, matrix.getNumberOfNodes());
+        return matrix.get(sourceNodeIndex, currentNodeIndex);
     }
 
     /**
@@ -68,39 +69,213 @@ public final class ParentMatrix {
      *         source node.
      */
     public int[] getShortestPath(int sourceNodeIndex, int targetNodeIndex) {
-        checkNodeIndex(sourceNodeIndex, matrix.length);
-        checkNodeIndex(targetNodeIndex, matrix.length);
+        checkNodeIndex(sourceNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(targetNodeIndex, matrix.getNumberOfNodes());
+
+        int[] path = new int[countPathNodes(sourceNodeIndex, targetNodeIndex)];
+        writePath(sourceNodeIndex, targetNodeIndex, path, 0, path.length);
+        return path;
+    }
 
-        if (sourceNodeIndex == targetNodeIndex) {
-            return new int[]{sourceNodeIndex};
+    /**
+     * Returns the number of nodes on a shortest path from the node 
+     * {@code sourceNodeIndex} to the node {@code targetNodeIndex}, or zero if
+     * the target node is not reachable from the source node.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @return the number of nodes on a shortest path.
+     */
+    public int getShortestPathLength(int sourceNodeIndex, 
+                                     int targetNodeIndex) {
+        checkNodeIndex(sourceNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(targetNodeIndex, matrix.getNumberOfNodes());
+        return countPathNodes(sourceNodeIndex, targetNodeIndex);
+    }
+
+    /**
+     * Writes a shortest path from the node {@code sourceNodeIndex} to the node
+     * {@code targetNodeIndex} into {@code destination} starting at 
+     * {@code offset}, and returns the number of nodes written. Nothing is
+     * written if the target node is not reachable from the source node. 
+     * Unlike {@link #getShortestPath(int, int)}, this method allocates no 
+     * memory.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @param destination     the array to write the path into.
+     * @param offset          the index of the first path node in
+     *                        {@code destination}.
+     * @return the number of nodes on the path.
+     * @throws IllegalArgumentException if the path does not fit in 
+     *                                  {@code destination}.
+     */
+    public int getShortestPath(int sourceNodeIndex, 
+                               int targetNodeIndex,
+                               int[] destination,
+                               int offset) {
+        checkNodeIndex(sourceNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(targetNodeIndex, matrix.getNumberOfNodes());
+        Objects.requireNonNull(destination, "The destination array is null.");
+
+        int length = countPathNodes(sourceNodeIndex, targetNodeIndex);
+
+        if (offset < 0 || offset > destination.length - length) {
+            throw new IllegalArgumentException(
+                    "The path of " + length + " nodes does not fit in an " +
+                    "array of length " + destination.length + 
+                    " at offset " + offset + ".");
         }
 
-        if (matrix[sourceNodeIndex][targetNodeIndex] == NIL) {
-            return new int[0];
+        writePath(sourceNodeIndex, targetNodeIndex, destination, offset, length);
+        return length;
+    }
+
+    /**
+     * Writes a shortest path from the node {@code sourceNodeIndex} to the node
+     * {@code targetNodeIndex} into {@code destination} at its current 
+     * position, advances the position past the path and returns the number of
+     * nodes written. Nothing is written if the target node is not reachable 
+     * from the source node.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @param destination     the buffer to write the path into.
+     * @return the number of nodes on the path.
+     * @throws BufferOverflowException if the path does not fit in the 
+     *                                 remaining space of {@code destination}.
+     */
+    public int getShortestPath(int sourceNodeIndex, 
+                               int targetNodeIndex,
+                               IntBuffer destination) {
+        checkNodeIndex(sourceNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(targetNodeIndex, matrix.getNumberOfNodes());
+        Objects.requireNonNull(destination, "The destination buffer is null.");
+
+        int length = countPathNodes(sourceNodeIndex, targetNodeIndex);
+
+        if (destination.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
+        int position = destination.position();
+        int node = targetNodeIndex;
+
+        for (int i = length - 1; i >= 0; --i) {
+            destination.put(position + i, node);
+            node = matrix.get(sourceNodeIndex, node);
         }
 
-        List<Integer> nodeIndexList = new ArrayList<>();
+        destination.position(position + length);
+        return length;
+    }
 
-        nodeIndexList.add(targetNodeIndex);
+    /**
+     * Passes the nodes of a shortest path from the node 
+     * {@code sourceNodeIndex} to the node {@code targetNodeIndex} to 
+     * {@code action} in reverse order, starting from the target node, without
+     * storing the path anywhere.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @param action          the action receiving the path nodes.
+     * @return the number of nodes on the path, or zero if the target node is
+     *         not reachable from the source node.
+     */
+    public int forEachPathNodeBackwards(int sourceNodeIndex,
+                                        int targetNodeIndex,
+                                        IntConsumer action) {
+        checkNodeIndex(sourceNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(targetNodeIndex, matrix.getNumberOfNodes());
+        Objects.requireNonNull(action, "The action is null.");
 
-        while (sourceNodeIndex != targetNodeIndex) {
-            targetNodeIndex = matrix[sourceNodeIndex][targetNodeIndex];
-            nodeIndexList.add(targetNodeIndex);
+        if (sourceNodeIndex != targetNodeIndex 
+                && matrix.get(sourceNodeIndex, targetNodeIndex) == NIL) {
+            return 0;
         }
 
-        int[] path = new int[nodeIndexList.size()];
+        int length = 1;
+        int node = targetNodeIndex;
+        action.accept(node);
 
-        // The path in 'nodeIndexList' is in reversed order.
-        for (int i = 0; i < path.length; ++i) {
-            path[i] = nodeIndexList.get(nodeIndexList.size() - 1 - i);
+        while (node != sourceNodeIndex) {
+            node = nextParent(sourceNodeIndex, node, length++);
+            action.accept(node);
         }
 
-        return path;
+        return length;
+    }
+
+    /**
+     * Passes every shortest path starting at the node {@code sourceNodeIndex}
+     * to {@code visitor}, including the single-node path to the source node 
+     * itself. All the paths are produced in one pass over the parent row of 
+     * the source node: each path is passed before the paths extending it, and
+     * shares its array with them. The unreachable nodes are skipped.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param visitor         the visitor receiving the paths.
+     */
+    public void forEachShortestPath(int sourceNodeIndex, 
+                                    ShortestPathVisitor visitor) {
+        int n = matrix.getNumberOfNodes();
+        checkNodeIndex(sourceNodeIndex, n);
+        Objects.requireNonNull(visitor, "The visitor is null.");
+
+        int[] parents = new int[n];
+        matrix.readRow(sourceNodeIndex, parents);
+
+        // The children of the node 'u' in the shortest path tree are
+        // children[firstChild[u]], ..., children[firstChild[u + 1] - 1]. The 
+        // parent of the source node is ignored, as it may only be set by a 
+        // negative weight cycle.
+        int[] firstChild = new int[n + 1];
+
+        for (int v = 0; v < n; ++v) {
+            if (v != sourceNodeIndex && parents[v] != NIL) {
+                ++firstChild[parents[v] + 1];
+            }
+        }
+
+        for (int u = 0; u < n; ++u) {
+            firstChild[u + 1] += firstChild[u];
+        }
+
+        int[] children = new int[firstChild[n]];
+        int[] nextChild = Arrays.copyOf(firstChild, n);
+
+        for (int v = 0; v < n; ++v) {
+            if (v != sourceNodeIndex && parents[v] != NIL) {
+                children[nextChild[parents[v]]++] = v;
+            }
+        }
+
+        // Depth-first search over the tree; 'path' holds the current path and
+        // 'nextChild[d]' the next child to descend to from 'path[d]'.
+        int[] path = new int[n];
+        int depth = 1;
+        path[0] = sourceNodeIndex;
+        nextChild[0] = firstChild[sourceNodeIndex];
+        visitor.visit(path, 1);
+
+        while (depth > 0) {
+            int node = path[depth - 1];
+
+            if (nextChild[depth - 1] == firstChild[node + 1]) {
+                --depth;
+                continue;
+            }
+
+            int child = children[nextChild[depth - 1]++];
+            path[depth] = child;
+            nextChild[depth] = firstChild[child];
+            visitor.visit(path, ++depth);
+        }
     }
 
     @Override
     public String toString() {
-        int n = matrix.length;
+        int n = matrix.getNumberOfNodes();
         int maximumFieldLength = 0;
         StringBuilder sb = new StringBuilder();
 
@@ -108,7 +283,7 @@ public final class ParentMatrix {
         // the matrix neatly.
         for (int y = 0; y < n; ++y) {
             for (int x = 0; x < n; ++x) {
-                sb.append(matrix[y][x]);
+                sb.append(matrix.get(y, x));
 
                 int currentFieldLength = sb.toString().length();
 
@@ -124,7 +299,7 @@ public final class ParentMatrix {
         for (int y = 0; y < n; ++y) {
             for (int x = 0; x < n; ++x) {
                 sb.append(String.format("%" + maximumFieldLength 
-                                            + "d", matrix[y][x]));
+                                            + "d", matrix.get(y, x)));
 
                 if (x < n - 1) {
                     sb.append(' ');
@@ -139,9 +314,61 @@ public final class ParentMatrix {
         return sb.toString();
     }
 
+    // Returns the number of nodes on the path from 'source' to 'target'.
+    private int countPathNodes(int source, int target) {
+        if (source == target) {
+            return 1;
+        }
+
+        if (matrix.get(source, target) == NIL) {
+            return 0;
+        }
+
+        int length = 1;
+
+        while (target != source) {
+            target = nextParent(source, target, length++);
+        }
+
+        return length;
+    }
+
+    // Writes the path of 'length' nodes ending at 'target' backwards.
+    private void writePath(int source, 
+                           int target, 
+                           int[] destination, 
+                           int offset, 
+                           int length) {
+        for (int i = offset + length - 1; i >= offset; --i) {
+            destination[i] = target;
+            target = matrix.get(source, target);
+        }
+    }
+
+    // Returns the parent of 'node' after 'length' path nodes have been seen. 
+    // Only a negative weight cycle makes the parent pointers run around in 
+    // circles, and we refuse to follow them forever.
+    private int nextParent(int source, int node, int length) {
+        int parent = matrix.get(source, node);
+
+        if (parent == NIL || length == matrix.getNumberOfNodes()) {
+            throw new IllegalStateException(
+                    "The parent pointers from " + source + " do not form " +
+                    "a shortest path tree; the graph contains a negative " + 
+                    "weight cycle.");
+        }
+
+        return parent;
+    }
+
     void setParent(int sourceNodeIndex, 
                    int currentNodeIndex, 
                    int parentNodeIndex) {
-        matrix[sourceNodeIndex][currentNodeIndex] = parentNodeIndex;
+        matrix.set(sourceNodeIndex, currentNodeIndex, parentNodeIndex);
+    }
+
+    // Gives the engines direct access to the rows of this matrix.
+    IntMatrixStorage getStorage() {
+        return matrix;
     }
 }
@@ -0,0 +1,256 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import static net.coderodde.graph.allpairs.Utils.checkGridSize;
+import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
+
+/**
+ * This class implements a worker of {@link PartitionedFloydWarshall} owning a 
+ * single tile of the cost and parent matrices. In the phase {@code K}, the 
+ * worker owning the diagonal tile {@code (K, K)} relaxes it and sends it to 
+ * the workers on the tile row and the tile column {@code K}. Those relax 
+ * their tiles through it and send them along their tile columns and tile 
+ * rows, respectively, after which all the other workers relax their tiles 
+ * through the tiles they received. The worker returns its final tile.
+ * <p>
+ * A worker needs nothing but its initial tile, as given by 
+ * {@link PartitionedFloydWarshall#getInitialTile(AdjacencyMatrix, int, int)},
+ * and a transport reaching the other workers, so it may run in a process of 
+ * its own.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class PartitionWorker implements Callable<TileMessage> {
+
+    private final TileTransport transport;
+    private final int gridSize;
+    private final int tileSize;
+    private final int numberOfNodes;
+    private final int tileRow;
+    private final int tileColumn;
+    private final int numberOfRows;
+    private final int numberOfColumns;
+    private final double[] costs;
+    private final int[] parents;
+    private final int[] hops;
+
+    // The messages received ahead of the time they are needed.
+    private final Map<Long, TileMessage> pendingMessages = new HashMap<>();
+
+    /**
+     * Constructs a worker relaxing {@code tile}. The worker updates the arrays
+     * of the tile in place, so the tile must not be used elsewhere.
+     * 
+     * @param tile          the initial tile of this worker.
+     * @param transport     the transport between the workers.
+     * @param numberOfNodes the number of nodes in the graph.
+     * @param gridSize      the number of tile rows and tile columns.
+     */
+    public PartitionWorker(TileMessage tile,
+                           TileTransport transport,
+                           int numberOfNodes,
+                           int gridSize) {
+        Objects.requireNonNull(tile, "The tile is null.");
+        Objects.requireNonNull(transport, "The transport is null.");
+        checkNumberOfNodes(numberOfNodes);
+        checkGridSize(gridSize);
+        this.transport = transport;
+        this.gridSize = gridSize;
+        this.tileSize = 
+                PartitionedFloydWarshall.getTileSize(numberOfNodes, gridSize);
+        this.numberOfNodes = numberOfNodes;
+
+        if (tile.getTileRow() < 0 
+                || tile.getTileRow() >= gridSize
+                || tile.getTileColumn() < 0
+                || tile.getTileColumn() >= gridSize
+                || tile.getNumberOfRows() != getTileLength(tile.getTileRow())
+                || tile.getNumberOfColumns() 
+                   != getTileLength(tile.getTileColumn())) {
+            throw new IllegalArgumentException(
+                    "The tile (" + tile.getTileRow() + ", " + 
+                    tile.getTileColumn() + ") of " + tile.getNumberOfRows() +
+                    " x " + tile.getNumberOfColumns() + " entries does not " +
+                    "belong to a " + gridSize + " x " + gridSize + " grid " +
+                    "over " + numberOfNodes + " nodes.");
+        }
+
+        this.tileRow = tile.getTileRow();
+        this.tileColumn = tile.getTileColumn();
+        this.numberOfRows = tile.getNumberOfRows();
+        this.numberOfColumns = tile.getNumberOfColumns();
+        this.costs = tile.getCosts();
+        this.parents = tile.getParents();
+        this.hops = tile.getHops();
+    }
+
+    @Override
+    public TileMessage call() throws InterruptedException {
+        for (int phase = 0; phase < gridSize; ++phase) {
+            int pivots = getTileLength(phase);
+
+            if (tileRow == phase && tileColumn == phase) {
+                relax(costs, hops, costs, hops, parents, pivots);
+                TileMessage message = createMessage(phase);
+
+                for (int t = 0; t < gridSize; ++t) {
+                    if (t != phase) {
+                        transport.send(getWorker(phase, t), message);
+                        transport.send(getWorker(t, phase), message);
+                    }
+                }
+            } else if (tileRow == phase) {
+                TileMessage diagonal = await(phase, phase, phase);
+                relax(diagonal.getCosts(), 
+                      diagonal.getHops(), 
+                      costs, 
+                      hops, 
+                      parents, 
+                      pivots);
+                TileMessage message = createMessage(phase);
+
+                for (int t = 0; t < gridSize; ++t) {
+                    if (t != phase) {
+                        transport.send(getWorker(t, tileColumn), message);
+                    }
+                }
+            } else if (tileColumn == phase) {
+                TileMessage diagonal = await(phase, phase, phase);
+                relax(costs, 
+                      hops, 
+                      diagonal.getCosts(), 
+                      diagonal.getHops(), 
+                      diagonal.getParents(), 
+                      pivots);
+                TileMessage message = createMessage(phase);
+
+                for (int t = 0; t < gridSize; ++t) {
+                    if (t != phase) {
+                        transport.send(getWorker(tileRow, t), message);
+                    }
+                }
+            } else {
+                TileMessage columnTile = await(phase, tileRow, phase);
+                TileMessage rowTile = await(phase, phase, tileColumn);
+                relax(columnTile.getCosts(), 
+                      columnTile.getHops(), 
+                      rowTile.getCosts(), 
+                      rowTile.getHops(), 
+                      rowTile.getParents(), 
+                      pivots);
+            }
+        }
+
+        return new TileMessage(gridSize, 
+                               tileRow, 
+                               tileColumn, 
+                               numberOfRows, 
+                               numberOfColumns, 
+                               costs, 
+                               parents,
+                               hops);
+    }
+
+    // Relaxes this tile through the pivots of the current phase: 'a' and 'ah'
+    // hold the costs and the hops from the rows of this tile to the pivots, 
+    // 'b', 'bh' and 'bp' the costs, the hops and the parents from the pivots 
+    // to the columns of this tile. Either may be this very tile, which is fine
+    // with the pivots in the outermost loop.
+    //
+    // The tiles reach a pivot tile in different phases, so on ties a plain 
+    // cost comparison may copy the parents of different shortest paths into 
+    // the same row, and around zero-weight cycles those may form a cycle. 
+    // Comparing (cost, hops) pairs instead makes every final parent arc 
+    // strictly shorter in hops than the path it ends, so no cycle can form.
+    private void relax(double[] a, 
+                       int[] ah, 
+                       double[] b, 
+                       int[] bh, 
+                       int[] bp, 
+                       int pivots) {
+        for (int k = 0; k < pivots; ++k) {
+            int ok = k * numberOfColumns;
+
+            for (int i = 0; i < numberOfRows; ++i) {
+                double aik = a[i * pivots + k];
+
+                if (aik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                int aikHops = ah[i * pivots + k];
+                int oi = i * numberOfColumns;
+
+                for (int j = 0; j < numberOfColumns; ++j) {
+                    double tentativeCost = aik + b[ok + j];
+                    int tentativeHops = aikHops + bh[ok + j];
+
+                    if (costs[oi + j] > tentativeCost 
+                            || (costs[oi + j] == tentativeCost 
+                                && hops[oi + j] > tentativeHops
+                                && tentativeCost 
+                                   != Double.POSITIVE_INFINITY)) {
+                        costs[oi + j] = tentativeCost;
+                        parents[oi + j] = bp[ok + j];
+                        hops[oi + j] = tentativeHops;
+                    }
+                }
+            }
+        }
+    }
+
+    // Returns a snapshot of this tile, since the tile changes in the later 
+    // phases while the receivers may still be reading it.
+    private TileMessage createMessage(int phase) {
+        return new TileMessage(phase, 
+                               tileRow, 
+                               tileColumn, 
+                               numberOfRows, 
+                               numberOfColumns, 
+                               costs.clone(), 
+                               parents.clone(),
+                               hops.clone());
+    }
+
+    private TileMessage await(int phase, int row, int column) 
+            throws InterruptedException {
+        TileMessage message = pendingMessages.remove(getKey(phase, 
+                                                            row, 
+                                                            column));
+
+        while (message == null) {
+            TileMessage received = 
+                    transport.receive(getWorker(tileRow, tileColumn));
+
+            if (received.getPhase() == phase 
+                    && received.getTileRow() == row
+                    && received.getTileColumn() == column) {
+                message = received;
+            } else {
+                pendingMessages.put(getKey(received.getPhase(),
+                                           received.getTileRow(),
+                                           received.getTileColumn()), 
+                                    received);
+            }
+        }
+
+        return message;
+    }
+
+    private long getKey(int phase, int row, int column) {
+        return ((long) phase * gridSize + row) * gridSize + column;
+    }
+
+    private int getWorker(int row, int column) {
+        return row * gridSize + column;
+    }
+
+    private int getTileLength(int tile) {
+        return Math.max(0, Math.min(tileSize, 
+                                    numberOfNodes - tile * tileSize));
+    }
+}
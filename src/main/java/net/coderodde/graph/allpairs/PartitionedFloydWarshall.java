@@ -0,0 +1,235 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntPredicate;
+import static net.coderodde.graph.allpairs.Utils.checkGridSize;
+
+/**
+ * This class implements a partitioned variant of the blocked Floyd-Warshall
+ * algorithm. The cost and parent matrices are split into a 
+ * {@code gridSize x gridSize} grid of tiles, each owned by its own worker. 
+ * The workers keep only their own tiles and exchange the pivot tiles through
+ * a {@link TileTransport}, so with a transport between processes the matrices
+ * need not fit in the memory of any one of them. Here, the workers run in 
+ * threads of this JVM; by default they talk through a 
+ * {@link LoopbackTileTransport}. To spread the workers over processes, each 
+ * process runs its share of them through 
+ * {@link #computeSharded(AdjacencyMatrix, TileTransport, IntPredicate)} or
+ * runs single {@link PartitionWorker}s on the tiles given by 
+ * {@link #getInitialTile(AdjacencyMatrix, int, int)}.
+ * <p>
+ * The shortest path costs and the negative weight cycle flag are the same as 
+ * the ones computed by {@link FloydWarshall}. If there are several shortest 
+ * paths between two nodes, the parent matrix may describe a different one.
+ * Since the tiles are relaxed out of the plain pivot order, the workers 
+ * prefer the paths with fewer arcs among the equally costly ones; otherwise
+ * the parents picked on ties, such as around zero-weight cycles, need not 
+ * join into shortest path trees.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class PartitionedFloydWarshall {
+
+    private final int gridSize;
+
+    /**
+     * Constructs this engine splitting the matrices into 
+     * {@code gridSize x gridSize} tiles, which are relaxed by as many 
+     * workers.
+     * 
+     * @param gridSize the number of tile rows and tile columns.
+     */
+    public PartitionedFloydWarshall(int gridSize) {
+        checkGridSize(gridSize);
+        this.gridSize = gridSize;
+    }
+
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    public int getNumberOfWorkers() {
+        return gridSize * gridSize;
+    }
+
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+        return computeSharded(adjacencyMatrix).toShortestPathData();
+    }
+
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix,
+                                    TileTransport transport) {
+        return computeSharded(adjacencyMatrix, transport).toShortestPathData();
+    }
+
+    public ShardedShortestPathData 
+        computeSharded(AdjacencyMatrix adjacencyMatrix) {
+        return computeSharded(adjacencyMatrix, 
+                              new LoopbackTileTransport(getNumberOfWorkers()));
+    }
+
+    /**
+     * Computes the shortest paths with the workers exchanging the tiles 
+     * through {@code transport}, and leaves the results in the tiles.
+     * 
+     * @param adjacencyMatrix the graph.
+     * @param transport       the transport between the workers.
+     * @return the sharded shortest path data.
+     */
+    public ShardedShortestPathData 
+        computeSharded(AdjacencyMatrix adjacencyMatrix,
+                       TileTransport transport) {
+        return computeSharded(adjacencyMatrix, transport, worker -> true);
+    }
+
+    /**
+     * Runs only the workers accepted by {@code isLocalWorker}, leaving the 
+     * rest to other processes reached through {@code transport}. The 
+     * returned data holds the final tiles of the local workers only.
+     * 
+     * @param adjacencyMatrix the graph.
+     * @param transport       the transport between the workers.
+     * @param isLocalWorker   tells whether a worker, numbered as in 
+     *                        {@link TileTransport}, runs in this process.
+     * @return the sharded shortest path data of the local workers.
+     */
+    public ShardedShortestPathData 
+        computeSharded(AdjacencyMatrix adjacencyMatrix,
+                       TileTransport transport,
+                       IntPredicate isLocalWorker) {
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+        Objects.requireNonNull(transport, "The transport is null.");
+        Objects.requireNonNull(isLocalWorker, "The worker filter is null.");
+        int n = adjacencyMatrix.getNumberOfNodes();
+        List<PartitionWorker> workers = new ArrayList<>();
+
+        for (int tileRow = 0; tileRow < gridSize; ++tileRow) {
+            for (int tileColumn = 0; tileColumn < gridSize; ++tileColumn) {
+                if (isLocalWorker.test(tileRow * gridSize + tileColumn)) {
+                    workers.add(new PartitionWorker(
+                            getInitialTile(adjacencyMatrix, 
+                                           tileRow, 
+                                           tileColumn),
+                            transport,
+                            n,
+                            gridSize));
+                }
+            }
+        }
+
+        return new ShardedShortestPathData(n, 
+                                           gridSize, 
+                                           getTileSize(n, gridSize), 
+                                           runWorkers(workers));
+    }
+
+    /**
+     * Copies the arcs within the tile in the tile row {@code tileRow} and the
+     * tile column {@code tileColumn} into the initial tile of its worker.
+     * 
+     * @param adjacencyMatrix the graph.
+     * @param tileRow         the row of the tile in the tile grid.
+     * @param tileColumn      the column of the tile in the tile grid.
+     * @return the initial tile.
+     */
+    public TileMessage getInitialTile(AdjacencyMatrix adjacencyMatrix,
+                                      int tileRow,
+                                      int tileColumn) {
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+        checkTile(tileRow);
+        checkTile(tileColumn);
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        int n = a.getNumberOfNodes();
+        int tileSize = getTileSize(n, gridSize);
+        int i0 = Math.min(n, tileRow * tileSize);
+        int j0 = Math.min(n, tileColumn * tileSize);
+        int rows = Math.min(n, i0 + tileSize) - i0;
+        int columns = Math.min(n, j0 + tileSize) - j0;
+        double[] costs = new double[rows * columns];
+        int[] parents = new int[rows * columns];
+        int[] hops = new int[rows * columns];
+
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                double cost = a.get(i0 + i, j0 + j);
+                costs[i * columns + j] = cost;
+                parents[i * columns + j] = 
+                        i0 + i != j0 + j && !Double.isInfinite(cost) ?
+                        i0 + i :
+                        ParentMatrix.NIL;
+                hops[i * columns + j] = i0 + i != j0 + j ? 1 : 0;
+            }
+        }
+
+        return new TileMessage(0, 
+                               tileRow, 
+                               tileColumn, 
+                               rows, 
+                               columns, 
+                               costs, 
+                               parents,
+                               hops);
+    }
+
+    static int getTileSize(int numberOfNodes, int gridSize) {
+        return Math.max(1, (numberOfNodes + gridSize - 1) / gridSize);
+    }
+
+    private void checkTile(int tile) {
+        if (tile < 0 || tile >= gridSize) {
+            throw new IllegalArgumentException(
+                    "The tile index is out of range: " + tile + ", the " +
+                    "grid size is " + gridSize + ".");
+        }
+    }
+
+    // The workers wait for each other, so each needs a thread of its own. If
+    // one fails, the others are interrupted instead of waiting forever.
+    private TileMessage[] runWorkers(List<PartitionWorker> workers) {
+        TileMessage[] tiles = new TileMessage[gridSize * gridSize];
+
+        if (workers.isEmpty()) {
+            return tiles;
+        }
+
+        ExecutorService executor = 
+                Executors.newFixedThreadPool(workers.size());
+        CompletionService<TileMessage> completionService = 
+                new ExecutorCompletionService<>(executor);
+
+        try {
+            for (PartitionWorker worker : workers) {
+                completionService.submit(worker);
+            }
+
+            for (int i = 0; i < workers.size(); ++i) {
+                Future<TileMessage> future = completionService.take();
+                TileMessage tile = future.get();
+                tiles[tile.getTileRow() * gridSize + tile.getTileColumn()] = 
+                        tile;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while computing the shortest paths.", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(
+                    "A worker failed while computing the shortest paths.", 
+                    ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return tiles;
+    }
+}
@@ -0,0 +1,264 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a bounded cache of shortest paths with the least 
+ * recently used eviction. The keys are the (source, target) pairs packed into
+ * {@code long} values, and all the bookkeeping is done in primitive arrays 
+ * allocated up front, so no memory is allocated per lookup.
+ * <p>
+ * A large cache is striped: the keys are spread by their hashes over up to 
+ * {@link #MAX_NUMBER_OF_SEGMENTS} segments, each with its own lock and its own
+ * share of the capacity, so the threads looking up different paths rarely 
+ * wait for each other. The eviction order is then the least recently used 
+ * one within each segment.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class PathCache {
+
+    /**
+     * The maximum number of independently locked segments.
+     */
+    static final int MAX_NUMBER_OF_SEGMENTS = 16;
+
+    // Caches smaller than this many entries per segment are not striped, so
+    // the small caches keep the exact eviction order.
+    static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private static final int NIL = -1;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int capacity;
+
+    PathCache(int capacity) {
+        this(capacity, 
+             Math.min(MAX_NUMBER_OF_SEGMENTS, 
+                      Integer.highestOneBit(
+                              Math.max(1, 
+                                       capacity / MIN_SEGMENT_CAPACITY))));
+    }
+
+    PathCache(int capacity, int numberOfSegments) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "The cache capacity is non-positive: " + capacity);
+        }
+
+        if (numberOfSegments < 1 
+                || Integer.bitCount(numberOfSegments) != 1
+                || numberOfSegments > capacity) {
+            throw new IllegalArgumentException(
+                    "The number of segments is not a power of two between 1 " +
+                    "and the capacity " + capacity + ": " + 
+                    numberOfSegments);
+        }
+
+        this.segments = new Segment[numberOfSegments];
+        this.segmentMask = numberOfSegments - 1;
+        this.capacity = capacity;
+
+        for (int i = 0; i < numberOfSegments; ++i) {
+            segments[i] = new Segment(
+                    capacity / numberOfSegments + 
+                    (i < capacity % numberOfSegments ? 1 : 0));
+        }
+    }
+
+    static long getKey(int sourceNodeIndex, int targetNodeIndex) {
+        return ((long) sourceNodeIndex << 32) | 
+               (targetNodeIndex & 0xFFFFFFFFL);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int getNumberOfSegments() {
+        return segments.length;
+    }
+
+    int size() {
+        int size = 0;
+
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns the path stored under {@code key} and marks it as the most 
+     * recently used, or returns {@code null} if there is no such path.
+     */
+    int[] get(long key) {
+        return getSegment(key).get(key);
+    }
+
+    /**
+     * Stores {@code path} under {@code key}, evicting the least recently used 
+     * path of its segment if the segment is full. Returns {@code true} if a 
+     * path was evicted.
+     */
+    boolean put(long key, int[] path) {
+        return getSegment(key).put(key, path);
+    }
+
+    // The segments take other bits of the hash than the buckets within a 
+    // segment, which would otherwise be left partly unused.
+    private Segment getSegment(long key) {
+        return segments[(int)((key * 0xC2B2AE3D27D4EB4FL) >>> 32) 
+                        & segmentMask];
+    }
+
+    // A least recently used cache guarded by its own monitor.
+    private static final class Segment {
+
+        private final long[] keys;
+        private final int[][] paths;
+
+        // The entries in the order of use, the most recent first.
+        private final int[] previousEntry;
+        private final int[] nextEntry;
+
+        // The hash table: each bucket chains the entries with the same hash.
+        private final int[] buckets;
+        private final int[] nextInBucket;
+        private final int hashShift;
+
+        private int size;
+        private int head = NIL;
+        private int tail = NIL;
+
+        Segment(int capacity) {
+            int numberOfBuckets = 
+                    Integer.highestOneBit(Math.min(capacity, 1 << 29)) << 1;
+            this.keys = new long[capacity];
+            this.paths = new int[capacity][];
+            this.previousEntry = new int[capacity];
+            this.nextEntry = new int[capacity];
+            this.nextInBucket = new int[capacity];
+            this.buckets = new int[numberOfBuckets];
+            this.hashShift = 
+                    64 - Integer.numberOfTrailingZeros(numberOfBuckets);
+            Arrays.fill(buckets, NIL);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized int[] get(long key) {
+            int entry = find(key);
+
+            if (entry == NIL) {
+                return null;
+            }
+
+            moveToFront(entry);
+            return paths[entry];
+        }
+
+        synchronized boolean put(long key, int[] path) {
+            int entry = find(key);
+
+            if (entry != NIL) {
+                paths[entry] = path;
+                moveToFront(entry);
+                return false;
+            }
+
+            boolean evicted = size == keys.length;
+
+            if (evicted) {
+                entry = tail;
+                unlinkFromBucket(entry);
+                unlinkFromList(entry);
+            } else {
+                entry = size++;
+            }
+
+            int bucket = getBucket(key);
+            keys[entry] = key;
+            paths[entry] = path;
+            nextInBucket[entry] = buckets[bucket];
+            buckets[bucket] = entry;
+            linkToFront(entry);
+            return evicted;
+        }
+
+        private int find(long key) {
+            for (int entry = buckets[getBucket(key)]; 
+                    entry != NIL; 
+                    entry = nextInBucket[entry]) {
+                if (keys[entry] == key) {
+                    return entry;
+                }
+            }
+
+            return NIL;
+        }
+
+        private int getBucket(long key) {
+            return (int)((key * 0x9E3779B97F4A7C15L) >>> hashShift);
+        }
+
+        private void unlinkFromBucket(int entry) {
+            int bucket = getBucket(keys[entry]);
+
+            if (buckets[bucket] == entry) {
+                buckets[bucket] = nextInBucket[entry];
+                return;
+            }
+
+            int current = buckets[bucket];
+
+            while (nextInBucket[current] != entry) {
+                current = nextInBucket[current];
+            }
+
+            nextInBucket[current] = nextInBucket[entry];
+        }
+
+        private void moveToFront(int entry) {
+            if (entry != head) {
+                unlinkFromList(entry);
+                linkToFront(entry);
+            }
+        }
+
+        private void unlinkFromList(int entry) {
+            int previous = previousEntry[entry];
+            int next = nextEntry[entry];
+
+            if (previous == NIL) {
+                head = next;
+            } else {
+                nextEntry[previous] = next;
+            }
+
+            if (next == NIL) {
+                tail = previous;
+            } else {
+                previousEntry[next] = previous;
+            }
+        }
+
+        private void linkToFront(int entry) {
+            previousEntry[entry] = NIL;
+            nextEntry[entry] = head;
+
+            if (head == NIL) {
+                tail = entry;
+            } else {
+                previousEntry[head] = entry;
+            }
+
+            head = entry;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package net.coderodde.graph.allpairs;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This JFR event records a phase of {@link FloydWarshall}. It costs next to 
+ * nothing unless a flight recording enables it.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+@Name(PhaseEvent.NAME)
+@Label("Floyd-Warshall Phase")
+@Category("Floyd-Warshall")
+@Description("A relaxation phase through a single pivot node.")
+final class PhaseEvent extends Event {
+
+    static final String NAME = "net.coderodde.graph.allpairs.Phase";
+
+    @Label("Phase")
+    int phase;
+
+    @Label("Number of Phases")
+    int numberOfPhases;
+
+    @Label("Relaxations")
+    long relaxations;
+
+    @Label("Improvements")
+    long improvements;
+}
@@ -0,0 +1,31 @@
+package net.coderodde.graph.allpairs;
+
+/**
+ * This interface defines the API for observing the progress of 
+ * {@link FloydWarshall}. The engine runs one phase per pivot node and calls
+ * the listener in its own thread after each completed phase, so the listener
+ * should return quickly.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+@FunctionalInterface
+public interface PhaseListener {
+
+    /**
+     * Receives the metrics of a completed phase.
+     * 
+     * @param phase          the index of the phase, which is also the index 
+     *                       of its pivot node.
+     * @param numberOfPhases the total number of phases.
+     * @param elapsedNanos   the duration of the phase in nanoseconds.
+     * @param relaxations    the number of relaxations attempted.
+     * @param improvements   the number of relaxations that improved a 
+     *                       shortest path.
+     */
+    void phaseCompleted(int phase, 
+                        int numberOfPhases, 
+                        long elapsedNanos, 
+                        long relaxations, 
+                        long improvements);
+}
@@ -0,0 +1,63 @@
+package net.coderodde.graph.allpairs;
+
+/**
+ * This class brackets the phases of an engine: it polls the cancellation 
+ * token, times the phases and reports them to the listener and to JFR.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class PhaseRecorder {
+
+    private static final PhaseListener NO_LISTENER = 
+            (phase, numberOfPhases, elapsedNanos, relaxations, improvements) 
+                    -> {};
+
+    private final PhaseListener listener;
+    private final CancellationToken cancellationToken;
+    private final int numberOfPhases;
+    private PhaseEvent event;
+    private long phaseStart;
+
+    PhaseRecorder(PhaseListener listener, 
+                  CancellationToken cancellationToken,
+                  int numberOfPhases) {
+        this.listener = listener;
+        this.cancellationToken = cancellationToken;
+        this.numberOfPhases = numberOfPhases;
+    }
+
+    // Records nothing and is never cancelled.
+    static PhaseRecorder none(int numberOfPhases) {
+        return new PhaseRecorder(NO_LISTENER, 
+                                 new CancellationToken(), 
+                                 numberOfPhases);
+    }
+
+    void beginPhase() {
+        cancellationToken.throwIfCancelled();
+        event = new PhaseEvent();
+        event.begin();
+        phaseStart = System.nanoTime();
+    }
+
+    void endPhase(int phase, long relaxations, long improvements) {
+        long elapsedNanos = System.nanoTime() - phaseStart;
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.phase = phase;
+            event.numberOfPhases = numberOfPhases;
+            event.relaxations = relaxations;
+            event.improvements = improvements;
+            event.commit();
+        }
+
+        event = null;
+        listener.phaseCompleted(phase, 
+                                numberOfPhases, 
+                                elapsedNanos, 
+                                relaxations, 
+                                improvements);
+    }
+}
@@ -0,0 +1,99 @@
+package net.coderodde.graph.allpairs;
+
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
+
+/**
+ * This class holds the transitive closure of a graph as one bit per node 
+ * pair: bit {@code j} of row {@code i} is set if and only if node {@code j} 
+ * is reachable from node {@code i}. Every node is reachable from itself.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class ReachabilityMatrix {
+
+    /**
+     * The largest number of nodes whose bit rows fit in a single array.
+     */
+    public static final int MAX_NUMBER_OF_NODES = 370_703;
+
+    private final int numberOfNodes;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    ReachabilityMatrix(int numberOfNodes) {
+        checkNumberOfNodes(numberOfNodes);
+
+        if (numberOfNodes > MAX_NUMBER_OF_NODES) {
+            throw new IllegalArgumentException(
+                    "Too many nodes for a reachability matrix: " + 
+                    numberOfNodes);
+        }
+
+        this.numberOfNodes = numberOfNodes;
+        this.wordsPerRow = getWordsPerRow(numberOfNodes);
+        this.words = new long[numberOfNodes * wordsPerRow];
+    }
+
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    /**
+     * Returns {@code true} if {@code headNodeIndex} is reachable from 
+     * {@code tailNodeIndex}.
+     * 
+     * @param tailNodeIndex the source node.
+     * @param headNodeIndex the target node.
+     * @return {@code true} if there is a path from the source to the target.
+     */
+    public boolean isReachable(int tailNodeIndex, int headNodeIndex) {
+        checkNodeIndex(tailNodeIndex, numberOfNodes);
+        checkNodeIndex(headNodeIndex, numberOfNodes);
+        return get(tailNodeIndex, headNodeIndex);
+    }
+
+    /**
+     * Returns the number of nodes reachable from {@code nodeIndex}, the node 
+     * itself included.
+     * 
+     * @param nodeIndex the source node.
+     * @return the number of reachable nodes.
+     */
+    public int getNumberOfReachableNodes(int nodeIndex) {
+        checkNodeIndex(nodeIndex, numberOfNodes);
+        int count = 0;
+
+        for (int w = 0, o = getRowOffset(nodeIndex); w < wordsPerRow; ++w) {
+            count += Long.bitCount(words[o + w]);
+        }
+
+        return count;
+    }
+
+    boolean get(int i, int j) {
+        return (words[getRowOffset(i) + (j >>> 6)] & (1L << j)) != 0L;
+    }
+
+    void set(int i, int j) {
+        words[getRowOffset(i) + (j >>> 6)] |= 1L << j;
+    }
+
+    int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    int getRowOffset(int i) {
+        return i * wordsPerRow;
+    }
+
+    // Gives the engine direct access to the bit rows.
+    long[] getWords() {
+        return words;
+    }
+
+    static int getWordsPerRow(int numberOfNodes) {
+        return (numberOfNodes + Long.SIZE - 1) >>> 6;
+    }
+}
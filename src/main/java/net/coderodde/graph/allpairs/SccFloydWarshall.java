@@ -0,0 +1,327 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import static net.coderodde.graph.allpairs.Utils.checkParallelism;
+import static net.coderodde.graph.allpairs.Utils.getDefaultParallelism;
+import static net.coderodde.graph.allpairs.Utils.runAll;
+
+/**
+ * This class implements an all-pairs shortest path engine for graphs made of
+ * many small strongly connected components joined by one-way arcs. The 
+ * components are found with Tarjan's algorithm, and the Floyd-Warshall 
+ * algorithm is run inside each of them, concurrently in the given executor.
+ * The rows are then extended to the other components over the condensation
+ * DAG, from the sinks towards the sources: a shortest path from {@code u} to
+ * a node {@code t} of another component leaves the component of {@code u} 
+ * via some arc {@code (x, y)}, and the rest of it is the already computed 
+ * shortest path from {@code y} to {@code t}. The components at the same 
+ * height in the DAG are joined concurrently.
+ * <p>
+ * The work is {@code O(sum |C|^3)} for the components plus 
+ * {@code O(|C| n)} per arc leaving a component {@code C}, instead of 
+ * {@code O(n^3)}. The node pairs in components not reachable from each other
+ * are never touched and stay at infinity.
+ * <p>
+ * Since every cycle lies within a component, the negative weight cycle flag
+ * is the same as the one computed by {@link FloydWarshall}, and so are the 
+ * costs if it is not set. If there are several shortest paths between two 
+ * nodes, the parent matrix may describe a different one.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class SccFloydWarshall {
+
+    private final ExecutorService executor;
+
+    /**
+     * Constructs this engine running on the common fork/join pool.
+     */
+    public SccFloydWarshall() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SccFloydWarshall(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, 
+                                               "The executor is null.");
+    }
+
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+        return compute(adjacencyMatrix, getDefaultParallelism(executor));
+    }
+
+    /**
+     * Computes the all-pairs shortest paths splitting the components of each 
+     * step into {@code parallelism} chunks. With {@code parallelism} 1 the 
+     * computation runs in the calling thread.
+     * 
+     * @param adjacencyMatrix the input graph.
+     * @param parallelism     the number of component chunks processed 
+     *                        concurrently.
+     * @return the shortest path data.
+     */
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix,
+                                    int parallelism) {
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+        checkParallelism(parallelism);
+        SparseGraph graph = SparseGraph.fromAdjacencyMatrix(adjacencyMatrix);
+        StronglyConnectedComponents components = 
+                new StronglyConnectedComponents(graph);
+        int n = graph.getNumberOfNodes();
+
+        if (components.getNumberOfComponents() == 1) {
+            // Nothing to decompose; the plain engine avoids the indirection.
+            return new FloydWarshall().compute(adjacencyMatrix);
+        }
+
+        ShortestPathCostMatrix costMatrix = new ShortestPathCostMatrix(n);
+        ParentMatrix parentMatrix = new ParentMatrix(n);
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        IntMatrixStorage p = parentMatrix.getStorage();
+        int numberOfComponents = components.getNumberOfComponents();
+        boolean[] negativeWeightCycles = new boolean[numberOfComponents];
+        int[] allComponents = new int[numberOfComponents];
+
+        for (int c = 0; c < numberOfComponents; ++c) {
+            allComponents[c] = c;
+        }
+
+        run(getChunks(allComponents, parallelism), chunk -> {
+            for (int c : chunk) {
+                negativeWeightCycles[c] = 
+                        relaxComponent(a, d, p, components, c);
+            }
+        });
+
+        // The components are numbered in a reverse topological order, so the
+        // heights of the successors are known by the time they are needed.
+        int[] height = new int[numberOfComponents];
+        List<List<Integer>> levels = new ArrayList<>();
+        int[] nodes = components.getNodeArray();
+        int[] firstArc = graph.getFirstArcArray();
+        int[] heads = graph.getHeadArray();
+
+        for (int c = 0; c < numberOfComponents; ++c) {
+            int first = components.getFirstNode(c);
+            int last = first + components.getComponentSize(c);
+
+            for (int s = first; s < last; ++s) {
+                int x = nodes[s];
+
+                for (int arc = firstArc[x]; arc < firstArc[x + 1]; ++arc) {
+                    int successor = components.getComponent(heads[arc]);
+
+                    if (successor != c) {
+                        height[c] = Math.max(height[c], height[successor] + 1);
+                    }
+                }
+            }
+
+            while (levels.size() <= height[c]) {
+                levels.add(new ArrayList<>());
+            }
+
+            levels.get(height[c]).add(c);
+        }
+
+        // The sinks have no arcs to join over.
+        for (int level = 1; level < levels.size(); ++level) {
+            int[] levelComponents = new int[levels.get(level).size()];
+
+            for (int i = 0; i < levelComponents.length; ++i) {
+                levelComponents[i] = levels.get(level).get(i);
+            }
+
+            run(getChunks(levelComponents, parallelism), chunk -> {
+                for (int c : chunk) {
+                    joinComponent(graph, d, p, components, c);
+                }
+            });
+        }
+
+        boolean containsNegativeWeightCycle = false;
+
+        for (boolean negativeWeightCycle : negativeWeightCycles) {
+            containsNegativeWeightCycle |= negativeWeightCycle;
+        }
+
+        return new ShortestPathData(costMatrix,
+                                    parentMatrix,
+                                    containsNegativeWeightCycle);
+    }
+
+    // Runs the Floyd-Warshall algorithm on the nodes of the component 'c' 
+    // only. Returns true if the component contains a negative weight cycle.
+    private static boolean relaxComponent(DoubleMatrixStorage a,
+                                          DoubleMatrixStorage d,
+                                          IntMatrixStorage p,
+                                          StronglyConnectedComponents comps,
+                                          int c) {
+        int[] nodes = comps.getNodeArray();
+        int first = comps.getFirstNode(c);
+        int last = first + comps.getComponentSize(c);
+
+        for (int s = first; s < last; ++s) {
+            int i = nodes[s];
+            double[] ai = a.getSegment(i);
+            double[] di = d.getSegment(i);
+            int[] pi = p.getSegment(i);
+            int oi = d.getRowOffset(i);
+
+            for (int t = first; t < last; ++t) {
+                int j = nodes[t];
+                di[oi + j] = ai[oi + j];
+
+                if (i != j && ai[oi + j] != Double.POSITIVE_INFINITY) {
+                    pi[oi + j] = i;
+                }
+            }
+        }
+
+        boolean negativeWeightCycle = false;
+
+        for (int r = first; r < last; ++r) {
+            int k = nodes[r];
+            double[] dk = d.getSegment(k);
+            int[] pk = p.getSegment(k);
+            int ok = d.getRowOffset(k);
+
+            for (int s = first; s < last; ++s) {
+                int i = nodes[s];
+                double[] di = d.getSegment(i);
+                int oi = d.getRowOffset(i);
+                double dik = di[oi + k];
+
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                int[] pi = p.getSegment(i);
+
+                for (int t = first; t < last; ++t) {
+                    int j = nodes[t];
+                    double tentativeCost = dik + dk[ok + j];
+
+                    if (di[oi + j] > tentativeCost) {
+                        di[oi + j] = tentativeCost;
+                        pi[oi + j] = pk[ok + j];
+                    }
+                }
+            }
+        }
+
+        for (int s = first; s < last; ++s) {
+            int i = nodes[s];
+
+            if (d.getSegment(i)[d.getRowOffset(i) + i] < 0.0) {
+                negativeWeightCycle = true;
+            }
+        }
+
+        return negativeWeightCycle;
+    }
+
+    // Extends the rows of the component 'c' to the nodes of the components 
+    // reachable from it, whose rows are already complete. For each target the
+    // first leaving arc achieving the minimum cost wins, so the parents of a
+    // row form a single tree: the predecessor of a target always picks the
+    // same leaving arc as the target itself.
+    private static void joinComponent(SparseGraph graph,
+                                      DoubleMatrixStorage d,
+                                      IntMatrixStorage p,
+                                      StronglyConnectedComponents components,
+                                      int c) {
+        int n = graph.getNumberOfNodes();
+        int[] firstArc = graph.getFirstArcArray();
+        int[] heads = graph.getHeadArray();
+        double[] costs = graph.getCostArray();
+        int[] nodes = components.getNodeArray();
+        int first = components.getFirstNode(c);
+        int last = first + components.getComponentSize(c);
+
+        for (int s = first; s < last; ++s) {
+            int u = nodes[s];
+            double[] du = d.getSegment(u);
+            int[] pu = p.getSegment(u);
+            int ou = d.getRowOffset(u);
+
+            for (int r = first; r < last; ++r) {
+                int x = nodes[r];
+                double dux = du[ou + x];
+
+                if (dux == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                for (int arc = firstArc[x]; arc < firstArc[x + 1]; ++arc) {
+                    int y = heads[arc];
+
+                    if (components.getComponent(y) == c) {
+                        continue;
+                    }
+
+                    double base = dux + costs[arc];
+                    double[] dy = d.getSegment(y);
+                    int[] py = p.getSegment(y);
+                    int oy = d.getRowOffset(y);
+
+                    for (int t = 0; t < n; ++t) {
+                        double tentativeCost = base + dy[oy + t];
+
+                        if (du[ou + t] > tentativeCost) {
+                            du[ou + t] = tentativeCost;
+                            pu[ou + t] = t == y ? x : py[oy + t];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Groups the items into at most 'parallelism' chunks of consecutive 
+    // items.
+    private static List<int[]> getChunks(int[] items, int parallelism) {
+        int chunks = Math.min(parallelism, Math.max(items.length, 1));
+        List<int[]> result = new ArrayList<>(chunks);
+
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            result.add(Arrays.copyOfRange(
+                    items,
+                    (int)((long) items.length * chunk / chunks),
+                    (int)((long) items.length * (chunk + 1) / chunks)));
+        }
+
+        return result;
+    }
+
+    private void run(List<int[]> chunks, ChunkTask task) {
+        if (chunks.size() == 1) {
+            task.run(chunks.get(0));
+            return;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(chunks.size());
+
+        for (int[] chunk : chunks) {
+            tasks.add(() -> {
+                task.run(chunk);
+                return null;
+            });
+        }
+
+        runAll(executor, tasks);
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int[] components);
+    }
+}
@@ -0,0 +1,64 @@
+package net.coderodde.graph.allpairs;
+
+import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
+
+/**
+ * This class computes how the rows of a square matrix are split into segments
+ * of limited length. As long as the entire matrix fits in a single segment, 
+ * there is only one segment. Otherwise each segment holds a power of two of 
+ * whole rows, so a row never spans two segments.
+ * <p>
+ * The row {@code r} is stored in the segment {@code r >>> shift} starting from
+ * the index {@code (r & mask) * numberOfNodes}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class SegmentLayout {
+
+    final int numberOfNodes;
+    final int shift;
+    final int mask;
+    final int numberOfSegments;
+
+    SegmentLayout(int numberOfNodes, int maximumSegmentLength) {
+        checkNumberOfNodes(numberOfNodes);
+        this.numberOfNodes = numberOfNodes;
+
+        if ((long) numberOfNodes * numberOfNodes <= maximumSegmentLength) {
+            this.shift = 31;
+            this.mask = Integer.MAX_VALUE;
+            this.numberOfSegments = 1;
+            return;
+        }
+
+        if (numberOfNodes > maximumSegmentLength) {
+            throw new IllegalArgumentException(
+                    "A single row of " + numberOfNodes + " entries does not " +
+                    "fit in a segment of " + maximumSegmentLength + 
+                    " entries.");
+        }
+
+        int s = 0;
+
+        while ((2L << s) * numberOfNodes <= maximumSegmentLength) {
+            ++s;
+        }
+
+        int rowsPerSegment = 1 << s;
+        this.shift = s;
+        this.mask = rowsPerSegment - 1;
+        this.numberOfSegments = 
+                (numberOfNodes + rowsPerSegment - 1) / rowsPerSegment;
+    }
+
+    int getSegmentLength(int segmentIndex) {
+        if (shift == 31) {
+            return numberOfNodes * numberOfNodes;
+        }
+
+        int firstRow = segmentIndex << shift;
+        int rows = Math.min(1 << shift, numberOfNodes - firstRow);
+        return rows * numberOfNodes;
+    }
+}
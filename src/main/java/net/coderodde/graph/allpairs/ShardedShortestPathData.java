@@ -0,0 +1,188 @@
+package net.coderodde.graph.allpairs;
+
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+
+/**
+ * This class holds the shortest path data computed by 
+ * {@link PartitionedFloydWarshall} as left in the tiles of its workers. The 
+ * queries are routed to the tiles holding the requested entries, and 
+ * {@link #toShortestPathData()} merges the tiles into ordinary shortest path 
+ * data. If some workers ran in other processes, their tiles are missing here,
+ * and the queries needing them throw {@link IllegalStateException}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class ShardedShortestPathData {
+
+    private final int numberOfNodes;
+    private final int gridSize;
+    private final int tileSize;
+    private final TileMessage[] tiles;
+
+    ShardedShortestPathData(int numberOfNodes, 
+                            int gridSize, 
+                            int tileSize, 
+                            TileMessage[] tiles) {
+        this.numberOfNodes = numberOfNodes;
+        this.gridSize = gridSize;
+        this.tileSize = tileSize;
+        this.tiles = tiles;
+    }
+
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Returns {@code true} if the final tile in the tile row {@code tileRow} 
+     * and the tile column {@code tileColumn} was computed by a local worker.
+     * 
+     * @param tileRow    the row of the tile in the tile grid.
+     * @param tileColumn the column of the tile in the tile grid.
+     * @return {@code true} if the tile is held here.
+     */
+    public boolean hasTile(int tileRow, int tileColumn) {
+        checkTile(tileRow);
+        checkTile(tileColumn);
+        return tiles[tileRow * gridSize + tileColumn] != null;
+    }
+
+    /**
+     * Returns the final tile in the tile row {@code tileRow} and the tile 
+     * column {@code tileColumn}, or {@code null} if a remote worker holds it.
+     * 
+     * @param tileRow    the row of the tile in the tile grid.
+     * @param tileColumn the column of the tile in the tile grid.
+     * @return the tile.
+     */
+    public TileMessage getTile(int tileRow, int tileColumn) {
+        checkTile(tileRow);
+        checkTile(tileColumn);
+        return tiles[tileRow * gridSize + tileColumn];
+    }
+
+    public double getShortestPathCost(int sourceNodeIndex, 
+                                      int targetNodeIndex) {
+        checkNodeIndex(sourceNodeIndex, numberOfNodes);
+        checkNodeIndex(targetNodeIndex, numberOfNodes);
+        TileMessage tile = getTileOf(sourceNodeIndex, targetNodeIndex);
+        return tile.getCosts()[getIndexInTile(tile, 
+                                              sourceNodeIndex, 
+                                              targetNodeIndex)];
+    }
+
+    /**
+     * Returns the parent node as described in 
+     * {@link ParentMatrix#getParent(int, int)}.
+     * 
+     * @param sourceNodeIndex  the index of the source node of a shortest path.
+     * @param currentNodeIndex the index of the query node.
+     * @return the index of the parent node or {@link ParentMatrix#NIL}.
+     */
+    public int getParent(int sourceNodeIndex, int currentNodeIndex) {
+        checkNodeIndex(sourceNodeIndex, numberOfNodes);
+        checkNodeIndex(currentNodeIndex, numberOfNodes);
+        TileMessage tile = getTileOf(sourceNodeIndex, currentNodeIndex);
+        return tile.getParents()[getIndexInTile(tile, 
+                                                sourceNodeIndex, 
+                                                currentNodeIndex)];
+    }
+
+    /**
+     * Returns {@code true} if the graph contains a negative weight cycle, 
+     * which is the case if and only if some node has a negative shortest path
+     * cost to itself.
+     * 
+     * @return {@code true} if there is a negative weight cycle.
+     * @throws IllegalStateException if a remote worker holds some diagonal 
+     *                               tile.
+     */
+    public boolean containsNegativeWeightCycle() {
+        for (int i = 0; i < numberOfNodes; ++i) {
+            if (getShortestPathCost(i, i) < 0.0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Merges the tiles into shortest path data stored on the heap.
+     * 
+     * @return the merged shortest path data.
+     * @throws IllegalStateException if a remote worker holds some tile.
+     */
+    public ShortestPathData toShortestPathData() {
+        ShortestPathCostMatrix costMatrix = 
+                new ShortestPathCostMatrix(numberOfNodes);
+        ParentMatrix parentMatrix = new ParentMatrix(numberOfNodes);
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        IntMatrixStorage p = parentMatrix.getStorage();
+
+        for (int t = 0; t < tiles.length; ++t) {
+            TileMessage tile = getTile(t);
+            int i0 = tile.getTileRow() * tileSize;
+            int j0 = tile.getTileColumn() * tileSize;
+            int columns = tile.getNumberOfColumns();
+
+            if (columns == 0) {
+                // The tile lies beyond the last node.
+                continue;
+            }
+
+            for (int i = 0; i < tile.getNumberOfRows(); ++i) {
+                // Both heap storages share the same layout.
+                int offset = d.getRowOffset(i0 + i) + j0;
+                System.arraycopy(tile.getCosts(), 
+                                 i * columns, 
+                                 d.getSegment(i0 + i), 
+                                 offset, 
+                                 columns);
+                System.arraycopy(tile.getParents(), 
+                                 i * columns, 
+                                 p.getSegment(i0 + i), 
+                                 offset, 
+                                 columns);
+            }
+        }
+
+        return new ShortestPathData(costMatrix, 
+                                    parentMatrix, 
+                                    containsNegativeWeightCycle());
+    }
+
+    private TileMessage getTileOf(int row, int column) {
+        return getTile((row / tileSize) * gridSize + column / tileSize);
+    }
+
+    private TileMessage getTile(int index) {
+        TileMessage tile = tiles[index];
+
+        if (tile == null) {
+            throw new IllegalStateException(
+                    "The tile (" + index / gridSize + ", " + 
+                    index % gridSize + ") is held by a remote worker.");
+        }
+
+        return tile;
+    }
+
+    private int getIndexInTile(TileMessage tile, int row, int column) {
+        return (row % tileSize) * tile.getNumberOfColumns() + 
+               column % tileSize;
+    }
+
+    private void checkTile(int tile) {
+        if (tile < 0 || tile >= gridSize) {
+            throw new IllegalArgumentException(
+                    "The tile index is out of range: " + tile + ", the " +
+                    "grid size is " + gridSize + ".");
+        }
+    }
+}
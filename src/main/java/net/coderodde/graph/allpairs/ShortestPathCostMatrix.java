@@ -12,39 +12,38 @@ import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
  */
 public final class ShortestPathCostMatrix {
 
-    private final double[][] matrix;
+    private final DoubleMatrixStorage matrix;
 
     ShortestPathCostMatrix(int numberOfNodes) {
         checkNumberOfNodes(numberOfNodes);
-        this.matrix = new double[numberOfNodes][numberOfNodes];
+        this.matrix = new HeapDoubleMatrixStorage(numberOfNodes, 
+                                                  Double.POSITIVE_INFINITY);
+    }
 
-        for (int y = 0; y < numberOfNodes; ++y) {
-            for (int x = 0; x < numberOfNodes; ++x) {
-                matrix[y][x] = Double.POSITIVE_INFINITY;
-            }
-        }
+    ShortestPathCostMatrix(DoubleMatrixStorage matrix) {
+        this.matrix = matrix;
     }
 
     public int getNumberOfNodes() {
-        return matrix.length;
+        return matrix.getNumberOfNodes();
     }
 
     public double getShortestPathCost(int sourceNodeIndex, 
                                       int targetNodeIndex) {
-        checkNodeIndex(sourceNodeIndex, matrix.length);
-        checkNodeIndex(targetNodeIndex, matrix.length);
-        return matrix[sourceNodeIndex][targetNodeIndex];
+        checkNodeIndex(sourceNodeIndex, matrix.getNumberOfNodes());
+        checkNodeIndex(targetNodeIndex, matrix.getNumberOfNodes());
+        return matrix.get(sourceNodeIndex, targetNodeIndex);
     }
 
     @Override
     public String toString() {
-        int n = matrix.length;
+        int n = matrix.getNumberOfNodes();
         int maximumFieldLength = 0;
         StringBuilder sb = new StringBuilder();
 
         for (int y = 0; y < n; ++y) {
             for (int x = 0; x < n; ++x) {
-                sb.append((int) matrix[y][x]);
+                sb.append((int) matrix.get(y, x));
 
                 int currentFieldLength = sb.toString().length();
 
@@ -60,7 +59,7 @@ public final class ShortestPathCostMatrix {
         for (int y = 0; y < n; ++y) {
             for (int x = 0; x < n; ++x) {
                 sb.append(String.format("%+" + maximumFieldLength + ".2f", 
-                                        matrix[y][x]));
+                                        matrix.get(y, x)));
 
                 if (x < n - 1) {
                     sb.append(' ');
@@ -78,6 +77,11 @@ public final class ShortestPathCostMatrix {
     void setShortestPathCost(int sourceNodeIndex,
                              int targetNodeIndex,
                              double cost) {
-        matrix[sourceNodeIndex][targetNodeIndex] = cost;
+        matrix.set(sourceNodeIndex, targetNodeIndex, cost);
+    }
+
+    // Gives the engines direct access to the rows of this matrix.
+    DoubleMatrixStorage getStorage() {
+        return matrix;
     }
 }
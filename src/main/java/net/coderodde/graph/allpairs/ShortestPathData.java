@@ -11,14 +11,27 @@ public final class ShortestPathData {
 
     private final ShortestPathCostMatrix costMatrix;
     private final ParentMatrix parentMatrix;
-    private final boolean containsNegativeWeightCycle;
+    private boolean containsNegativeWeightCycle;
+    private int[] negativeWeightCycle;
+    private NextHopMatrix nextHopMatrix;
     
     ShortestPathData(ShortestPathCostMatrix costMatrix, 
                      ParentMatrix parentMatrix,
                      boolean containsNegativeWeightCycle) {
+        this(costMatrix, 
+             parentMatrix, 
+             containsNegativeWeightCycle, 
+             new int[0]);
+    }
+
+    ShortestPathData(ShortestPathCostMatrix costMatrix, 
+                     ParentMatrix parentMatrix,
+                     boolean containsNegativeWeightCycle,
+                     int[] negativeWeightCycle) {
         this.costMatrix = costMatrix;
         this.parentMatrix = parentMatrix;
         this.containsNegativeWeightCycle = containsNegativeWeightCycle;
+        this.negativeWeightCycle = negativeWeightCycle;
     }
 
     public ShortestPathCostMatrix getCostMatrix() {
@@ -29,7 +42,39 @@ public final class ShortestPathData {
         return parentMatrix;
     }
     
+    /**
+     * Returns the next hop matrix, or {@code null} if it was not requested 
+     * from the engine or has been dropped by an incremental update.
+     * 
+     * @return the next hop matrix or {@code null}.
+     */
+    public NextHopMatrix getNextHopMatrix() {
+        return nextHopMatrix;
+    }
+
     public boolean containsNegativeWeightCycle() {
         return containsNegativeWeightCycle;
     }
+
+    /**
+     * Returns the nodes of a negative weight cycle found during the 
+     * computation, listed in the order of the cycle arcs. The first node is 
+     * not repeated at the end. If no negative weight cycle was found, or the 
+     * engine reports only the presence of one, an empty array is returned.
+     * 
+     * @return the nodes of a negative weight cycle or an empty array.
+     */
+    public int[] getNegativeWeightCycle() {
+        return negativeWeightCycle.clone();
+    }
+
+    void setNextHopMatrix(NextHopMatrix nextHopMatrix) {
+        this.nextHopMatrix = nextHopMatrix;
+    }
+
+    // Used by the incremental updates, which do not track the cycles.
+    void setContainsNegativeWeightCycle(boolean containsNegativeWeightCycle) {
+        this.containsNegativeWeightCycle = containsNegativeWeightCycle;
+        this.negativeWeightCycle = new int[0];
+    }
 }
@@ -0,0 +1,233 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+/**
+ * This class reads and writes {@link ShortestPathData} in a compact binary 
+ * format. All the values are little-endian. A file consists of a 32-byte 
+ * header followed by the raw cost matrix and the raw parent matrix, both in 
+ * row-major order:
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "FWSP"
+ *      4     4  format version
+ *      8     4  number of nodes n
+ *     12     1  cost element type (1 = double)
+ *     13     1  parent element type (1 = int)
+ *     14     1  negative weight cycle flag (0 or 1)
+ *     15     1  reserved (0)
+ *     16     8  CRC-32C of everything after the header
+ *     24     8  reserved (0)
+ *     32        n * n costs, then n * n parents
+ * </pre>
+ * The writer streams the matrices one row at a time, so it never needs a 
+ * second copy of a matrix. The loader memory-maps the matrices directly from
+ * the file, so the loaded data is ready for queries without reading the whole
+ * file first.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class ShortestPathDataIO {
+
+    static final int MAGIC = 0x50535746; // "FWSP" in little-endian.
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final byte COST_TYPE_DOUBLE = 1;
+    static final byte PARENT_TYPE_INT = 1;
+
+    private ShortestPathDataIO() {}
+
+    /**
+     * Writes {@code data} to {@code file}, replacing its contents.
+     * 
+     * @param data the shortest path data to write.
+     * @param file the target file.
+     * @throws IOException if writing fails.
+     */
+    public static void write(ShortestPathData data, Path file) 
+    throws IOException {
+        Objects.requireNonNull(data, "The shortest path data is null.");
+        Objects.requireNonNull(file, "The file is null.");
+        DoubleMatrixStorage costs = data.getCostMatrix().getStorage();
+        IntMatrixStorage parents = data.getParentMatrix().getStorage();
+        int n = costs.getNumberOfNodes();
+        CRC32C checksum = new CRC32C();
+
+        try (FileChannel channel = 
+                FileChannel.open(file, 
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.WRITE,
+                                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Leave room for the header, which is written once the checksum 
+            // is known.
+            channel.position(HEADER_SIZE);
+
+            ByteBuffer buffer = 
+                    ByteBuffer.allocateDirect(Math.max(n, 1) * Double.BYTES)
+                              .order(ByteOrder.LITTLE_ENDIAN);
+            double[] costRow = new double[n];
+            int[] parentRow = new int[n];
+
+            for (int i = 0; i < n; ++i) {
+                costs.readRow(i, costRow);
+                buffer.clear();
+                buffer.asDoubleBuffer().put(costRow);
+                buffer.limit(n * Double.BYTES);
+                writeFully(channel, buffer, checksum);
+            }
+
+            for (int i = 0; i < n; ++i) {
+                parents.readRow(i, parentRow);
+                buffer.clear();
+                buffer.asIntBuffer().put(parentRow);
+                buffer.limit(n * Integer.BYTES);
+                writeFully(channel, buffer, checksum);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putInt(n)
+                  .put(COST_TYPE_DOUBLE)
+                  .put(PARENT_TYPE_INT)
+                  .put((byte)(data.containsNegativeWeightCycle() ? 1 : 0))
+                  .put((byte) 0)
+                  .putLong(checksum.getValue())
+                  .putLong(0L)
+                  .flip();
+            channel.position(0L);
+            writeFully(channel, header, null);
+        }
+    }
+
+    /**
+     * Loads shortest path data from {@code file} without verifying the 
+     * checksum. The matrices are mapped read-only, so the loaded data cannot 
+     * be updated.
+     * 
+     * @param file the file to load.
+     * @return the loaded shortest path data.
+     * @throws IOException if the file cannot be read or is not valid.
+     */
+    public static ShortestPathData load(Path file) throws IOException {
+        return load(file, false);
+    }
+
+    /**
+     * Loads shortest path data from {@code file}. Verifying the checksum 
+     * requires reading the entire file once.
+     * 
+     * @param file           the file to load.
+     * @param verifyChecksum whether to verify the checksum.
+     * @return the loaded shortest path data.
+     * @throws IOException if the file cannot be read or is not valid.
+     */
+    public static ShortestPathData load(Path file, boolean verifyChecksum) 
+    throws IOException {
+        Objects.requireNonNull(file, "The file is null.");
+
+        try (FileChannel channel = 
+                FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("The file is too short: " + file);
+                }
+            }
+
+            header.flip();
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a shortest path data file: " + 
+                                      file);
+            }
+
+            int version = header.getInt();
+
+            if (version != VERSION) {
+                throw new IOException("Unsupported format version " + 
+                                      version + ": " + file);
+            }
+
+            int n = header.getInt();
+            byte costType = header.get();
+            byte parentType = header.get();
+            boolean containsNegativeWeightCycle = header.get() != 0;
+            header.get();
+            long expectedChecksum = header.getLong();
+
+            if (n < 0 
+                    || costType != COST_TYPE_DOUBLE 
+                    || parentType != PARENT_TYPE_INT) {
+                throw new IOException("Corrupted header: " + file);
+            }
+
+            long costBytes = OffHeapDoubleMatrixStorage.getSizeInBytes(n);
+            long parentBytes = OffHeapIntMatrixStorage.getSizeInBytes(n);
+
+            if (channel.size() != HEADER_SIZE + costBytes + parentBytes) {
+                throw new IOException("The file size does not match the " +
+                                      "header: " + file);
+            }
+
+            if (verifyChecksum 
+                    && computeChecksum(channel) != expectedChecksum) {
+                throw new IOException("Checksum mismatch: " + file);
+            }
+
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            DoubleMatrixStorage costs = 
+                    OffHeapDoubleMatrixStorage.map(channel,
+                                                   mode,
+                                                   HEADER_SIZE,
+                                                   n);
+            IntMatrixStorage parents =
+                    OffHeapIntMatrixStorage.map(channel,
+                                                mode,
+                                                HEADER_SIZE + costBytes,
+                                                n);
+
+            return new ShortestPathData(new ShortestPathCostMatrix(costs),
+                                        new ParentMatrix(parents),
+                                        containsNegativeWeightCycle);
+        }
+    }
+
+    private static long computeChecksum(FileChannel channel) 
+    throws IOException {
+        CRC32C checksum = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+        channel.position(HEADER_SIZE);
+
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            checksum.update(buffer);
+            buffer.clear();
+        }
+
+        return checksum.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, 
+                                   ByteBuffer buffer,
+                                   CRC32C checksum) throws IOException {
+        if (checksum != null) {
+            checksum.update(buffer.duplicate());
+        }
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
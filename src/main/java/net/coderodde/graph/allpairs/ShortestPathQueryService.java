@@ -0,0 +1,292 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+
+/**
+ * This class implements a thread-safe facade for querying the shortest paths
+ * while new results are being computed in the background. The facade holds 
+ * the current {@link ShortestPathData} and replaces it atomically with 
+ * {@link #swap(ShortestPathData)}. The readers never wait for a swap and 
+ * never see a partially published result; each query, including each batched
+ * query, is answered from a single snapshot.
+ * <p>
+ * The service may cache the reconstructed paths in a bounded cache with the 
+ * least recently used eviction. The cache belongs to a snapshot, so swapping 
+ * in new data starts with an empty cache. The cache counters are cumulative 
+ * over all the snapshots. The cache is split into independently locked 
+ * segments, so the readers of the cached paths wait for each other only 
+ * briefly, and only when their paths fall into the same segment.
+ * <p>
+ * The published data must not be modified afterwards, for example by 
+ * {@link ShortestPathUpdater}; update a separate copy and swap it in instead.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class ShortestPathQueryService {
+
+    private final AtomicReference<Snapshot> snapshot;
+    private final int pathCacheCapacity;
+    private final LongAdder pathCacheHits = new LongAdder();
+    private final LongAdder pathCacheMisses = new LongAdder();
+    private final LongAdder pathCacheEvictions = new LongAdder();
+
+    /**
+     * Constructs this service answering the queries from {@code data} without
+     * caching the paths.
+     * 
+     * @param data the initial shortest path data.
+     */
+    public ShortestPathQueryService(ShortestPathData data) {
+        this(data, 0);
+    }
+
+    /**
+     * Constructs this service answering the queries from {@code data} and 
+     * caching up to {@code pathCacheCapacity} reconstructed paths.
+     * 
+     * @param data              the initial shortest path data.
+     * @param pathCacheCapacity the maximum number of cached paths, or zero for
+     *                          no caching.
+     */
+    public ShortestPathQueryService(ShortestPathData data, 
+                                    int pathCacheCapacity) {
+        if (pathCacheCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "The path cache capacity is negative: " + 
+                    pathCacheCapacity);
+        }
+
+        this.pathCacheCapacity = pathCacheCapacity;
+        this.snapshot = new AtomicReference<>(createSnapshot(data));
+    }
+
+    /**
+     * Returns the shortest path data currently used for the queries.
+     * 
+     * @return the current snapshot.
+     */
+    public ShortestPathData getSnapshot() {
+        return snapshot.get().data;
+    }
+
+    /**
+     * Replaces atomically the shortest path data used for the queries. The 
+     * queries started before the swap complete on the previous data.
+     * 
+     * @param data the new shortest path data.
+     * @return the previous snapshot.
+     */
+    public ShortestPathData swap(ShortestPathData data) {
+        return snapshot.getAndSet(createSnapshot(data)).data;
+    }
+
+    public int getNumberOfNodes() {
+        return snapshot.get().data.getCostMatrix().getNumberOfNodes();
+    }
+
+    public double getShortestPathCost(int sourceNodeIndex, 
+                                      int targetNodeIndex) {
+        return snapshot.get().data.getCostMatrix()
+                                  .getShortestPathCost(sourceNodeIndex, 
+                                                       targetNodeIndex);
+    }
+
+    /**
+     * Returns a shortest path from the node {@code sourceNodeIndex} to the 
+     * node {@code targetNodeIndex} as described in 
+     * {@link ParentMatrix#getShortestPath(int, int)}.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @return the nodes on a shortest path or an empty array if the target 
+     *         node is not reachable from the source node.
+     */
+    public int[] getShortestPath(int sourceNodeIndex, int targetNodeIndex) {
+        Snapshot s = snapshot.get();
+
+        if (s.pathCache == null) {
+            return s.data.getParentMatrix().getShortestPath(sourceNodeIndex,
+                                                            targetNodeIndex);
+        }
+
+        return getCachedPath(s, sourceNodeIndex, targetNodeIndex).clone();
+    }
+
+    /**
+     * Writes a shortest path from the node {@code sourceNodeIndex} to the 
+     * node {@code targetNodeIndex} into {@code destination} as described in 
+     * {@link ParentMatrix#getShortestPath(int, int, int[], int)}. A cached 
+     * path is copied without allocating memory.
+     * 
+     * @param sourceNodeIndex the index of the source node.
+     * @param targetNodeIndex the index of the target node.
+     * @param destination     the array to write the path into.
+     * @param offset          the index of the first path node in
+     *                        {@code destination}.
+     * @return the number of nodes on the path.
+     */
+    public int getShortestPath(int sourceNodeIndex, 
+                               int targetNodeIndex,
+                               int[] destination,
+                               int offset) {
+        Snapshot s = snapshot.get();
+
+        if (s.pathCache == null) {
+            return s.data.getParentMatrix().getShortestPath(sourceNodeIndex,
+                                                            targetNodeIndex,
+                                                            destination,
+                                                            offset);
+        }
+
+        int[] path = getCachedPath(s, sourceNodeIndex, targetNodeIndex);
+
+        if (offset < 0 || offset > destination.length - path.length) {
+            throw new IllegalArgumentException(
+                    "The path of " + path.length + " nodes does not fit in " +
+                    "an array of length " + destination.length + 
+                    " at offset " + offset + ".");
+        }
+
+        System.arraycopy(path, 0, destination, offset, path.length);
+        return path.length;
+    }
+
+    public long getPathCacheHits() {
+        return pathCacheHits.sum();
+    }
+
+    public long getPathCacheMisses() {
+        return pathCacheMisses.sum();
+    }
+
+    public long getPathCacheEvictions() {
+        return pathCacheEvictions.sum();
+    }
+
+    /**
+     * Looks up the shortest path costs from {@code sourceNodeIndices[i]} to
+     * {@code targetNodeIndices[i]} into {@code costs[i]} for all {@code i}, 
+     * all from the same snapshot.
+     * 
+     * @param sourceNodeIndices the indices of the source nodes.
+     * @param targetNodeIndices the indices of the target nodes.
+     * @param costs             the array receiving the costs.
+     * @return the snapshot the costs were read from.
+     */
+    public ShortestPathData getShortestPathCosts(int[] sourceNodeIndices,
+                                                 int[] targetNodeIndices,
+                                                 double[] costs) {
+        checkBatch(sourceNodeIndices, targetNodeIndices, costs.length);
+        ShortestPathData data = snapshot.get().data;
+        DoubleMatrixStorage d = data.getCostMatrix().getStorage();
+        checkNodeIndices(sourceNodeIndices, targetNodeIndices, 
+                         d.getNumberOfNodes());
+
+        for (int i = 0; i < costs.length; ++i) {
+            costs[i] = d.get(sourceNodeIndices[i], targetNodeIndices[i]);
+        }
+
+        return data;
+    }
+
+    /**
+     * Looks up the numbers of nodes on the shortest paths from 
+     * {@code sourceNodeIndices[i]} to {@code targetNodeIndices[i]} into 
+     * {@code lengths[i]} for all {@code i}, all from the same snapshot. The 
+     * length is zero for the unreachable targets.
+     * 
+     * @param sourceNodeIndices the indices of the source nodes.
+     * @param targetNodeIndices the indices of the target nodes.
+     * @param lengths           the array receiving the path lengths.
+     * @return the snapshot the path lengths were read from.
+     */
+    public ShortestPathData getShortestPathLengths(int[] sourceNodeIndices,
+                                                   int[] targetNodeIndices,
+                                                   int[] lengths) {
+        checkBatch(sourceNodeIndices, targetNodeIndices, lengths.length);
+        ShortestPathData data = snapshot.get().data;
+        ParentMatrix parentMatrix = data.getParentMatrix();
+        checkNodeIndices(sourceNodeIndices, targetNodeIndices, 
+                         parentMatrix.getNumberOfNodes());
+
+        for (int i = 0; i < lengths.length; ++i) {
+            lengths[i] = parentMatrix.getShortestPathLength(
+                    sourceNodeIndices[i], 
+                    targetNodeIndices[i]);
+        }
+
+        return data;
+    }
+
+    // Returns the cached path, which must not be modified.
+    private int[] getCachedPath(Snapshot s, 
+                                int sourceNodeIndex, 
+                                int targetNodeIndex) {
+        ParentMatrix parentMatrix = s.data.getParentMatrix();
+        checkNodeIndex(sourceNodeIndex, parentMatrix.getNumberOfNodes());
+        checkNodeIndex(targetNodeIndex, parentMatrix.getNumberOfNodes());
+
+        long key = PathCache.getKey(sourceNodeIndex, targetNodeIndex);
+        int[] path = s.pathCache.get(key);
+
+        if (path != null) {
+            pathCacheHits.increment();
+            return path;
+        }
+
+        pathCacheMisses.increment();
+        path = parentMatrix.getShortestPath(sourceNodeIndex, targetNodeIndex);
+
+        if (s.pathCache.put(key, path)) {
+            pathCacheEvictions.increment();
+        }
+
+        return path;
+    }
+
+    private Snapshot createSnapshot(ShortestPathData data) {
+        Objects.requireNonNull(data, "The shortest path data is null.");
+        return new Snapshot(data, 
+                            pathCacheCapacity == 0 ? 
+                                    null : 
+                                    new PathCache(pathCacheCapacity));
+    }
+
+    // The data together with the paths cached from it.
+    private static final class Snapshot {
+
+        final ShortestPathData data;
+        final PathCache pathCache;
+
+        Snapshot(ShortestPathData data, PathCache pathCache) {
+            this.data = data;
+            this.pathCache = pathCache;
+        }
+    }
+
+    private static void checkBatch(int[] sourceNodeIndices,
+                                   int[] targetNodeIndices,
+                                   int resultLength) {
+        if (sourceNodeIndices.length != resultLength 
+                || targetNodeIndices.length != resultLength) {
+            throw new IllegalArgumentException(
+                    "The batch arrays have different lengths: " + 
+                    sourceNodeIndices.length + ", " + 
+                    targetNodeIndices.length + " and " + resultLength + 
+                    ".");
+        }
+    }
+
+    private static void checkNodeIndices(int[] sourceNodeIndices,
+                                         int[] targetNodeIndices,
+                                         int numberOfNodes) {
+        for (int i = 0; i < sourceNodeIndices.length; ++i) {
+            checkNodeIndex(sourceNodeIndices[i], numberOfNodes);
+            checkNodeIndex(targetNodeIndices[i], numberOfNodes);
+        }
+    }
+}
@@ -0,0 +1,511 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import static net.coderodde.graph.allpairs.Utils.checkArcCost;
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+
+/**
+ * This class implements incremental updates of already computed shortest path
+ * data. The updates modify the data and the adjacency matrix in place, so the
+ * data must not be read concurrently while it is being updated. The next hop
+ * matrix is not maintained, and is dropped from the updated data.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class ShortestPathUpdater {
+
+    /**
+     * The default fraction of affected source/target pairs above which a batch
+     * update falls back to recomputing everything.
+     */
+    public static final double DEFAULT_FULL_RECOMPUTATION_THRESHOLD = 0.1;
+
+    private static final int UNKNOWN = 0;
+    private static final int AFFECTED = 1;
+    private static final int UNAFFECTED = 2;
+
+    private final double fullRecomputationThreshold;
+
+    public ShortestPathUpdater() {
+        this(DEFAULT_FULL_RECOMPUTATION_THRESHOLD);
+    }
+
+    /**
+     * Constructs an updater.
+     * 
+     * @param fullRecomputationThreshold the fraction of all source/target 
+     *                                   pairs; if a batch update affects more
+     *                                   pairs, everything is recomputed.
+     */
+    public ShortestPathUpdater(double fullRecomputationThreshold) {
+        if (!(fullRecomputationThreshold >= 0.0 
+                && fullRecomputationThreshold <= 1.0)) {
+            throw new IllegalArgumentException(
+                    "The full recomputation threshold is not within [0, 1]: " +
+                    fullRecomputationThreshold);
+        }
+
+        this.fullRecomputationThreshold = fullRecomputationThreshold;
+    }
+
+    /**
+     * Decreases the cost of the arc from {@code tailNodeIndex} to 
+     * {@code headNodeIndex}, or adds the arc if it is not present, and updates
+     * {@code data} to reflect the change. This runs in {@code O(n^2)} time 
+     * instead of the {@code O(n^3)} time of recomputing from scratch.
+     * <p>
+     * If the new arc closes a negative weight cycle, only the negative weight
+     * cycle flag of {@code data} is updated.
+     * 
+     * @param data            the shortest path data computed for
+     *                        {@code adjacencyMatrix}.
+     * @param adjacencyMatrix the graph {@code data} was computed for.
+     * @param tailNodeIndex   the index of the tail node.
+     * @param headNodeIndex   the index of the head node.
+     * @param newCost         the new cost of the arc. Must not be larger than
+     *                        the current cost.
+     */
+    public void decreaseArcCost(ShortestPathData data,
+                                AdjacencyMatrix adjacencyMatrix,
+                                int tailNodeIndex,
+                                int headNodeIndex,
+                                double newCost) {
+        checkData(data, adjacencyMatrix);
+        data.setNextHopMatrix(null);
+        int n = adjacencyMatrix.getNumberOfNodes();
+        checkNodeIndex(tailNodeIndex, n);
+        checkNodeIndex(headNodeIndex, n);
+        checkArcCost(newCost);
+
+        double oldCost = adjacencyMatrix.getArcCost(tailNodeIndex, 
+                                                    headNodeIndex);
+
+        if (newCost > oldCost) {
+            throw new IllegalArgumentException(
+                    "The new arc cost " + newCost + " is larger than the " + 
+                    "current cost " + oldCost + ".");
+        }
+
+        if (tailNodeIndex == headNodeIndex) {
+            // Self-loops are not part of the graph.
+            return;
+        }
+
+        adjacencyMatrix.setArcCost(tailNodeIndex, headNodeIndex, newCost);
+
+        if (data.containsNegativeWeightCycle()) {
+            // The shortest paths are undefined anyway.
+            return;
+        }
+
+        relaxThroughArc(data, tailNodeIndex, headNodeIndex, newCost);
+    }
+
+    /**
+     * Applies a batch of arc cost changes to {@code adjacencyMatrix} and 
+     * updates {@code data} accordingly. If the same arc is changed several 
+     * times, the last change wins.
+     * <p>
+     * The cost increases and arc removals are handled first: the shortest path
+     * trees in the parent matrix tell which source/target pairs use any of the
+     * increased arcs, and only those pairs are recomputed. If the fraction of
+     * such pairs exceeds the full recomputation threshold, or if {@code data} 
+     * contains a negative weight cycle, everything is recomputed with 
+     * {@link FloydWarshall}. The cost decreases are then applied one by one as
+     * in {@link #decreaseArcCost(ShortestPathData, AdjacencyMatrix, int, int, 
+     * double)}.
+     * 
+     * @param data            the shortest path data computed for
+     *                        {@code adjacencyMatrix}.
+     * @param adjacencyMatrix the graph {@code data} was computed for.
+     * @param changes         the arc cost changes.
+     * @return {@code true} if everything was recomputed from scratch.
+     */
+    public boolean applyArcCostChanges(ShortestPathData data,
+                                       AdjacencyMatrix adjacencyMatrix,
+                                       Collection<ArcCostChange> changes) {
+        checkData(data, adjacencyMatrix);
+        data.setNextHopMatrix(null);
+        Objects.requireNonNull(changes, "The change collection is null.");
+        int n = adjacencyMatrix.getNumberOfNodes();
+
+        // Maps each changed arc to its final cost.
+        Map<Long, Double> finalCosts = new LinkedHashMap<>();
+
+        for (ArcCostChange change : changes) {
+            Objects.requireNonNull(change, "The change is null.");
+            checkNodeIndex(change.getTailNodeIndex(), n);
+            checkNodeIndex(change.getHeadNodeIndex(), n);
+
+            if (change.getTailNodeIndex() != change.getHeadNodeIndex()) {
+                finalCosts.put(pack(change.getTailNodeIndex(),
+                                    change.getHeadNodeIndex()),
+                               change.getNewCost());
+            }
+        }
+
+        long[] increasedArcs = new long[finalCosts.size()];
+        long[] decreasedArcs = new long[finalCosts.size()];
+        double[] decreasedCosts = new double[finalCosts.size()];
+        int numberOfIncreasedArcs = 0;
+        int numberOfDecreasedArcs = 0;
+
+        // The decreased arcs keep their old costs until the increases are 
+        // handled: 'relaxThroughArc' relies on the data being exact for the 
+        // graph without the decreased arc.
+        for (Map.Entry<Long, Double> entry : finalCosts.entrySet()) {
+            long arc = entry.getKey();
+            double oldCost = adjacencyMatrix.getArcCost(tail(arc), head(arc));
+
+            if (entry.getValue() < oldCost) {
+                decreasedCosts[numberOfDecreasedArcs] = entry.getValue();
+                decreasedArcs[numberOfDecreasedArcs++] = arc;
+                continue;
+            }
+
+            if (entry.getValue() > oldCost) {
+                increasedArcs[numberOfIncreasedArcs++] = arc;
+            }
+
+            adjacencyMatrix.setArcCost(tail(arc), head(arc), entry.getValue());
+        }
+
+        increasedArcs = Arrays.copyOf(increasedArcs, numberOfIncreasedArcs);
+        Arrays.sort(increasedArcs);
+
+        if (data.containsNegativeWeightCycle()
+                || (numberOfIncreasedArcs > 0 
+                        && !recomputeAffectedPairs(data, 
+                                                   adjacencyMatrix, 
+                                                   increasedArcs))) {
+            setArcCosts(adjacencyMatrix, 
+                        decreasedArcs, 
+                        decreasedCosts, 
+                        numberOfDecreasedArcs);
+            recomputeAll(data, adjacencyMatrix);
+            return true;
+        }
+
+        for (int i = 0; i < numberOfDecreasedArcs; ++i) {
+            long arc = decreasedArcs[i];
+            adjacencyMatrix.setArcCost(tail(arc), head(arc), decreasedCosts[i]);
+
+            if (!data.containsNegativeWeightCycle()) {
+                relaxThroughArc(data, tail(arc), head(arc), decreasedCosts[i]);
+            }
+        }
+
+        return false;
+    }
+
+    private static void setArcCosts(AdjacencyMatrix adjacencyMatrix,
+                                    long[] arcs,
+                                    double[] costs,
+                                    int numberOfArcs) {
+        for (int i = 0; i < numberOfArcs; ++i) {
+            adjacencyMatrix.setArcCost(tail(arcs[i]), head(arcs[i]), costs[i]);
+        }
+    }
+
+    // Recomputes the pairs whose shortest paths use any of the (sorted) 
+    // 'increasedArcs'. Returns false without modifying 'data' if there are 
+    // too many such pairs.
+    private boolean recomputeAffectedPairs(ShortestPathData data,
+                                           AdjacencyMatrix adjacencyMatrix,
+                                           long[] increasedArcs) {
+        DoubleMatrixStorage d = data.getCostMatrix().getStorage();
+        IntMatrixStorage p = data.getParentMatrix().getStorage();
+        int n = d.getNumberOfNodes();
+        int[][] affectedTargets = new int[n][];
+        int[] state = new int[n];
+        int[] chain = new int[n];
+        long numberOfAffectedPairs = 0L;
+        long maximumNumberOfAffectedPairs = 
+                (long) Math.floor(fullRecomputationThreshold * n * n);
+
+        for (int s = 0; s < n; ++s) {
+            int[] ps = p.getSegment(s);
+            int os = p.getRowOffset(s);
+            int[] targets = 
+                    findAffectedTargets(s, ps, os, increasedArcs, state, chain);
+
+            if (targets.length == 0) {
+                continue;
+            }
+
+            numberOfAffectedPairs += targets.length;
+
+            if (numberOfAffectedPairs > maximumNumberOfAffectedPairs) {
+                return false;
+            }
+
+            affectedTargets[s] = targets;
+        }
+
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        boolean[] inQueue = new boolean[n];
+        int[] queue = new int[n];
+
+        for (int s = 0; s < n; ++s) {
+            if (affectedTargets[s] != null) {
+                recomputeRow(a, d, p, s, affectedTargets[s], state, queue, 
+                             inQueue);
+            }
+        }
+
+        return true;
+    }
+
+    // Returns the targets whose shortest paths from 's' use an increased arc.
+    private static int[] findAffectedTargets(int s,
+                                             int[] ps,
+                                             int os,
+                                             long[] increasedArcs,
+                                             int[] state,
+                                             int[] chain) {
+        int n = state.length;
+        int numberOfAffectedTargets = 0;
+        Arrays.fill(state, UNKNOWN);
+        state[s] = UNAFFECTED;
+
+        for (int t = 0; t < n; ++t) {
+            // Walk up the shortest path tree until a node of known state.
+            int chainLength = 0;
+            int x = t;
+
+            while (state[x] == UNKNOWN) {
+                int parent = ps[os + x];
+
+                if (parent == ParentMatrix.NIL) {
+                    // Unreachable nodes stay unreachable.
+                    state[x] = UNAFFECTED;
+                    break;
+                }
+
+                chain[chainLength++] = x;
+
+                if (Arrays.binarySearch(increasedArcs, pack(parent, x)) >= 0) {
+                    state[x] = AFFECTED;
+                    break;
+                }
+
+                x = parent;
+            }
+
+            // Every node below an affected node is affected.
+            int nodeState = state[x];
+
+            for (int i = chainLength - 1; i >= 0; --i) {
+                if (state[chain[i]] == UNKNOWN) {
+                    state[chain[i]] = nodeState;
+                }
+
+                nodeState = state[chain[i]];
+            }
+        }
+
+        for (int t = 0; t < n; ++t) {
+            if (state[t] == AFFECTED) {
+                ++numberOfAffectedTargets;
+            }
+        }
+
+        int[] targets = new int[numberOfAffectedTargets];
+
+        for (int t = 0, i = 0; t < n; ++t) {
+            if (state[t] == AFFECTED) {
+                targets[i++] = t;
+            }
+        }
+
+        return targets;
+    }
+
+    // Recomputes the costs from 's' to the 'targets'. The costs to all the 
+    // other nodes are still exact, so it is enough to run a queue-based 
+    // Bellman-Ford over the targets, seeded from their unaffected 
+    // in-neighbours.
+    private static void recomputeRow(DoubleMatrixStorage a,
+                                     DoubleMatrixStorage d,
+                                     IntMatrixStorage p,
+                                     int s,
+                                     int[] targets,
+                                     int[] state,
+                                     int[] queue,
+                                     boolean[] inQueue) {
+        int n = a.getNumberOfNodes();
+        double[] ds = d.getSegment(s);
+        int[] ps = p.getSegment(s);
+        int os = d.getRowOffset(s);
+        Arrays.fill(state, UNAFFECTED);
+
+        for (int t : targets) {
+            state[t] = AFFECTED;
+            ds[os + t] = Double.POSITIVE_INFINITY;
+            ps[os + t] = ParentMatrix.NIL;
+        }
+
+        int head = 0;
+        int size = 0;
+
+        for (int t : targets) {
+            for (int x = 0; x < n; ++x) {
+                if (state[x] == AFFECTED || x == t) {
+                    continue;
+                }
+
+                double tentativeCost = ds[os + x] + a.get(x, t);
+
+                if (ds[os + t] > tentativeCost) {
+                    ds[os + t] = tentativeCost;
+                    ps[os + t] = x;
+                }
+            }
+
+            if (ds[os + t] != Double.POSITIVE_INFINITY) {
+                queue[(head + size++) % n] = t;
+                inQueue[t] = true;
+            }
+        }
+
+        while (size > 0) {
+            int x = queue[head];
+            head = (head + 1) % n;
+            --size;
+            inQueue[x] = false;
+
+            double[] ax = a.getSegment(x);
+            int ox = a.getRowOffset(x);
+
+            for (int t : targets) {
+                double tentativeCost = ds[os + x] + ax[ox + t];
+
+                if (t != x && ds[os + t] > tentativeCost) {
+                    ds[os + t] = tentativeCost;
+                    ps[os + t] = x;
+
+                    if (!inQueue[t]) {
+                        queue[(head + size++) % n] = t;
+                        inQueue[t] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void recomputeAll(ShortestPathData data,
+                                     AdjacencyMatrix adjacencyMatrix) {
+        ShortestPathData freshData = 
+                new FloydWarshall().compute(adjacencyMatrix);
+        DoubleMatrixStorage sourceCosts = 
+                freshData.getCostMatrix().getStorage();
+        IntMatrixStorage sourceParents = 
+                freshData.getParentMatrix().getStorage();
+        DoubleMatrixStorage targetCosts = data.getCostMatrix().getStorage();
+        IntMatrixStorage targetParents = data.getParentMatrix().getStorage();
+        int n = sourceCosts.getNumberOfNodes();
+
+        for (int i = 0; i < n; ++i) {
+            int oi = sourceCosts.getRowOffset(i);
+            System.arraycopy(sourceCosts.getSegment(i), oi, 
+                             targetCosts.getSegment(i), oi, 
+                             n);
+            System.arraycopy(sourceParents.getSegment(i), oi,
+                             targetParents.getSegment(i), oi,
+                             n);
+        }
+
+        data.setContainsNegativeWeightCycle(
+                freshData.containsNegativeWeightCycle());
+    }
+
+    private static long pack(int tailNodeIndex, int headNodeIndex) {
+        return ((long) tailNodeIndex << 32) | headNodeIndex;
+    }
+
+    private static int tail(long arc) {
+        return (int)(arc >>> 32);
+    }
+
+    private static int head(long arc) {
+        return (int) arc;
+    }
+
+    // Relaxes every pair (i, j) through the arc (u -> v) of cost 'arcCost'.
+    static void relaxThroughArc(ShortestPathData data,
+                                int u,
+                                int v,
+                                double arcCost) {
+        DoubleMatrixStorage d = data.getCostMatrix().getStorage();
+        IntMatrixStorage p = data.getParentMatrix().getStorage();
+        int n = d.getNumberOfNodes();
+
+        if (arcCost + d.get(v, u) < 0.0) {
+            // The arc closes a negative weight cycle.
+            data.setContainsNegativeWeightCycle(true);
+            return;
+        }
+
+        if (arcCost >= d.get(u, v)) {
+            // If the arc does not improve the path from u to v, it cannot 
+            // improve any other path either.
+            return;
+        }
+
+        // Neither the row v nor the column u changes below, since otherwise
+        // the arc would close a negative weight cycle.
+        double[] dv = d.getSegment(v);
+        int[] pv = p.getSegment(v);
+        int ov = d.getRowOffset(v);
+
+        for (int i = 0; i < n; ++i) {
+            double[] di = d.getSegment(i);
+            int oi = d.getRowOffset(i);
+            double diu = di[oi + u];
+
+            if (diu == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+
+            int[] pi = p.getSegment(i);
+            double costViaArc = diu + arcCost;
+
+            for (int j = 0; j < n; ++j) {
+                double tentativeCost = costViaArc + dv[ov + j];
+
+                if (di[oi + j] > tentativeCost) {
+                    di[oi + j] = tentativeCost;
+                    pi[oi + j] = j == v ? u : pv[ov + j];
+                }
+            }
+        }
+    }
+
+    private static void checkData(ShortestPathData data,
+                                  AdjacencyMatrix adjacencyMatrix) {
+        Objects.requireNonNull(data, "The shortest path data is null.");
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+
+        if (data.getCostMatrix().getNumberOfNodes() 
+                != adjacencyMatrix.getNumberOfNodes()) {
+            throw new IllegalArgumentException(
+                    "The shortest path data has " + 
+                    data.getCostMatrix().getNumberOfNodes() + " nodes, " +
+                    "the adjacency matrix has " + 
+                    adjacencyMatrix.getNumberOfNodes() + ".");
+        }
+
+        if (!data.getCostMatrix().getStorage().isArrayBacked()
+                || !data.getParentMatrix().getStorage().isArrayBacked()) {
+            throw new UnsupportedOperationException(
+                    "Only shortest path data stored on the heap may be " +
+                    "updated.");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package net.coderodde.graph.allpairs;
+
+/**
+ * This interface defines the API for receiving the shortest paths streamed by
+ * {@link ParentMatrix#forEachShortestPath(int, ShortestPathVisitor)}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+@FunctionalInterface
+public interface ShortestPathVisitor {
+
+    /**
+     * Receives a shortest path stored in {@code path[0]}, ..., 
+     * {@code path[length - 1]}, from the source node to the target node. The 
+     * array is reused for the other paths, so it must be neither modified nor
+     * retained after this method returns.
+     * 
+     * @param path   the array holding the path nodes.
+     * @param length the number of nodes on the path.
+     */
+    void visit(int[] path, int length);
+}
@@ -0,0 +1,87 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class implements Dijkstra's algorithm on a {@link SparseGraph} with 
+ * arc costs reweighted by node potentials as in Johnson's algorithm. Each 
+ * instance owns its scratch arrays and is meant to be reused for many sources
+ * by a single thread.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class SingleSourceDijkstra {
+
+    private final SparseGraph graph;
+    private final double[] potentials;
+    private final DijkstraHeap heap;
+    private final double[] reducedCosts;
+    private final boolean[] settled;
+
+    /**
+     * Constructs the search. For every arc {@code (u, v)} of cost {@code c},
+     * the potentials must satisfy {@code c + potentials[u] - potentials[v] >= 
+     * 0}, up to rounding errors.
+     * 
+     * @param graph      the graph to search.
+     * @param potentials the node potentials.
+     */
+    SingleSourceDijkstra(SparseGraph graph, double[] potentials) {
+        int n = graph.getNumberOfNodes();
+        this.graph = graph;
+        this.potentials = potentials;
+        this.heap = new DijkstraHeap(n);
+        this.reducedCosts = new double[n];
+        this.settled = new boolean[n];
+    }
+
+    /**
+     * Computes the shortest paths from {@code source}. The cost of the 
+     * shortest path to {@code v} is written to {@code costRow[offset + v]} and
+     * the parent of {@code v} to {@code parentRow[offset + v]}. The rows must
+     * be filled with positive infinity and {@link ParentMatrix#NIL} 
+     * beforehand.
+     */
+    void run(int source, double[] costRow, int[] parentRow, int offset) {
+        int[] firstArc = graph.getFirstArcArray();
+        int[] heads = graph.getHeadArray();
+        double[] costs = graph.getCostArray();
+
+        Arrays.fill(reducedCosts, Double.POSITIVE_INFINITY);
+        Arrays.fill(settled, false);
+        heap.clear();
+
+        reducedCosts[source] = 0.0;
+        costRow[offset + source] = 0.0;
+        heap.insertOrDecreaseKey(source, 0.0);
+
+        while (!heap.isEmpty()) {
+            int u = heap.extractMinimum();
+            settled[u] = true;
+            double reducedCostU = reducedCosts[u];
+            double costU = costRow[offset + u];
+            double potentialU = potentials[u];
+
+            for (int arc = firstArc[u]; arc < firstArc[u + 1]; ++arc) {
+                int v = heads[arc];
+
+                if (settled[v]) {
+                    continue;
+                }
+
+                // Clamp the rounding errors of the reweighting.
+                double reducedArcCost = 
+                        Math.max(0.0, costs[arc] + potentialU - potentials[v]);
+                double tentativeCost = reducedCostU + reducedArcCost;
+
+                if (reducedCosts[v] > tentativeCost) {
+                    reducedCosts[v] = tentativeCost;
+                    costRow[offset + v] = costU + costs[arc];
+                    parentRow[offset + v] = u;
+                    heap.insertOrDecreaseKey(v, tentativeCost);
+                }
+            }
+        }
+    }
+}
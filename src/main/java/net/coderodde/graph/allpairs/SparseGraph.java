@@ -0,0 +1,160 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Objects;
+import static net.coderodde.graph.allpairs.Utils.checkArcCost;
+import static net.coderodde.graph.allpairs.Utils.checkNodeIndex;
+import static net.coderodde.graph.allpairs.Utils.checkNumberOfNodes;
+
+/**
+ * This class implements a directed graph in the compressed sparse row (CSR) 
+ * format. The arcs leaving the node {@code u} occupy the index range 
+ * {@code [firstArc[u], firstArc[u + 1])} of the arrays {@code heads} and 
+ * {@code costs}. The memory consumption is linear in the number of nodes plus
+ * the number of arcs.
+ * <p>
+ * Just like in {@link AdjacencyMatrix}, self-loops are ignored. Parallel arcs
+ * are kept; only the cheapest one of them matters for the shortest paths.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class SparseGraph {
+
+    private final int numberOfNodes;
+    private final int[] firstArc;
+    private final int[] heads;
+    private final double[] costs;
+
+    /**
+     * Constructs a sparse graph from the arc list 
+     * {@code (tails[i], heads[i], costs[i])}.
+     * 
+     * @param numberOfNodes the number of nodes.
+     * @param tails         the tail node indices of the arcs.
+     * @param heads         the head node indices of the arcs.
+     * @param costs         the arc costs.
+     */
+    public SparseGraph(int numberOfNodes, 
+                       int[] tails, 
+                       int[] heads, 
+                       double[] costs) {
+        checkNumberOfNodes(numberOfNodes);
+        Objects.requireNonNull(tails, "The tail array is null.");
+        Objects.requireNonNull(heads, "The head array is null.");
+        Objects.requireNonNull(costs, "The cost array is null.");
+
+        if (tails.length != heads.length || tails.length != costs.length) {
+            throw new IllegalArgumentException(
+                    "The arc arrays have different lengths: " + tails.length +
+                    ", " + heads.length + ", " + costs.length + ".");
+        }
+
+        int numberOfArcs = 0;
+
+        for (int i = 0; i < tails.length; ++i) {
+            checkNodeIndex(tails[i], numberOfNodes);
+            checkNodeIndex(heads[i], numberOfNodes);
+            checkArcCost(costs[i]);
+
+            if (tails[i] != heads[i]) {
+                ++numberOfArcs;
+            }
+        }
+
+        this.numberOfNodes = numberOfNodes;
+        this.firstArc = new int[numberOfNodes + 1];
+        this.heads = new int[numberOfArcs];
+        this.costs = new double[numberOfArcs];
+
+        // Counting sort of the arcs by their tail nodes.
+        for (int i = 0; i < tails.length; ++i) {
+            if (tails[i] != heads[i]) {
+                ++firstArc[tails[i] + 1];
+            }
+        }
+
+        for (int u = 0; u < numberOfNodes; ++u) {
+            firstArc[u + 1] += firstArc[u];
+        }
+
+        int[] nextArc = new int[numberOfNodes];
+        System.arraycopy(firstArc, 0, nextArc, 0, numberOfNodes);
+
+        for (int i = 0; i < tails.length; ++i) {
+            if (tails[i] != heads[i]) {
+                int arc = nextArc[tails[i]]++;
+                this.heads[arc] = heads[i];
+                this.costs[arc] = costs[i];
+            }
+        }
+    }
+
+    /**
+     * Constructs a sparse graph containing all the arcs of finite cost in 
+     * {@code adjacencyMatrix}.
+     * 
+     * @param adjacencyMatrix the dense graph.
+     * @return the sparse graph.
+     */
+    public static SparseGraph fromAdjacencyMatrix(
+            AdjacencyMatrix adjacencyMatrix) {
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        int n = a.getNumberOfNodes();
+        int numberOfArcs = 0;
+
+        for (int i = 0; i < n; ++i) {
+            double[] ai = a.getSegment(i);
+            int oi = a.getRowOffset(i);
+
+            for (int j = 0; j < n; ++j) {
+                if (i != j && ai[oi + j] != Double.POSITIVE_INFINITY) {
+                    ++numberOfArcs;
+                }
+            }
+        }
+
+        int[] tails = new int[numberOfArcs];
+        int[] heads = new int[numberOfArcs];
+        double[] costs = new double[numberOfArcs];
+        int arc = 0;
+
+        for (int i = 0; i < n; ++i) {
+            double[] ai = a.getSegment(i);
+            int oi = a.getRowOffset(i);
+
+            for (int j = 0; j < n; ++j) {
+                if (i != j && ai[oi + j] != Double.POSITIVE_INFINITY) {
+                    tails[arc] = i;
+                    heads[arc] = j;
+                    costs[arc] = ai[oi + j];
+                    ++arc;
+                }
+            }
+        }
+
+        return new SparseGraph(n, tails, heads, costs);
+    }
+
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    public int getNumberOfArcs() {
+        return heads.length;
+    }
+
+    // The engines read the CSR arrays directly.
+    int[] getFirstArcArray() {
+        return firstArc;
+    }
+
+    int[] getHeadArray() {
+        return heads;
+    }
+
+    double[] getCostArray() {
+        return costs;
+    }
+}
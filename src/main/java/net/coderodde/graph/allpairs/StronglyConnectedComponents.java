@@ -0,0 +1,124 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+
+/**
+ * This class computes the strongly connected components of a 
+ * {@link SparseGraph} with an iterative version of Tarjan's algorithm, so 
+ * deep graphs do not overflow the call stack. 
+ * <p>
+ * The components are numbered in the order Tarjan's algorithm completes 
+ * them, which is a reverse topological order of the condensation: every arc
+ * between two different components leads from a higher component index to a
+ * lower one. The nodes of the component {@code c} are 
+ * {@code nodes[firstNode[c]], ..., nodes[firstNode[c + 1] - 1]}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class StronglyConnectedComponents {
+
+    private final int[] componentOf;
+    private final int[] firstNode;
+    private final int[] nodes;
+    private final int numberOfComponents;
+
+    StronglyConnectedComponents(SparseGraph graph) {
+        int n = graph.getNumberOfNodes();
+        int[] firstArc = graph.getFirstArcArray();
+        int[] heads = graph.getHeadArray();
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        int[] nextArc = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int stackSize = 0;
+        int counter = 0;
+        int components = 0;
+        int assignedNodes = 0;
+
+        this.componentOf = new int[n];
+        this.firstNode = new int[n + 1];
+        this.nodes = new int[n];
+        Arrays.fill(index, -1);
+
+        for (int root = 0; root < n; ++root) {
+            if (index[root] != -1) {
+                continue;
+            }
+
+            int callStackSize = 0;
+            callStack[callStackSize++] = root;
+            index[root] = lowLink[root] = counter++;
+            nextArc[root] = firstArc[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (callStackSize > 0) {
+                int v = callStack[callStackSize - 1];
+
+                if (nextArc[v] < firstArc[v + 1]) {
+                    int w = heads[nextArc[v]++];
+
+                    if (index[w] == -1) {
+                        callStack[callStackSize++] = w;
+                        index[w] = lowLink[w] = counter++;
+                        nextArc[w] = firstArc[w];
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+
+                    continue;
+                }
+
+                // All the arcs of v are done.
+                --callStackSize;
+
+                if (callStackSize > 0) {
+                    int u = callStack[callStackSize - 1];
+                    lowLink[u] = Math.min(lowLink[u], lowLink[v]);
+                }
+
+                if (lowLink[v] == index[v]) {
+                    firstNode[components] = assignedNodes;
+                    int w;
+
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        componentOf[w] = components;
+                        nodes[assignedNodes++] = w;
+                    } while (w != v);
+
+                    ++components;
+                }
+            }
+        }
+
+        this.numberOfComponents = components;
+        firstNode[components] = assignedNodes;
+    }
+
+    int getNumberOfComponents() {
+        return numberOfComponents;
+    }
+
+    int getComponent(int node) {
+        return componentOf[node];
+    }
+
+    int getFirstNode(int component) {
+        return firstNode[component];
+    }
+
+    int getComponentSize(int component) {
+        return firstNode[component + 1] - firstNode[component];
+    }
+
+    int[] getNodeArray() {
+        return nodes;
+    }
+}
@@ -0,0 +1,204 @@
+package net.coderodde.graph.allpairs;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * This class holds a tile of the cost and parent matrices exchanged by the 
+ * workers of {@link PartitionedFloydWarshall}. A tile covers the rows 
+ * {@code tileRow * tileSize, ...} and the columns 
+ * {@code tileColumn * tileSize, ...} of the matrices, and its entries are 
+ * stored in row-major order. Along with each cost, the tile holds the number
+ * of arcs on the path, which breaks the ties between equally costly paths.
+ * <p>
+ * A transport between processes may ship the messages in the form produced 
+ * by {@link #encode()} and read back by {@link #decode(byte[])}: a 
+ * little-endian header of the magic number, the format version, the phase, 
+ * the tile position and the tile dimensions, followed by the costs, the 
+ * parents and the hops. The arrays are shared, not copied, so a message
+ * must not be modified once sent.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class TileMessage {
+
+    static final int MAGIC = 0x454C4954; // "TILE" in little-endian.
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 7 * Integer.BYTES;
+    static final int ENTRY_SIZE = Double.BYTES + 2 * Integer.BYTES;
+
+    private final int phase;
+    private final int tileRow;
+    private final int tileColumn;
+    private final int numberOfRows;
+    private final int numberOfColumns;
+    private final double[] costs;
+    private final int[] parents;
+    private final int[] hops;
+
+    /**
+     * Constructs a tile message.
+     * 
+     * @param phase           the phase of the computation the tile belongs to.
+     * @param tileRow         the row of the tile in the tile grid.
+     * @param tileColumn      the column of the tile in the tile grid.
+     * @param numberOfRows    the number of matrix rows in the tile.
+     * @param numberOfColumns the number of matrix columns in the tile.
+     * @param costs           the shortest path costs in the tile.
+     * @param parents         the parent nodes in the tile.
+     * @param hops            the numbers of arcs on the paths in the tile.
+     */
+    public TileMessage(int phase,
+                       int tileRow,
+                       int tileColumn,
+                       int numberOfRows,
+                       int numberOfColumns,
+                       double[] costs,
+                       int[] parents,
+                       int[] hops) {
+        Objects.requireNonNull(costs, "The cost array is null.");
+        Objects.requireNonNull(parents, "The parent array is null.");
+        Objects.requireNonNull(hops, "The hop array is null.");
+
+        if (costs.length != numberOfRows * numberOfColumns 
+                || parents.length != costs.length
+                || hops.length != costs.length) {
+            throw new IllegalArgumentException(
+                    "The tile arrays do not hold " + numberOfRows + " x " + 
+                    numberOfColumns + " entries.");
+        }
+
+        this.phase = phase;
+        this.tileRow = tileRow;
+        this.tileColumn = tileColumn;
+        this.numberOfRows = numberOfRows;
+        this.numberOfColumns = numberOfColumns;
+        this.costs = costs;
+        this.parents = parents;
+        this.hops = hops;
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public int getTileRow() {
+        return tileRow;
+    }
+
+    public int getTileColumn() {
+        return tileColumn;
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    public double[] getCosts() {
+        return costs;
+    }
+
+    public int[] getParents() {
+        return parents;
+    }
+
+    public int[] getHops() {
+        return hops;
+    }
+
+    /**
+     * Encodes this message into bytes.
+     * 
+     * @return the encoded message.
+     */
+    public byte[] encode() {
+        ByteBuffer buffer = 
+                ByteBuffer.allocate(HEADER_SIZE + costs.length * ENTRY_SIZE)
+                          .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+              .putInt(VERSION)
+              .putInt(phase)
+              .putInt(tileRow)
+              .putInt(tileColumn)
+              .putInt(numberOfRows)
+              .putInt(numberOfColumns);
+        buffer.asDoubleBuffer().put(costs);
+        buffer.position(buffer.position() + costs.length * Double.BYTES);
+        buffer.asIntBuffer().put(parents).put(hops);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a message encoded by {@link #encode()}.
+     * 
+     * @param bytes the encoded message.
+     * @return the decoded message.
+     * @throws IllegalArgumentException if {@code bytes} is not an encoded 
+     *                                  message.
+     */
+    public static TileMessage decode(byte[] bytes) {
+        Objects.requireNonNull(bytes, "The byte array is null.");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        int phase;
+        int tileRow;
+        int tileColumn;
+        int numberOfRows;
+        int numberOfColumns;
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a tile message.");
+            }
+
+            int version = buffer.getInt();
+
+            if (version != VERSION) {
+                throw new IllegalArgumentException(
+                        "Unsupported format version " + version + ".");
+            }
+
+            phase = buffer.getInt();
+            tileRow = buffer.getInt();
+            tileColumn = buffer.getInt();
+            numberOfRows = buffer.getInt();
+            numberOfColumns = buffer.getInt();
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException(
+                    "The tile message is too short.", ex);
+        }
+
+        if (numberOfRows < 0 
+                || numberOfColumns < 0 
+                || bytes.length != HEADER_SIZE + (long) numberOfRows * 
+                                                numberOfColumns * 
+                                                ENTRY_SIZE) {
+            throw new IllegalArgumentException(
+                    "The size of the tile message does not match its " + 
+                    numberOfRows + " x " + numberOfColumns + " entries.");
+        }
+
+        int entries = numberOfRows * numberOfColumns;
+        double[] costs = new double[entries];
+        int[] parents = new int[entries];
+        int[] hops = new int[entries];
+        buffer.asDoubleBuffer().get(costs);
+        buffer.position(buffer.position() + entries * Double.BYTES);
+        buffer.asIntBuffer().get(parents).get(hops);
+        return new TileMessage(phase, 
+                               tileRow, 
+                               tileColumn, 
+                               numberOfRows, 
+                               numberOfColumns, 
+                               costs, 
+                               parents, 
+                               hops);
+    }
+}
@@ -0,0 +1,32 @@
+package net.coderodde.graph.allpairs;
+
+/**
+ * This interface defines the API for delivering tiles between the workers of
+ * {@link PartitionedFloydWarshall}. The workers are numbered 
+ * {@code tileRow * gridSize + tileColumn}. An implementation may deliver the 
+ * messages of different senders in any order, but must deliver every message
+ * exactly once.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public interface TileTransport {
+
+    /**
+     * Sends {@code message} to the worker {@code targetWorker}.
+     * 
+     * @param targetWorker the index of the receiving worker.
+     * @param message      the message to send.
+     */
+    void send(int targetWorker, TileMessage message);
+
+    /**
+     * Receives the next message sent to the worker {@code worker}, waiting 
+     * until there is one.
+     * 
+     * @param worker the index of the receiving worker.
+     * @return the next message.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    TileMessage receive(int worker) throws InterruptedException;
+}
@@ -0,0 +1,166 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import static net.coderodde.graph.allpairs.Utils.checkParallelism;
+import static net.coderodde.graph.allpairs.Utils.getDefaultParallelism;
+import static net.coderodde.graph.allpairs.Utils.runAll;
+
+/**
+ * This class implements Warshall's algorithm for the transitive closure of a
+ * graph. The reachability rows are bit sets, so a single word operation 
+ * handles 64 node pairs: in the k-phase, every row {@code i} having the bit 
+ * {@code k} set is or'ed with the row {@code k}. As in 
+ * {@link ParallelFloydWarshall}, the rows of each phase may be split into 
+ * chunks processed concurrently.
+ * <p>
+ * Arc costs do not matter here, only which arcs exist.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class TransitiveClosure {
+
+    private final ExecutorService executor;
+
+    /**
+     * Constructs this engine running on the common fork/join pool.
+     */
+    public TransitiveClosure() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TransitiveClosure(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, 
+                                               "The executor is null.");
+    }
+
+    /**
+     * Computes the reachability matrix splitting the rows into as many 
+     * chunks as there are threads in the executor.
+     * 
+     * @param adjacencyMatrix the input graph.
+     * @return the reachability matrix.
+     */
+    public ReachabilityMatrix compute(AdjacencyMatrix adjacencyMatrix) {
+        return compute(adjacencyMatrix, getDefaultParallelism(executor));
+    }
+
+    /**
+     * Computes the reachability matrix splitting the rows into 
+     * {@code parallelism} chunks per phase. With {@code parallelism} 1 the 
+     * computation runs in the calling thread.
+     * 
+     * @param adjacencyMatrix the input graph.
+     * @param parallelism     the number of row chunks processed concurrently.
+     * @return the reachability matrix.
+     */
+    public ReachabilityMatrix compute(AdjacencyMatrix adjacencyMatrix,
+                                      int parallelism) {
+        Objects.requireNonNull(adjacencyMatrix, 
+                               "The adjacency matrix is null.");
+        checkParallelism(parallelism);
+        int n = adjacencyMatrix.getNumberOfNodes();
+        ReachabilityMatrix reachabilityMatrix = getArcMatrix(adjacencyMatrix);
+        int chunks = Math.min(parallelism, Math.max(n, 1));
+
+        if (chunks == 1) {
+            PhaseTask task = new PhaseTask(reachabilityMatrix, 0, n);
+
+            for (int k = 0; k < n; ++k) {
+                task.k = k;
+                task.call();
+            }
+
+            return reachabilityMatrix;
+        }
+
+        List<PhaseTask> tasks = new ArrayList<>(chunks);
+
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            tasks.add(new PhaseTask(reachabilityMatrix,
+                                    (int)((long) n * chunk / chunks),
+                                    (int)((long) n * (chunk + 1) / chunks)));
+        }
+
+        for (int k = 0; k < n; ++k) {
+            for (PhaseTask task : tasks) {
+                task.k = k;
+            }
+
+            runAll(executor, tasks);
+        }
+
+        return reachabilityMatrix;
+    }
+
+    // Sets the bits of the arcs and of the diagonal. An arc is present as in 
+    // 'FloydWarshall.preprocess', so an infinite cost of either sign is none.
+    private static ReachabilityMatrix getArcMatrix(
+            AdjacencyMatrix adjacencyMatrix) {
+        DoubleMatrixStorage a = adjacencyMatrix.getStorage();
+        int n = a.getNumberOfNodes();
+        ReachabilityMatrix reachabilityMatrix = new ReachabilityMatrix(n);
+        double[] row = new double[n];
+
+        for (int i = 0; i < n; ++i) {
+            a.readRow(i, row);
+            reachabilityMatrix.set(i, i);
+
+            for (int j = 0; j < n; ++j) {
+                if (!Double.isInfinite(row[j])) {
+                    reachabilityMatrix.set(i, j);
+                }
+            }
+        }
+
+        return reachabilityMatrix;
+    }
+
+    private static final class PhaseTask implements Callable<Void> {
+
+        private final long[] words;
+        private final int wordsPerRow;
+        private final int fromRow;
+        private final int toRow;
+
+        // Published to the worker threads by 'ExecutorService.invokeAll'.
+        int k;
+
+        PhaseTask(ReachabilityMatrix reachabilityMatrix, 
+                  int fromRow, 
+                  int toRow) {
+            this.words = reachabilityMatrix.getWords();
+            this.wordsPerRow = reachabilityMatrix.getWordsPerRow();
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        public Void call() {
+            // The row k does not change in the k-phase, so the chunks may all
+            // read it while writing their own rows.
+            int ok = k * wordsPerRow;
+            int wordOfK = k >>> 6;
+            long bitOfK = 1L << k;
+
+            for (int i = fromRow; i < toRow; ++i) {
+                int oi = i * wordsPerRow;
+
+                if (i == k || (words[oi + wordOfK] & bitOfK) == 0L) {
+                    continue;
+                }
+
+                for (int w = 0; w < wordsPerRow; ++w) {
+                    words[oi + w] |= words[ok + w];
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package net.coderodde.graph.allpairs;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 /**
  * This class contains miscellaneous utility methods for the entire library.
  * 
@@ -34,4 +41,60 @@ class Utils {
             throw new IllegalArgumentException("The arc cost is NaN.");
         }
     }
+
+    static void checkTileSize(int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException(
+                    "The tile size is non-positive: " + tileSize);
+        }
+    }
+
+    static void checkGridSize(int gridSize) {
+        if (gridSize < 1) {
+            throw new IllegalArgumentException(
+                    "The grid size is non-positive: " + gridSize);
+        }
+    }
+
+    static void checkParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism level is non-positive: " + parallelism);
+        }
+    }
+
+    // Returns the number of threads of a fork/join pool, or the number of 
+    // available processors for other executors.
+    static int getDefaultParallelism(ExecutorService executor) {
+        return executor instanceof ForkJoinPool ?
+               ((ForkJoinPool) executor).getParallelism() :
+               Runtime.getRuntime().availableProcessors();
+    }
+
+    // Runs all the tasks and waits for all of them to complete.
+    static <T> void runAll(ExecutorService executor, 
+                           List<? extends Callable<T>> tasks) {
+        List<Future<T>> futures;
+
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while computing the shortest paths.", ex);
+        }
+
+        for (Future<T> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                        "Interrupted while computing the shortest paths.", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException(
+                        "A parallel task failed.", ex.getCause());
+            }
+        }
+    }
 }
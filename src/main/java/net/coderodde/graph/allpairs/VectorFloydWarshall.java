@@ -0,0 +1,105 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Objects;
+
+/**
+ * This class implements the Floyd-Warshall algorithm with the inner loop 
+ * vectorized by the Java Vector API. The module {@code jdk.incubator.vector}
+ * must be added to the JVM ({@code --add-modules jdk.incubator.vector}); if it
+ * is not, this engine falls back to the scalar {@link FloydWarshall}.
+ * <p>
+ * As long as the graph contains no negative weight cycles, the results are 
+ * identical to the ones computed by {@link FloydWarshall}. When relaxing the
+ * pivot row {@code k} itself, the kernel reads a whole vector of the row 
+ * before writing any of its lanes, while the sequential loop sees every 
+ * single update. That matters only if the cost from {@code k} to itself is 
+ * negative, so on graphs with negative weight cycles the costs and the 
+ * parents may differ; the negative weight cycle flag is reported all the 
+ * same.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+public final class VectorFloydWarshall {
+
+    private static final boolean VECTOR_API_AVAILABLE = 
+            checkVectorApiAvailable();
+
+    private final FloydWarshall fallback = new FloydWarshall();
+
+    /**
+     * Returns {@code true} if the Vector API is available in this JVM, and so
+     * the computation will actually be vectorized.
+     * 
+     * @return {@code true} if the Vector API is available.
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    public ShortestPathData compute(AdjacencyMatrix adjacencyMatrix) {
+        Objects.requireNonNull(adjacencyMatrix,
+                               "The adjacency matrix is null.");
+
+        if (!VECTOR_API_AVAILABLE) {
+            return fallback.compute(adjacencyMatrix);
+        }
+
+        int n = adjacencyMatrix.getNumberOfNodes();
+        ShortestPathCostMatrix costMatrix = new ShortestPathCostMatrix(n);
+        ParentMatrix parentMatrix = new ParentMatrix(n);
+        FloydWarshall.preprocess(adjacencyMatrix, costMatrix, parentMatrix);
+
+        DoubleMatrixStorage d = costMatrix.getStorage();
+        IntMatrixStorage p = parentMatrix.getStorage();
+
+        for (int k = 0; k < n; ++k) {
+            double[] dk = d.getSegment(k);
+            int[] pk = p.getSegment(k);
+            int ok = d.getRowOffset(k);
+
+            for (int i = 0; i < n; ++i) {
+                double[] di = d.getSegment(i);
+                int oi = d.getRowOffset(i);
+                double dik = di[oi + k];
+
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                VectorRelaxationKernel.relaxRow(di, 
+                                                p.getSegment(i), 
+                                                oi, 
+                                                dik, 
+                                                dk, 
+                                                pk, 
+                                                ok, 
+                                                n);
+            }
+        }
+
+        boolean containsNegativeWeightCycle = 
+                FloydWarshall.containsNegativeWeightCycle(adjacencyMatrix,
+                                                          costMatrix);
+
+        return new ShortestPathData(costMatrix,
+                                    parentMatrix,
+                                    containsNegativeWeightCycle);
+    }
+
+    private static boolean checkVectorApiAvailable() {
+        if (!ModuleLayer.boot()
+                        .findModule("jdk.incubator.vector")
+                        .isPresent()) {
+            return false;
+        }
+
+        try {
+            // Make sure the kernel actually links on this platform.
+            Class.forName(VectorRelaxationKernel.class.getName());
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package net.coderodde.graph.allpairs;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the row relaxation of the Floyd-Warshall algorithm 
+ * with the Java Vector API. It must be loaded only when the module 
+ * {@code jdk.incubator.vector} is present; see 
+ * {@link VectorFloydWarshall#isVectorApiAvailable()}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 17, 2026)
+ */
+final class VectorRelaxationKernel {
+
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = 
+            DoubleVector.SPECIES_PREFERRED;
+
+    // The parent lanes must line up with the cost lanes, so the int species
+    // has as many lanes as the double species.
+    private static final VectorSpecies<Integer> INT_SPECIES = 
+            VectorSpecies.of(int.class, 
+                             VectorShape.forBitSize(DOUBLE_SPECIES.length() 
+                                                    * Integer.SIZE));
+
+    private VectorRelaxationKernel() {}
+
+    /**
+     * Relaxes the {@code n} entries of the row {@code i} via the pivot row 
+     * {@code k}. That is, for each {@code j}, sets 
+     * {@code di[j] = min(di[j], dik + dk[j])} and copies {@code pk[j]} into 
+     * {@code pi[j]} whenever the cost improves.
+     * <p>
+     * If the row {@code i} is the pivot row, the lanes of a vector see the 
+     * pivot row as it was before the vector was written, so the result may 
+     * differ from the scalar loop when {@code dik} is negative, that is, 
+     * when {@code k} is on a negative weight cycle.
+     */
+    static void relaxRow(double[] di, 
+                         int[] pi, 
+                         int oi,
+                         double dik,
+                         double[] dk,
+                         int[] pk,
+                         int ok,
+                         int n) {
+        DoubleVector pivotCost = DoubleVector.broadcast(DOUBLE_SPECIES, dik);
+        int bound = DOUBLE_SPECIES.loopBound(n);
+        int j = 0;
+
+        for (; j < bound; j += DOUBLE_SPECIES.length()) {
+            DoubleVector currentCost = 
+                    DoubleVector.fromArray(DOUBLE_SPECIES, di, oi + j);
+            DoubleVector tentativeCost = 
+                    pivotCost.add(DoubleVector.fromArray(DOUBLE_SPECIES, 
+                                                         dk, 
+                                                         ok + j));
+            VectorMask<Double> improved = 
+                    currentCost.compare(VectorOperators.GT, tentativeCost);
+
+            if (!improved.anyTrue()) {
+                continue;
+            }
+
+            currentCost.blend(tentativeCost, improved).intoArray(di, oi + j);
+            IntVector.fromArray(INT_SPECIES, pi, oi + j)
+                     .blend(IntVector.fromArray(INT_SPECIES, pk, ok + j),
+                            improved.cast(INT_SPECIES))
+                     .intoArray(pi, oi + j);
+        }
+
+        for (; j < n; ++j) {
+            double tentativeCost = dik + dk[ok + j];
+
+            if (di[oi + j] > tentativeCost) {
+                di[oi + j] = tentativeCost;
+                pi[oi + j] = pk[ok + j];
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BlockedFloydWarshallTest {
+
+    private static final FloydWarshall REFERENCE = new FloydWarshall();
+
+    @Test
+    public void testOnEmptyAdjacencyMatrix() {
+        ShortestPathData data = 
+                new BlockedFloydWarshall().compute(new AdjacencyMatrix(0));
+
+        assertEquals(0, data.getCostMatrix().getNumberOfNodes());
+        assertEquals(0, data.getParentMatrix().getNumberOfNodes());
+        assertFalse(data.containsNegativeWeightCycle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonPositiveTileSize() {
+        new BlockedFloydWarshall(0);
+    }
+
+    @Test
+    public void testMatchesFloydWarshallOnRandomGraphs() {
+        Random random = new Random(13L);
+        int[] tileSizes = { 1, 3, 7, 16, 64 };
+
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            int n = 1 + random.nextInt(60);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        3 * n, 
+                                                        0, 
+                                                        10, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+
+            for (int tileSize : tileSizes) {
+                ShortestPathData actual = 
+                        new BlockedFloydWarshall(tileSize).compute(m);
+                TestGraphs.assertSameShortestPaths(m, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeWeightCycleFlag() {
+        Random random = new Random(17L);
+
+        for (int iteration = 0; iteration < 50; ++iteration) {
+            int n = 1 + random.nextInt(30);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        -3, 
+                                                        10, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+            ShortestPathData actual = new BlockedFloydWarshall(4).compute(m);
+            TestGraphs.assertSameShortestPaths(m, expected, actual);
+        }
+    }
+
+    @Test
+    public void testParentsAcrossTilesWithZeroWeightCycles() {
+        Random random = new Random(5L);
+
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(150, 
+                                                        3 * 150, 
+                                                        0, 
+                                                        3, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+            ShortestPathData actual = new BlockedFloydWarshall().compute(m);
+            TestGraphs.assertSameShortestPaths(m, expected, actual);
+        }
+    }
+
+    @Test
+    public void testParentsOnSmallTilesWithZeroWeightCycles() {
+        Random random = new Random(23L);
+
+        for (int iteration = 0; iteration < 100; ++iteration) {
+            int n = 2 + random.nextInt(12);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        0, 
+                                                        3, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+
+            for (int tileSize = 2; tileSize <= 3; ++tileSize) {
+                ShortestPathData actual = 
+                        new BlockedFloydWarshall(tileSize).compute(m);
+                TestGraphs.assertSameShortestPaths(m, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testParentsWithFractionalWeights() {
+        Random random = new Random(31L);
+        int n = 200;
+        AdjacencyMatrix m = new AdjacencyMatrix(n);
+
+        for (int i = 0; i < 10 * n; ++i) {
+            m.setArcCost(random.nextInt(n), 
+                         random.nextInt(n), 
+                         random.nextDouble());
+        }
+
+        ShortestPathData expected = REFERENCE.compute(m);
+        ShortestPathData actual = new BlockedFloydWarshall(16).compute(m);
+        assertFalse(actual.containsNegativeWeightCycle());
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                double cost = 
+                        actual.getCostMatrix().getShortestPathCost(i, j);
+                assertEquals(
+                        expected.getCostMatrix().getShortestPathCost(i, j),
+                        cost,
+                        1e-9);
+
+                int[] path = actual.getParentMatrix().getShortestPath(i, j);
+                double pathCost = 0.0;
+
+                for (int k = 0; k < path.length - 1; ++k) {
+                    pathCost += m.getArcCost(path[k], path[k + 1]);
+                }
+
+                assertEquals(i, path[0]);
+                assertEquals(j, path[path.length - 1]);
+                assertEquals(cost, pathCost, 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package net.coderodde.graph.allpairs;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DoubleMatrixStorageTest {
+
+    @Test
+    public void testSingleSegmentWhenMatrixFitsInArray() {
+        int max = HeapDoubleMatrixStorage.MAX_SEGMENT_LENGTH;
+
+        assertEquals(31, new SegmentLayout(0, max).shift);
+        assertEquals(31, new SegmentLayout(1000, max).shift);
+
+        SegmentLayout layout = new SegmentLayout(46340, max);
+
+        assertEquals(31, layout.shift);
+        assertEquals(1, layout.numberOfSegments);
+        assertEquals(46340 * 46340, layout.getSegmentLength(0));
+    }
+
+    @Test
+    public void testSegmentsOfLargeMatrix() {
+        checkSegments(100_000, HeapDoubleMatrixStorage.MAX_SEGMENT_LENGTH);
+        checkSegments(30_000, OffHeapDoubleMatrixStorage.MAX_SEGMENT_LENGTH);
+        checkSegments(10, 25);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsWhenRowDoesNotFitInSegment() {
+        new SegmentLayout(10, 9);
+    }
+
+    @Test
+    public void testHeapRowMajorLayout() {
+        DoubleMatrixStorage storage = new HeapDoubleMatrixStorage(3, 1.0);
+
+        assertTrue(storage.isArrayBacked());
+        checkStorage(storage);
+
+        storage.set(1, 2, 5.0);
+
+        assertEquals(5.0, 
+                     storage.getSegment(1)[storage.getRowOffset(1) + 2],
+                     0.0);
+    }
+
+    @Test
+    public void testOffHeapStorage() {
+        DoubleMatrixStorage storage = 
+                OffHeapDoubleMatrixStorage.allocateDirect(3, 1.0);
+
+        assertFalse(storage.isArrayBacked());
+        checkStorage(storage);
+    }
+
+    @Test
+    public void testFloatStorage() {
+        DoubleMatrixStorage storage = new FloatMatrixStorage(3, 1.0);
+
+        assertFalse(storage.isArrayBacked());
+        checkStorage(storage);
+
+        storage.set(0, 0, Double.POSITIVE_INFINITY);
+        storage.set(0, 1, 0.1);
+
+        assertEquals(Double.POSITIVE_INFINITY, storage.get(0, 0), 0.0);
+        assertEquals((float) 0.1, storage.get(0, 1), 0.0);
+    }
+
+    @Test
+    public void testFixedPointStorage() {
+        DoubleMatrixStorage storage = 
+                new FixedPointMatrixStorage(3, 0.5, 1.0);
+
+        assertFalse(storage.isArrayBacked());
+        checkStorage(storage);
+
+        storage.set(0, 0, Double.POSITIVE_INFINITY);
+        storage.set(0, 1, Double.NEGATIVE_INFINITY);
+        storage.set(0, 2, 1.3);
+        storage.set(1, 0, 1e12);
+        storage.set(1, 1, -1e12);
+
+        assertEquals(Double.POSITIVE_INFINITY, storage.get(0, 0), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, storage.get(0, 1), 0.0);
+        assertEquals(1.5, storage.get(0, 2), 0.0);
+        assertEquals((Integer.MAX_VALUE - 1) * 0.5, storage.get(1, 0), 0.0);
+        assertEquals((Integer.MIN_VALUE + 1) * 0.5, storage.get(1, 1), 0.0);
+    }
+
+    @Test
+    public void testCharStorage() {
+        IntMatrixStorage storage = new CharMatrixStorage(3, ParentMatrix.NIL);
+
+        assertFalse(storage.isArrayBacked());
+        assertEquals(ParentMatrix.NIL, storage.get(2, 2));
+
+        storage.set(0, 1, 2);
+        storage.writeRow(2, new int[]{ 1, ParentMatrix.NIL, 0 });
+        int[] row = new int[3];
+        storage.readRow(2, row);
+
+        assertEquals(2, storage.get(0, 1));
+        assertArrayEquals(new int[]{ 1, ParentMatrix.NIL, 0 }, row);
+
+        storage = new CharMatrixStorage(1, ParentMatrix.NIL);
+        storage.set(0, 0, 65534);
+
+        assertEquals(65534, storage.get(0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCharStorageThrowsOnTooManyNodes() {
+        new CharMatrixStorage(CharMatrixStorage.MAX_NUMBER_OF_NODES + 1, 0);
+    }
+
+    private static void checkStorage(DoubleMatrixStorage storage) {
+        assertEquals(1.0, storage.get(2, 1), 0.0);
+
+        storage.set(1, 2, 5.0);
+        double[] row = new double[3];
+        storage.readRow(1, row);
+
+        assertArrayEquals(new double[]{ 1.0, 1.0, 5.0 }, row, 0.0);
+
+        storage.writeRow(2, new double[]{ 7.0, 8.0, 9.0 });
+
+        assertEquals(8.0, storage.get(2, 1), 0.0);
+        assertEquals(5.0, storage.get(1, 2), 0.0);
+
+        storage.fill(-1.0);
+
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                assertEquals(-1.0, storage.get(i, j), 0.0);
+            }
+        }
+    }
+
+    private static void checkSegments(int n, int maximumSegmentLength) {
+        SegmentLayout layout = new SegmentLayout(n, maximumSegmentLength);
+        long totalLength = 0L;
+
+        assertTrue(layout.shift < 31);
+        assertTrue((1L << layout.shift) * n <= maximumSegmentLength);
+        assertTrue((2L << layout.shift) * n > maximumSegmentLength);
+
+        for (int s = 0; s < layout.numberOfSegments; ++s) {
+            int length = layout.getSegmentLength(s);
+            assertEquals(0, length % n);
+            assertTrue(length <= maximumSegmentLength);
+            totalLength += length;
+        }
+
+        assertEquals((long) n * n, totalLength);
+    }
+}
@@ -0,0 +1,184 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class EdgeListIOTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLoadsTextEdgeList() throws IOException {
+        Path file = write("# A small graph.\n" +
+                          "0 1 2.5\n" +
+                          "\n" +
+                          "1\t2 -3\r\n" +
+                          "  2 0 1e1  \n" +
+                          "0 1 4\n" +
+                          "1 1 7");
+
+        AdjacencyMatrix min = 
+                EdgeListIO.loadText(file, 3, DuplicateArcPolicy.MIN, false);
+        assertEquals(2.5, min.getArcCost(0, 1), 0.0);
+        assertEquals(-3.0, min.getArcCost(1, 2), 0.0);
+        assertEquals(10.0, min.getArcCost(2, 0), 0.0);
+        assertEquals(0.0, min.getArcCost(1, 1), 0.0);
+
+        AdjacencyMatrix last = 
+                EdgeListIO.loadText(file, 
+                                    3, 
+                                    DuplicateArcPolicy.LAST_WINS, 
+                                    false);
+        assertEquals(4.0, last.getArcCost(0, 1), 0.0);
+    }
+
+    @Test
+    public void testParallelTextLoadMatchesSequential() throws IOException {
+        Random random = new Random(41L);
+        int n = 60;
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < 2000; ++i) {
+            sb.append(random.nextInt(n))
+              .append(' ')
+              .append(random.nextInt(n))
+              .append(' ')
+              .append(random.nextBoolean() ? 
+                      Integer.toString(random.nextInt(100) - 20) :
+                      Double.toString(100.0 * random.nextDouble()))
+              .append('\n');
+        }
+
+        Path file = write(sb.toString());
+
+        for (DuplicateArcPolicy policy : DuplicateArcPolicy.values()) {
+            AdjacencyMatrix expected = 
+                    EdgeListIO.loadText(file, n, policy, false);
+            AdjacencyMatrix actual = 
+                    EdgeListIO.loadText(file, n, policy, true, 97);
+            assertSameArcs(expected, actual);
+        }
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        Random random = new Random(43L);
+        int n = 40;
+        int m = 10_000;
+        int[] tails = new int[m];
+        int[] heads = new int[m];
+        double[] costs = new double[m];
+
+        for (int i = 0; i < m; ++i) {
+            tails[i] = random.nextInt(n);
+            heads[i] = random.nextInt(n);
+            costs[i] = 50.0 * random.nextDouble() - 5.0;
+        }
+
+        Path file = folder.newFile().toPath();
+        EdgeListIO.writeBinary(file, n, tails, heads, costs);
+        assertEquals(EdgeListIO.HEADER_SIZE + m * EdgeListIO.RECORD_SIZE,
+                     Files.size(file));
+
+        for (DuplicateArcPolicy policy : DuplicateArcPolicy.values()) {
+            AdjacencyMatrix expected = new AdjacencyMatrix(n);
+            expected.setArcCosts(tails, heads, costs, policy);
+
+            assertSameArcs(expected, 
+                           EdgeListIO.loadBinary(file, policy, false));
+            assertSameArcs(expected, 
+                           EdgeListIO.loadBinary(file, policy, true));
+        }
+    }
+
+    @Test
+    public void testBulkSetMatchesSingleArcs() {
+        int[] tails = { 0, 1, 0, 2, 0 };
+        int[] heads = { 1, 2, 1, 0, 1 };
+        double[] costs = { 3.0, 1.0, 2.0, 5.0, 4.0 };
+        AdjacencyMatrix expected = new AdjacencyMatrix(3);
+        AdjacencyMatrix actual = new AdjacencyMatrix(3);
+
+        for (int i = 0; i < tails.length; ++i) {
+            expected.setArcCost(tails[i], heads[i], costs[i]);
+        }
+
+        actual.setArcCosts(tails, heads, costs, DuplicateArcPolicy.LAST_WINS);
+        assertSameArcs(expected, actual);
+
+        actual.setArcCosts(tails, heads, costs, DuplicateArcPolicy.MIN);
+        assertEquals(2.0, actual.getArcCost(0, 1), 0.0);
+    }
+
+    @Test
+    public void testInvalidBulkArcLeavesMatrixIntact() {
+        AdjacencyMatrix matrix = new AdjacencyMatrix(2);
+
+        try {
+            matrix.setArcCosts(new int[]{ 0, 1 }, 
+                               new int[]{ 1, 2 }, 
+                               new double[]{ 1.0, 1.0 }, 
+                               DuplicateArcPolicy.MIN);
+            fail("Expected an IllegalArgumentException.");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(Double.isInfinite(matrix.getArcCost(0, 1)));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsMalformedText() throws IOException {
+        EdgeListIO.loadText(write("0 1 2\n1 x 3\n"), 
+                            2, 
+                            DuplicateArcPolicy.MIN, 
+                            true);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsExtraTokens() throws IOException {
+        EdgeListIO.loadText(write("0 1 2 3\n"), 
+                            2, 
+                            DuplicateArcPolicy.MIN, 
+                            false);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsTruncatedBinary() throws IOException {
+        Path file = folder.newFile().toPath();
+        EdgeListIO.writeBinary(file, 
+                               2, 
+                               new int[]{ 0 }, 
+                               new int[]{ 1 }, 
+                               new double[]{ 1.0 });
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        EdgeListIO.loadBinary(file, DuplicateArcPolicy.MIN, false);
+    }
+
+    private Path write(String text) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private static void assertSameArcs(AdjacencyMatrix expected, 
+                                       AdjacencyMatrix actual) {
+        int n = expected.getNumberOfNodes();
+        assertEquals(n, actual.getNumberOfNodes());
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                assertEquals(expected.getArcCost(i, j), 
+                             actual.getArcCost(i, j), 
+                             0.0);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.coderodde.graph.allpairs;
 
+import java.util.Random;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -281,4 +282,139 @@ public class FloydWarshallTest {
         
         assertFalse(ALGO.compute(m).containsNegativeWeightCycle());
     }
+    
+    @Test
+    public void testFloydWarshallPathsOnRandomGraphs() {
+        Random random = new Random(7L);
+        
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            int n = 1 + random.nextInt(40);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        3 * n, 
+                                                        0, 
+                                                        10, 
+                                                        random);
+            ShortestPathData data = ALGO.compute(m);
+            
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    double cost = 
+                            data.getCostMatrix().getShortestPathCost(i, j);
+                    
+                    // No arc is cheaper than the shortest path.
+                    assertTrue(cost <= m.getArcCost(i, j));
+                    TestGraphs.assertPathCost(
+                            m, 
+                            data.getParentMatrix().getShortestPath(i, j), 
+                            i,
+                            j,
+                            cost);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFloydWarshallReturnsNegativeWeightCycle() {
+        AdjacencyMatrix m = new AdjacencyMatrix(5);
+        
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, 3.0);
+        m.setArcCost(2, 0, -4.1);
+        m.setArcCost(2, 3, 1.0);
+        m.setArcCost(3, 4, 1.0);
+        
+        int[] cycle = ALGO.compute(m).getNegativeWeightCycle();
+        
+        assertEquals(3, cycle.length);
+        assertNegativeWeightCycle(m, cycle);
+        
+        m.setArcCost(2, 0, 1.0);
+        
+        assertEquals(0, ALGO.compute(m).getNegativeWeightCycle().length);
+    }
+    
+    @Test
+    public void testFloydWarshallStopsAtNegativeWeightCycle() {
+        FloydWarshall algorithm = 
+                new FloydWarshall(MatrixStorage.heap(), true);
+        AdjacencyMatrix m = new AdjacencyMatrix(4);
+        
+        m.setArcCost(0, 1, -1.0);
+        m.setArcCost(1, 0, -1.0);
+        m.setArcCost(1, 2, 1.0);
+        m.setArcCost(2, 3, 1.0);
+        
+        ShortestPathData data = algorithm.compute(m);
+        
+        assertTrue(data.containsNegativeWeightCycle());
+        assertNegativeWeightCycle(m, data.getNegativeWeightCycle());
+        // The computation stopped before the pivot 2.
+        assertEquals(Double.POSITIVE_INFINITY, 
+                     data.getCostMatrix().getShortestPathCost(1, 3),
+                     0.0);
+        assertTrue(ALGO.compute(m).getCostMatrix()
+                                  .getShortestPathCost(1, 3) < 
+                   Double.POSITIVE_INFINITY);
+    }
+    
+    @Test
+    public void testFloydWarshallNegativeWeightCyclesOnRandomGraphs() {
+        Random random = new Random(11L);
+        FloydWarshall stopping = 
+                new FloydWarshall(MatrixStorage.heap(), true);
+        FloydWarshall byRows = 
+                new FloydWarshall(MatrixStorage.heap().withCompactParents());
+        int cycles = 0;
+        
+        for (int iteration = 0; iteration < 50; ++iteration) {
+            int n = 1 + random.nextInt(30);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        -3, 
+                                                        10, 
+                                                        random);
+            ShortestPathData data = ALGO.compute(m);
+            boolean expected = FloydWarshall.containsNegativeWeightCycle(
+                    m, 
+                    data.getCostMatrix());
+            
+            assertEquals(expected, data.containsNegativeWeightCycle());
+            
+            for (ShortestPathData d : new ShortestPathData[]{ 
+                    data, stopping.compute(m), byRows.compute(m) }) {
+                assertEquals(expected, d.containsNegativeWeightCycle());
+                
+                if (expected) {
+                    assertNegativeWeightCycle(m, d.getNegativeWeightCycle());
+                } else {
+                    assertEquals(0, d.getNegativeWeightCycle().length);
+                }
+            }
+            
+            if (expected) {
+                ++cycles;
+            }
+        }
+        
+        assertTrue(cycles > 0);
+    }
+    
+    private static void assertNegativeWeightCycle(AdjacencyMatrix m, 
+                                                  int[] cycle) {
+        assertTrue(cycle.length > 1);
+        
+        double cost = 0.0;
+        boolean[] visited = new boolean[m.getNumberOfNodes()];
+        
+        for (int i = 0; i < cycle.length; ++i) {
+            assertFalse(visited[cycle[i]]);
+            visited[cycle[i]] = true;
+            cost += m.getArcCost(cycle[i], cycle[(i + 1) % cycle.length]);
+        }
+        
+        assertTrue(cost < 0.0);
+    }
 }
@@ -0,0 +1,146 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class HopBoundedShortestPathsTest {
+
+    @Test
+    public void testMatchesHopByHopRelaxation() {
+        Random random = new Random(23L);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            for (int iteration = 0; iteration < 20; ++iteration) {
+                int n = 1 + random.nextInt(25);
+                AdjacencyMatrix m = 
+                        TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                            3 * n, 
+                                                            -2, 
+                                                            9, 
+                                                            random);
+                int maxHops = random.nextInt(n + 2);
+                HopBoundedShortestPathData data = 
+                        new HopBoundedShortestPaths(executor, 
+                                                    1 + random.nextInt(8))
+                                .compute(m, maxHops, 1 + random.nextInt(4));
+
+                assertEquals(maxHops, data.getMaxHops());
+                assertHopBoundedPaths(m, data, getExpectedCosts(m, maxHops));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCrossChecksFloydWarshall() {
+        Random random = new Random(29L);
+
+        for (int iteration = 0; iteration < 10; ++iteration) {
+            int n = 2 + random.nextInt(60);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        0, 
+                                                        9, 
+                                                        random);
+            ShortestPathCostMatrix expected = 
+                    new FloydWarshall().compute(m).getCostMatrix();
+            HopBoundedShortestPathData data = 
+                    new HopBoundedShortestPaths().compute(m, n - 1);
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    double cost = expected.getShortestPathCost(i, j);
+                    assertEquals(cost, data.getShortestPathCost(i, j), 0.0);
+                    TestGraphs.assertPathCost(m, 
+                                              data.getShortestPath(i, j), 
+                                              i, 
+                                              j, 
+                                              cost);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHopBoundPicksCostlierShorterPath() {
+        // 0 -> 1 -> 2 -> 3 costs 3, 0 -> 3 costs 10.
+        AdjacencyMatrix m = new AdjacencyMatrix(4);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, 1.0);
+        m.setArcCost(2, 3, 1.0);
+        m.setArcCost(0, 3, 10.0);
+        HopBoundedShortestPaths engine = new HopBoundedShortestPaths();
+
+        assertEquals(10.0, engine.compute(m, 2).getShortestPathCost(0, 3), 
+                     0.0);
+        assertArrayEquals(new int[]{ 0, 3 }, 
+                          engine.compute(m, 2).getShortestPath(0, 3));
+        assertArrayEquals(new int[]{ 0, 1, 2, 3 }, 
+                          engine.compute(m, 3).getShortestPath(0, 3));
+        assertArrayEquals(new int[]{ 1 }, 
+                          engine.compute(m, 0).getShortestPath(1, 1));
+        assertEquals(0, engine.compute(m, 0).getShortestPath(0, 1).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNegativeHopBound() {
+        new HopBoundedShortestPaths().compute(new AdjacencyMatrix(2), -1);
+    }
+
+    // Relaxes the paths one hop at a time.
+    private static double[][] getExpectedCosts(AdjacencyMatrix m, 
+                                               int maxHops) {
+        int n = m.getNumberOfNodes();
+        double[][] costs = new double[n][n];
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                costs[i][j] = i == j ? 0.0 : Double.POSITIVE_INFINITY;
+            }
+        }
+
+        for (int hop = 0; hop < maxHops; ++hop) {
+            double[][] next = new double[n][];
+
+            for (int i = 0; i < n; ++i) {
+                next[i] = costs[i].clone();
+
+                for (int k = 0; k < n; ++k) {
+                    for (int j = 0; j < n; ++j) {
+                        if (k != j) {
+                            next[i][j] = Math.min(next[i][j], 
+                                                  costs[i][k] 
+                                                          + m.getArcCost(k, j));
+                        }
+                    }
+                }
+            }
+
+            costs = next;
+        }
+
+        return costs;
+    }
+
+    private static void assertHopBoundedPaths(AdjacencyMatrix m,
+                                              HopBoundedShortestPathData data,
+                                              double[][] expected) {
+        int n = m.getNumberOfNodes();
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                double cost = data.getShortestPathCost(i, j);
+                int[] path = data.getShortestPath(i, j);
+                assertEquals(expected[i][j], cost, 0.0);
+                TestGraphs.assertPathCost(m, path, i, j, cost);
+                assertTrue(path.length <= data.getMaxHops() + 1);
+            }
+        }
+    }
+}
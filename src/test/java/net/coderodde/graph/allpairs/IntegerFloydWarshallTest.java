@@ -0,0 +1,162 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IntegerFloydWarshallTest {
+
+    private static final FloydWarshall REFERENCE = new FloydWarshall();
+    private static final IntegerFloydWarshall ALGORITHM = 
+            new IntegerFloydWarshall();
+
+    @Test
+    public void testOnEmptyAdjacencyMatrix() {
+        ShortestPathData data = ALGORITHM.compute(new IntAdjacencyMatrix(0));
+
+        assertEquals(0, data.getCostMatrix().getNumberOfNodes());
+        assertFalse(data.containsNegativeWeightCycle());
+    }
+
+    @Test
+    public void testIgnoresSelfLoops() {
+        IntAdjacencyMatrix m = new IntAdjacencyMatrix(2);
+        m.setArcCost(1, 1, -5);
+
+        assertEquals(0, m.getArcCost(1, 1));
+        assertEquals(IntAdjacencyMatrix.INFINITY, m.getArcCost(0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnCostBelowRange() {
+        new IntAdjacencyMatrix(2).setArcCost(0, 1, 
+                                             -IntAdjacencyMatrix.INFINITY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnCostAboveRange() {
+        new IntAdjacencyMatrix(2).setArcCost(0, 1, 
+                                             IntAdjacencyMatrix.INFINITY + 1);
+    }
+
+    @Test
+    public void testPathsCostingInfinityAreAbsent() {
+        int large = IntAdjacencyMatrix.INFINITY - 1;
+        IntAdjacencyMatrix m = new IntAdjacencyMatrix(3);
+        m.setArcCost(0, 1, large);
+        m.setArcCost(1, 2, large);
+        ShortestPathData data = ALGORITHM.compute(m);
+
+        assertEquals(large, data.getCostMatrix().getShortestPathCost(0, 1), 
+                     0.0);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                     data.getCostMatrix().getShortestPathCost(0, 2), 
+                     0.0);
+        assertArrayEquals(new int[0], 
+                          data.getParentMatrix().getShortestPath(0, 2));
+    }
+
+    @Test
+    public void testNegativePivotCostDoesNotReachAbsentNodes() {
+        IntAdjacencyMatrix m = new IntAdjacencyMatrix(3);
+        m.setArcCost(0, 1, -5);
+        ShortestPathData data = ALGORITHM.compute(m);
+
+        assertEquals(-5.0, data.getCostMatrix().getShortestPathCost(0, 1), 
+                     0.0);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                     data.getCostMatrix().getShortestPathCost(0, 2), 
+                     0.0);
+        assertFalse(data.containsNegativeWeightCycle());
+    }
+
+    @Test
+    public void testNegativeWeightCycleCostsDoNotOverflow() {
+        int n = 40;
+        IntAdjacencyMatrix m = new IntAdjacencyMatrix(n);
+
+        for (int i = 0; i < n; ++i) {
+            m.setArcCost(i, (i + 1) % n, -IntAdjacencyMatrix.INFINITY + 1);
+        }
+
+        ShortestPathData data = ALGORITHM.compute(m);
+        assertTrue(data.containsNegativeWeightCycle());
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                assertTrue(data.getCostMatrix().getShortestPathCost(i, j) 
+                           < 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testResultAcceptedByUpdater() {
+        IntAdjacencyMatrix m = new IntAdjacencyMatrix(3);
+        m.setArcCost(0, 1, 4);
+        m.setArcCost(1, 2, 4);
+        AdjacencyMatrix doubles = new AdjacencyMatrix(3);
+        doubles.setArcCost(0, 1, 4.0);
+        doubles.setArcCost(1, 2, 4.0);
+        ShortestPathData data = ALGORITHM.compute(m);
+
+        new ShortestPathUpdater().decreaseArcCost(data, doubles, 0, 2, 3.0);
+
+        assertEquals(3.0, data.getCostMatrix().getShortestPathCost(0, 2), 
+                     0.0);
+        assertArrayEquals(new int[]{ 0, 2 }, 
+                          data.getParentMatrix().getShortestPath(0, 2));
+    }
+
+    @Test
+    public void testIdenticalToFloydWarshall() {
+        Random random = new Random(53L);
+
+        for (int iteration = 0; iteration < 30; ++iteration) {
+            int n = 1 + random.nextInt(50);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        iteration % 3 - 2, 
+                                                        10, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+            ShortestPathData actual = ALGORITHM.compute(toIntegerMatrix(m));
+
+            assertEquals(expected.containsNegativeWeightCycle(), 
+                         actual.containsNegativeWeightCycle());
+
+            if (expected.containsNegativeWeightCycle()) {
+                continue;
+            }
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    assertEquals(
+                        expected.getCostMatrix().getShortestPathCost(i, j),
+                        actual.getCostMatrix().getShortestPathCost(i, j),
+                        0.0);
+                    assertEquals(expected.getParentMatrix().getParent(i, j),
+                                 actual.getParentMatrix().getParent(i, j));
+                }
+            }
+        }
+    }
+
+    private static IntAdjacencyMatrix toIntegerMatrix(AdjacencyMatrix m) {
+        int n = m.getNumberOfNodes();
+        IntAdjacencyMatrix result = new IntAdjacencyMatrix(n);
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                double cost = m.getArcCost(i, j);
+
+                if (cost != Double.POSITIVE_INFINITY) {
+                    result.setArcCost(i, j, (int) cost);
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class JohnsonTest {
+
+    private static final FloydWarshall REFERENCE = new FloydWarshall();
+    private static final Johnson ALGO = new Johnson();
+
+    @Test
+    public void testOnEmptyGraph() {
+        ShortestPathData data = ALGO.compute(new AdjacencyMatrix(0));
+
+        assertEquals(0, data.getCostMatrix().getNumberOfNodes());
+        assertFalse(data.containsNegativeWeightCycle());
+    }
+
+    @Test
+    public void testSparseGraphIgnoresSelfLoops() {
+        SparseGraph graph = new SparseGraph(3,
+                                            new int[]{ 0, 1, 2, 2 },
+                                            new int[]{ 1, 1, 0, 1 },
+                                            new double[]{ 1.0, -5.0, 2.0, 3.0 });
+
+        assertEquals(3, graph.getNumberOfNodes());
+        assertEquals(3, graph.getNumberOfArcs());
+        assertFalse(ALGO.compute(graph).containsNegativeWeightCycle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSparseGraphThrowsOnBadNodeIndex() {
+        new SparseGraph(2, new int[]{ 0 }, new int[]{ 2 }, new double[]{ 1.0 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSparseGraphThrowsOnArraysOfDifferentLength() {
+        new SparseGraph(2, new int[]{ 0 }, new int[]{ 1 }, new double[0]);
+    }
+
+    @Test
+    public void testParallelArcs() {
+        SparseGraph graph = new SparseGraph(2,
+                                            new int[]{ 0, 0 },
+                                            new int[]{ 1, 1 },
+                                            new double[]{ 4.0, 2.5 });
+        ShortestPathData data = ALGO.compute(graph);
+
+        assertEquals(2.5, data.getCostMatrix().getShortestPathCost(0, 1), 0.0);
+        assertArrayEquals(new int[]{ 0, 1 }, 
+                          data.getParentMatrix().getShortestPath(0, 1));
+    }
+
+    @Test
+    public void testMatchesFloydWarshallOnRandomGraphs() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        Johnson johnson = new Johnson(executor);
+        Random random = new Random(37L);
+
+        try {
+            for (int iteration = 0; iteration < 60; ++iteration) {
+                int n = 1 + random.nextInt(50);
+                // Alternate between graphs with and without negative arcs.
+                int minWeight = iteration % 2 == 0 ? 0 : -2;
+                AdjacencyMatrix m = 
+                        TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                            2 * n, 
+                                                            minWeight, 
+                                                            10, 
+                                                            random);
+                ShortestPathData expected = REFERENCE.compute(m);
+                ShortestPathData actual = 
+                        johnson.compute(SparseGraph.fromAdjacencyMatrix(m),
+                                        1 + random.nextInt(4));
+                TestGraphs.assertSameShortestPaths(m, expected, actual);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LazyShortestPathsTest {
+
+    @Test
+    public void testMatchesFloydWarshall() {
+        Random random = new Random(31L);
+
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            int n = 1 + random.nextInt(40);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        -1, 
+                                                        9, 
+                                                        random);
+            ShortestPathData expected = new FloydWarshall().compute(m);
+
+            if (expected.containsNegativeWeightCycle()) {
+                try {
+                    new LazyShortestPaths(m, 1L << 20);
+                    fail("Expected an IllegalArgumentException.");
+                } catch (IllegalArgumentException ex) {
+                    continue;
+                }
+            }
+
+            LazyShortestPaths lazy = new LazyShortestPaths(m, 1L << 20);
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    double cost = expected.getCostMatrix()
+                                          .getShortestPathCost(i, j);
+                    assertEquals(cost, lazy.getShortestPathCost(i, j), 0.0);
+                    TestGraphs.assertPathCost(m, 
+                                              lazy.getShortestPath(i, j), 
+                                              i, 
+                                              j, 
+                                              cost);
+                }
+            }
+
+            assertEquals(n, lazy.getRowComputations());
+            assertEquals(0L, lazy.getRowCacheEvictions());
+        }
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedRow() {
+        AdjacencyMatrix m = 
+                TestGraphs.getRandomAdjacencyMatrix(10, 
+                                                    30, 
+                                                    1, 
+                                                    5, 
+                                                    new Random(37L));
+        // Room for two rows of ten costs and ten parents.
+        LazyShortestPaths lazy = new LazyShortestPaths(m, 2 * 10 * 12);
+        assertEquals(2, lazy.getRowCacheCapacity());
+
+        lazy.getShortestPathCost(0, 1);
+        lazy.getShortestPathCost(1, 2);
+        lazy.getParent(0, 3);
+        lazy.getShortestPathCost(2, 3);
+        assertEquals(3L, lazy.getRowComputations());
+        assertEquals(1L, lazy.getRowCacheHits());
+        assertEquals(1L, lazy.getRowCacheEvictions());
+
+        lazy.getShortestPathCost(0, 5);
+        lazy.getShortestPathCost(1, 5);
+        assertEquals(4L, lazy.getRowComputations());
+    }
+
+    @Test
+    public void testCollapsesConcurrentRowComputations() throws Exception {
+        AdjacencyMatrix m = 
+                TestGraphs.getRandomAdjacencyMatrix(300, 
+                                                    3000, 
+                                                    1, 
+                                                    9, 
+                                                    new Random(41L));
+        LazyShortestPaths lazy = new LazyShortestPaths(m, 1L << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Double>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < 8; ++t) {
+                int target = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return lazy.getShortestPathCost(7, target);
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Double> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1L, lazy.getRowComputations());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsBadNodeIndex() {
+        new LazyShortestPaths(new AdjacencyMatrix(3), 1024L)
+                .getShortestPathCost(3, 0);
+    }
+}
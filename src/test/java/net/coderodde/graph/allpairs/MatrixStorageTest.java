@@ -0,0 +1,162 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class MatrixStorageTest {
+
+    private static final FloydWarshall REFERENCE = new FloydWarshall();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testOffHeapStorageMatchesHeapStorage() {
+        checkIdentical(new FloydWarshall(MatrixStorage.offHeap()));
+    }
+
+    @Test
+    public void testMemoryMappedStorageMatchesHeapStorage() throws IOException {
+        Path costFile = folder.newFile("costs.bin").toPath();
+        Path parentFile = folder.newFile("parents.bin").toPath();
+
+        checkIdentical(new FloydWarshall(
+                MatrixStorage.memoryMapped(costFile, parentFile)));
+
+        // The last computation is in the files.
+        assertTrue(Files.size(costFile) > 0L);
+        assertTrue(Files.size(parentFile) > 0L);
+    }
+
+    @Test
+    public void testFixedPointStorageIsExactForIntegerWeights() {
+        checkIdentical(new FloydWarshall(
+                MatrixStorage.heap().withFixedPointCosts(1.0)));
+    }
+
+    @Test
+    public void testFloatStorageIsExactForSmallIntegerWeights() {
+        checkIdentical(new FloydWarshall(
+                MatrixStorage.heap().withFloatCosts().withCompactParents()));
+    }
+
+    @Test
+    public void testCompactParentsMatchHeapStorage() {
+        checkIdentical(new FloydWarshall(
+                MatrixStorage.heap().withCompactParents()));
+    }
+
+    @Test
+    public void testCompactParentsChosenByNumberOfNodes() {
+        MatrixStorage storage = MatrixStorage.heap().withCompactParents();
+
+        assertTrue(storage.createParentMatrix(10).getStorage() 
+                   instanceof CharMatrixStorage);
+        assertTrue(storage.createParentMatrix(0).getStorage() 
+                   instanceof CharMatrixStorage);
+        assertTrue(MatrixStorage.heap().createParentMatrix(10).getStorage()
+                   instanceof HeapIntMatrixStorage);
+    }
+
+    @Test
+    public void testFixedPointStorageRoundsToUnit() {
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 1, 0.26);
+        m.setArcCost(1, 2, 0.24);
+        ShortestPathData data = new FloydWarshall(
+                MatrixStorage.heap().withFixedPointCosts(0.25)).compute(m);
+        ShortestPathCostMatrix costs = data.getCostMatrix();
+
+        assertEquals(0.25, costs.getShortestPathCost(0, 1), 0.0);
+        assertEquals(0.25, costs.getShortestPathCost(1, 2), 0.0);
+        assertEquals(0.5, costs.getShortestPathCost(0, 2), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, 
+                     costs.getShortestPathCost(2, 0), 
+                     0.0);
+    }
+
+    @Test
+    public void testReducedStoragesStopAtNegativeWeightCycle() {
+        AdjacencyMatrix m = new AdjacencyMatrix(4);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, -3.0);
+        m.setArcCost(2, 1, 1.0);
+        m.setArcCost(2, 3, 1.0);
+        MatrixStorage[] storages = {
+            MatrixStorage.heap().withFloatCosts(),
+            MatrixStorage.heap().withFixedPointCosts(1.0),
+            MatrixStorage.heap().withCompactParents(),
+        };
+
+        for (MatrixStorage storage : storages) {
+            ShortestPathData data = 
+                    new FloydWarshall(storage, true).compute(m);
+
+            assertTrue(data.containsNegativeWeightCycle());
+            int[] cycle = data.getNegativeWeightCycle();
+            assertEquals(2, cycle.length);
+            assertTrue(cycle[0] == 1 || cycle[0] == 2);
+            assertEquals(3, cycle[0] + cycle[1]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonPositiveFixedPointUnit() {
+        MatrixStorage.heap().withFixedPointCosts(0.0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testThrowsOnReducedPrecisionOffHeap() {
+        MatrixStorage.offHeap().withFloatCosts();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnSameFiles() {
+        Path file = folder.getRoot().toPath().resolve("matrix.bin");
+        MatrixStorage.memoryMapped(file, file);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUpdaterRejectsOffHeapData() {
+        AdjacencyMatrix m = new AdjacencyMatrix(2);
+        m.setArcCost(0, 1, 2.0);
+        ShortestPathData data = 
+                new FloydWarshall(MatrixStorage.offHeap()).compute(m);
+        new ShortestPathUpdater().decreaseArcCost(data, m, 0, 1, 1.0);
+    }
+
+    private static void checkIdentical(FloydWarshall algorithm) {
+        Random random = new Random(47L);
+
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            int n = random.nextInt(40);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(Math.max(n, 1), 
+                                                        3 * n, 
+                                                        iteration % 2 - 1, 
+                                                        10, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+            ShortestPathData actual = algorithm.compute(m);
+
+            TestGraphs.assertSameShortestPaths(m, expected, actual);
+
+            if (expected.containsNegativeWeightCycle()) {
+                continue;
+            }
+
+            for (int i = 0; i < m.getNumberOfNodes(); ++i) {
+                for (int j = 0; j < m.getNumberOfNodes(); ++j) {
+                    assertEquals(expected.getParentMatrix().getParent(i, j),
+                                 actual.getParentMatrix().getParent(i, j));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NextHopMatrixTest {
+
+    private static final FloydWarshall ALGO = new FloydWarshall();
+
+    @Test
+    public void testNextHopsOnChain() {
+        AdjacencyMatrix m = new AdjacencyMatrix(4);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, 1.0);
+        m.setArcCost(2, 3, 1.0);
+        m.setArcCost(0, 3, 5.0);
+
+        for (NextHopMatrix.Encoding encoding : 
+                NextHopMatrix.Encoding.values()) {
+            NextHopMatrix next = ALGO.compute(m, encoding).getNextHopMatrix();
+
+            assertEquals(encoding, next.getEncoding());
+            assertEquals(1, next.getNextHop(0, 3));
+            assertEquals(ParentMatrix.NIL, next.getNextHop(0, 0));
+            assertEquals(ParentMatrix.NIL, next.getNextHop(3, 0));
+            assertArrayEquals(new int[]{ 0, 1, 2, 3 }, 
+                              next.getShortestPath(0, 3));
+            assertArrayEquals(new int[0], next.getShortestPath(3, 0));
+            assertArrayEquals(new int[]{ 2 }, next.getShortestPath(2, 2));
+        }
+    }
+
+    @Test
+    public void testNextHopPathsAreShortestPaths() {
+        Random random = new Random(83L);
+        FloydWarshall[] reduced = {
+            new FloydWarshall(MatrixStorage.heap().withCompactParents()),
+            new FloydWarshall(MatrixStorage.heap().withFloatCosts()),
+            new FloydWarshall(MatrixStorage.heap().withFixedPointCosts(1.0)),
+        };
+
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            int n = 1 + random.nextInt(40);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        3 * n, 
+                                                        0, 
+                                                        10, 
+                                                        random);
+
+            for (NextHopMatrix.Encoding encoding : 
+                    NextHopMatrix.Encoding.values()) {
+                check(m, ALGO.compute(m, encoding));
+
+                for (FloydWarshall algorithm : reduced) {
+                    check(m, algorithm.compute(m, encoding));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCompressedEncodingWidth() {
+        AdjacencyMatrix m = new AdjacencyMatrix(300);
+
+        for (int j = 1; j < 256; ++j) {
+            m.setArcCost(0, j, 1.0);
+        }
+
+        assertTrue(NextHopMatrix.create(m, NextHopMatrix.Encoding.COMPRESSED)
+                                .getStorage() instanceof ByteMatrixStorage);
+
+        m.setArcCost(0, 256, 1.0);
+
+        assertTrue(NextHopMatrix.create(m, NextHopMatrix.Encoding.COMPRESSED)
+                                .getStorage() instanceof CharMatrixStorage);
+
+        ShortestPathData data = 
+                ALGO.compute(m, NextHopMatrix.Encoding.COMPRESSED);
+
+        assertEquals(256, data.getNextHopMatrix().getNextHop(0, 256));
+        assertEquals(255, data.getNextHopMatrix().getNextHop(0, 255));
+    }
+
+    @Test
+    public void testUpdaterDropsNextHops() {
+        AdjacencyMatrix m = new AdjacencyMatrix(2);
+        m.setArcCost(0, 1, 2.0);
+        ShortestPathData data = 
+                ALGO.compute(m, NextHopMatrix.Encoding.PLAIN);
+
+        assertNotNull(data.getNextHopMatrix());
+        assertNull(ALGO.compute(m).getNextHopMatrix());
+
+        new ShortestPathUpdater().decreaseArcCost(data, m, 0, 1, 1.0);
+
+        assertNull(data.getNextHopMatrix());
+    }
+
+    @Test
+    public void testByteStorage() {
+        IntMatrixStorage storage = new ByteMatrixStorage(3, ParentMatrix.NIL);
+
+        assertEquals(ParentMatrix.NIL, storage.get(1, 2));
+
+        storage.set(1, 2, ByteMatrixStorage.MAX_VALUE);
+        storage.writeRow(0, new int[]{ 0, ParentMatrix.NIL, 7 });
+        int[] row = new int[3];
+        storage.readRow(0, row);
+
+        assertEquals(ByteMatrixStorage.MAX_VALUE, storage.get(1, 2));
+        assertArrayEquals(new int[]{ 0, ParentMatrix.NIL, 7 }, row);
+    }
+
+    private static void check(AdjacencyMatrix m, ShortestPathData data) {
+        NextHopMatrix next = data.getNextHopMatrix();
+        int n = m.getNumberOfNodes();
+        int[] path = new int[n + 1];
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                int length = next.getShortestPath(i, j, path, 1);
+
+                assertEquals(data.getParentMatrix().getShortestPath(i, j)
+                                                   .length, 
+                             length);
+                assertArrayEquals(next.getShortestPath(i, j),
+                                  Arrays.copyOfRange(path, 1, 1 + length));
+                TestGraphs.assertPathCost(
+                        m, 
+                        next.getShortestPath(i, j), 
+                        i, 
+                        j, 
+                        data.getCostMatrix().getShortestPathCost(i, j));
+            }
+        }
+    }
+}
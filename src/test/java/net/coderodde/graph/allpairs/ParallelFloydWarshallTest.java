@@ -0,0 +1,81 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ParallelFloydWarshallTest {
+
+    private static final FloydWarshall REFERENCE = new FloydWarshall();
+
+    @Test
+    public void testOnEmptyAdjacencyMatrix() {
+        ShortestPathData data = 
+                new ParallelFloydWarshall().compute(new AdjacencyMatrix(0));
+
+        assertEquals(0, data.getCostMatrix().getNumberOfNodes());
+        assertFalse(data.containsNegativeWeightCycle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonPositiveParallelism() {
+        new ParallelFloydWarshall().compute(new AdjacencyMatrix(3), 0);
+    }
+
+    @Test
+    public void testIdenticalToFloydWarshallOnForkJoinPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            checkIdentical(new ParallelFloydWarshall(pool), 0, 10);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testIdenticalToFloydWarshallOnThreadPool() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            checkIdentical(new ParallelFloydWarshall(executor), -2, 10);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void checkIdentical(ParallelFloydWarshall algorithm,
+                                       int minWeight,
+                                       int maxWeight) {
+        Random random = new Random(29L);
+
+        for (int iteration = 0; iteration < 30; ++iteration) {
+            int n = 1 + random.nextInt(50);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        minWeight, 
+                                                        maxWeight, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+            ShortestPathData actual = 
+                    algorithm.compute(m, 1 + random.nextInt(8));
+
+            TestGraphs.assertSameShortestPaths(m, expected, actual);
+
+            if (expected.containsNegativeWeightCycle()) {
+                continue;
+            }
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    assertEquals(expected.getParentMatrix().getParent(i, j),
+                                 actual.getParentMatrix().getParent(i, j));
+                }
+            }
+        }
+    }
+}
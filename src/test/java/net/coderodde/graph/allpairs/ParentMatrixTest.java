@@ -0,0 +1,153 @@
+package net.coderodde.graph.allpairs;
+
+import java.nio.BufferOverflowException;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ParentMatrixTest {
+
+    private static final FloydWarshall ALGO = new FloydWarshall();
+
+    @Test
+    public void testAllocationFreePathsMatchShortestPaths() {
+        Random random = new Random(61L);
+
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            int n = 1 + random.nextInt(40);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        0, 
+                                                        10, 
+                                                        random);
+            ParentMatrix parents = ALGO.compute(m).getParentMatrix();
+            int[] array = new int[n + 2];
+            IntBuffer buffer = IntBuffer.allocate(n);
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    int[] expected = parents.getShortestPath(i, j);
+                    int length = parents.getShortestPath(i, j, array, 2);
+
+                    assertEquals(expected.length, 
+                                 parents.getShortestPathLength(i, j));
+                    assertEquals(expected.length, length);
+                    assertArrayEquals(expected, 
+                                      Arrays.copyOfRange(array, 
+                                                         2, 
+                                                         2 + length));
+
+                    buffer.clear();
+
+                    assertEquals(expected.length, 
+                                 parents.getShortestPath(i, j, buffer));
+                    assertEquals(expected.length, buffer.position());
+
+                    for (int t = 0; t < length; ++t) {
+                        assertEquals(expected[t], buffer.get(t));
+                    }
+
+                    int[] reversed = new int[length];
+                    int[] count = new int[1];
+
+                    assertEquals(length, 
+                                 parents.forEachPathNodeBackwards(
+                                         i, 
+                                         j, 
+                                         node -> reversed[count[0]++] = node));
+
+                    for (int t = 0; t < length; ++t) {
+                        assertEquals(expected[t], reversed[length - 1 - t]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testForEachShortestPathVisitsReachableNodes() {
+        Random random = new Random(67L);
+
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            int n = 1 + random.nextInt(40);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        0, 
+                                                        10, 
+                                                        random);
+            ParentMatrix parents = ALGO.compute(m).getParentMatrix();
+
+            for (int source = 0; source < n; ++source) {
+                int[][] paths = new int[n][];
+                int s = source;
+
+                parents.forEachShortestPath(source, (path, length) -> {
+                    int target = path[length - 1];
+
+                    assertNull(paths[target]);
+                    assertEquals(s, path[0]);
+
+                    paths[target] = Arrays.copyOf(path, length);
+                });
+
+                for (int target = 0; target < n; ++target) {
+                    int[] expected = parents.getShortestPath(source, target);
+
+                    if (expected.length == 0) {
+                        assertNull(paths[target]);
+                    } else {
+                        assertArrayEquals(expected, paths[target]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnreachableTarget() {
+        ParentMatrix parents = ALGO.compute(new AdjacencyMatrix(2))
+                                   .getParentMatrix();
+
+        assertEquals(0, parents.getShortestPath(0, 1, new int[0], 0));
+        assertEquals(0, parents.getShortestPath(0, 1, IntBuffer.allocate(0)));
+        assertEquals(0, parents.forEachPathNodeBackwards(0, 1, node -> {
+            fail();
+        }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsWhenPathDoesNotFitInArray() {
+        getChain().getShortestPath(0, 2, new int[4], 2);
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testThrowsWhenPathDoesNotFitInBuffer() {
+        getChain().getShortestPath(0, 2, IntBuffer.allocate(2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testThrowsOnParentCycle() {
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 1, -1.0);
+        m.setArcCost(1, 2, -1.0);
+        m.setArcCost(2, 1, -1.0);
+        ParentMatrix parents = ALGO.compute(m).getParentMatrix();
+
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                parents.getShortestPathLength(i, j);
+            }
+        }
+    }
+
+    private static ParentMatrix getChain() {
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, 1.0);
+        return ALGO.compute(m).getParentMatrix();
+    }
+}
@@ -0,0 +1,317 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PartitionedFloydWarshallTest {
+
+    private static final FloydWarshall REFERENCE = new FloydWarshall();
+
+    @Test
+    public void testOnEmptyAdjacencyMatrix() {
+        ShortestPathData data = new PartitionedFloydWarshall(2)
+                .compute(new AdjacencyMatrix(0));
+
+        assertEquals(0, data.getCostMatrix().getNumberOfNodes());
+        assertFalse(data.containsNegativeWeightCycle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonPositiveGridSize() {
+        new PartitionedFloydWarshall(0);
+    }
+
+    @Test
+    public void testSameCostsAsFloydWarshall() {
+        Random random = new Random(89L);
+
+        for (int iteration = 0; iteration < 30; ++iteration) {
+            int n = 1 + random.nextInt(40);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        iteration % 3 - 2, 
+                                                        10, 
+                                                        random);
+            PartitionedFloydWarshall algorithm = 
+                    new PartitionedFloydWarshall(1 + iteration % 4);
+
+            TestGraphs.assertSameShortestPaths(m, 
+                                               REFERENCE.compute(m), 
+                                               algorithm.compute(m));
+        }
+    }
+
+    @Test
+    public void testParentsAroundZeroWeightCycles() {
+        AdjacencyMatrix m = new AdjacencyMatrix(5);
+        m.setArcCost(0, 1, 2.0);
+        m.setArcCost(0, 2, 4.0);
+        m.setArcCost(0, 3, 1.0);
+        m.setArcCost(1, 4, 4.0);
+        m.setArcCost(2, 3, 0.0);
+        m.setArcCost(3, 0, 1.0);
+        m.setArcCost(3, 2, 0.0);
+        m.setArcCost(4, 2, 5.0);
+        ShortestPathData data = new PartitionedFloydWarshall(2).compute(m);
+
+        TestGraphs.assertSameShortestPaths(m, REFERENCE.compute(m), data);
+        assertArrayEquals(new int[]{ 1, 4, 2, 3, 0 }, 
+                          data.getParentMatrix().getShortestPath(1, 0));
+    }
+
+    @Test
+    public void testParentsOnRandomGraphsWithZeroWeightCycles() {
+        Random random = new Random(5L);
+
+        for (int iteration = 0; iteration < 100; ++iteration) {
+            int n = 2 + random.nextInt(30);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        3 * n, 
+                                                        0, 
+                                                        3, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+
+            for (int gridSize = 2; gridSize <= 5; ++gridSize) {
+                TestGraphs.assertSameShortestPaths(
+                        m, 
+                        expected,
+                        new PartitionedFloydWarshall(gridSize).compute(m));
+            }
+        }
+    }
+
+    @Test
+    public void testShardedQueriesMatchMergedData() {
+        Random random = new Random(97L);
+        int n = 23;
+        AdjacencyMatrix m = 
+                TestGraphs.getRandomAdjacencyMatrix(n, 60, 0, 10, random);
+        ShardedShortestPathData sharded = 
+                new PartitionedFloydWarshall(3).computeSharded(m);
+        ShortestPathData merged = sharded.toShortestPathData();
+
+        assertEquals(n, sharded.getNumberOfNodes());
+        assertEquals(8, sharded.getTile(0, 2).getNumberOfRows());
+        assertEquals(7, sharded.getTile(0, 2).getNumberOfColumns());
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                assertEquals(merged.getCostMatrix().getShortestPathCost(i, j),
+                             sharded.getShortestPathCost(i, j),
+                             0.0);
+                assertEquals(merged.getParentMatrix().getParent(i, j),
+                             sharded.getParent(i, j));
+            }
+        }
+    }
+
+    @Test
+    public void testPluggableTransport() {
+        int gridSize = 3;
+        AtomicInteger messages = new AtomicInteger();
+        TileTransport loopback = new LoopbackTileTransport(gridSize * gridSize);
+        TileTransport counting = new TileTransport() {
+            @Override
+            public void send(int targetWorker, TileMessage message) {
+                messages.incrementAndGet();
+                loopback.send(targetWorker, message);
+            }
+
+            @Override
+            public TileMessage receive(int worker) 
+                    throws InterruptedException {
+                return loopback.receive(worker);
+            }
+        };
+        AdjacencyMatrix m = TestGraphs.getRandomAdjacencyMatrix(
+                10, 30, 0, 10, new Random(101L));
+
+        TestGraphs.assertSameShortestPaths(
+                m, 
+                REFERENCE.compute(m),
+                new PartitionedFloydWarshall(gridSize).compute(m, counting));
+
+        // Per phase, the diagonal tile goes to 2 (q - 1) workers and each of 
+        // the other 2 (q - 1) pivot tiles to q - 1 workers.
+        assertEquals(gridSize * 2 * (gridSize - 1) * gridSize, 
+                     messages.get());
+    }
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        TileMessage message = new TileMessage(2, 
+                                              1, 
+                                              0, 
+                                              2, 
+                                              3, 
+                                              new double[]{ 
+                                                  0.0, 
+                                                  -1.5, 
+                                                  Double.POSITIVE_INFINITY, 
+                                                  4.0, 
+                                                  5.25, 
+                                                  6.0 
+                                              },
+                                              new int[]{ -1, 3, -1, 0, 1, 2 },
+                                              new int[]{ 0, 1, 0, 2, 3, 4 });
+        TileMessage decoded = TileMessage.decode(message.encode());
+
+        assertEquals(2, decoded.getPhase());
+        assertEquals(1, decoded.getTileRow());
+        assertEquals(0, decoded.getTileColumn());
+        assertEquals(2, decoded.getNumberOfRows());
+        assertEquals(3, decoded.getNumberOfColumns());
+        assertArrayEquals(message.getParents(), decoded.getParents());
+        assertArrayEquals(message.getHops(), decoded.getHops());
+
+        for (int i = 0; i < 6; ++i) {
+            assertEquals(message.getCosts()[i], decoded.getCosts()[i], 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeThrowsOnTruncatedMessage() {
+        TileMessage message = new TileMessage(0, 
+                                              0, 
+                                              0, 
+                                              1, 
+                                              1, 
+                                              new double[]{ 0.0 }, 
+                                              new int[]{ -1 }, 
+                                              new int[]{ 0 });
+        byte[] bytes = message.encode();
+        TileMessage.decode(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test
+    public void testWorkersSplitBetweenProcesses() throws Exception {
+        int gridSize = 3;
+        int n = 20;
+        AdjacencyMatrix m = TestGraphs.getRandomAdjacencyMatrix(
+                n, 60, 0, 3, new Random(103L));
+        ShortestPathData expected = REFERENCE.compute(m);
+        PartitionedFloydWarshall algorithm = 
+                new PartitionedFloydWarshall(gridSize);
+        TileTransport loopback = new LoopbackTileTransport(gridSize * gridSize);
+        // Every message crosses the "process boundary" in its encoded form.
+        TileTransport serializing = new TileTransport() {
+            @Override
+            public void send(int targetWorker, TileMessage message) {
+                loopback.send(targetWorker, 
+                              TileMessage.decode(message.encode()));
+            }
+
+            @Override
+            public TileMessage receive(int worker) 
+                    throws InterruptedException {
+                return loopback.receive(worker);
+            }
+        };
+
+        // The odd workers run standalone, as they would in another process.
+        ExecutorService remote = Executors.newCachedThreadPool();
+        List<Future<TileMessage>> remoteTiles = new ArrayList<>();
+
+        try {
+            for (int worker = 1; worker < gridSize * gridSize; worker += 2) {
+                TileMessage tile = 
+                        algorithm.getInitialTile(m, 
+                                                 worker / gridSize, 
+                                                 worker % gridSize);
+                remoteTiles.add(remote.submit(
+                        new PartitionWorker(tile, serializing, n, gridSize)));
+            }
+
+            ShardedShortestPathData local = 
+                    algorithm.computeSharded(m, 
+                                             serializing, 
+                                             worker -> worker % 2 == 0);
+            List<TileMessage> tiles = new ArrayList<>();
+
+            for (Future<TileMessage> future : remoteTiles) {
+                tiles.add(future.get());
+            }
+
+            for (int worker = 0; worker < gridSize * gridSize; ++worker) {
+                int tileRow = worker / gridSize;
+                int tileColumn = worker % gridSize;
+                assertEquals(worker % 2 == 0, 
+                             local.hasTile(tileRow, tileColumn));
+
+                if (worker % 2 == 0) {
+                    tiles.add(local.getTile(tileRow, tileColumn));
+                }
+            }
+
+            assertEquals(gridSize * gridSize, tiles.size());
+
+            for (TileMessage tile : tiles) {
+                int i0 = tile.getTileRow() * 7;
+                int j0 = tile.getTileColumn() * 7;
+                int columns = tile.getNumberOfColumns();
+
+                for (int i = 0; i < tile.getNumberOfRows(); ++i) {
+                    for (int j = 0; j < columns; ++j) {
+                        assertEquals(expected.getCostMatrix()
+                                             .getShortestPathCost(i0 + i, 
+                                                                  j0 + j),
+                                     tile.getCosts()[i * columns + j],
+                                     0.0);
+                    }
+                }
+            }
+        } finally {
+            remote.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testQueryOnRemoteTileThrows() {
+        ShardedShortestPathData data = new PartitionedFloydWarshall(2)
+                .computeSharded(new AdjacencyMatrix(4), 
+                                new LoopbackTileTransport(4), 
+                                worker -> false);
+
+        assertFalse(data.hasTile(0, 1));
+        data.getShortestPathCost(0, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWorkerRejectsForeignTile() {
+        AdjacencyMatrix m = new AdjacencyMatrix(5);
+        TileMessage tile = 
+                new PartitionedFloydWarshall(2).getInitialTile(m, 0, 0);
+        new PartitionWorker(tile, new LoopbackTileTransport(9), 5, 3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testThrowsWhenTransportFails() {
+        TileTransport broken = new TileTransport() {
+            @Override
+            public void send(int targetWorker, TileMessage message) {
+                throw new IllegalStateException("The network is down.");
+            }
+
+            @Override
+            public TileMessage receive(int worker) 
+                    throws InterruptedException {
+                Thread.sleep(Long.MAX_VALUE);
+                return null;
+            }
+        };
+
+        new PartitionedFloydWarshall(2).compute(new AdjacencyMatrix(4), 
+                                                broken);
+    }
+}
@@ -0,0 +1,150 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PathCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsedPath() {
+        PathCache cache = new PathCache(2);
+        int[] a = { 0 };
+        int[] b = { 1 };
+        int[] c = { 2 };
+
+        assertFalse(cache.put(1L, a));
+        assertFalse(cache.put(2L, b));
+        assertSame(a, cache.get(1L));
+        assertTrue(cache.put(3L, c));
+        assertNull(cache.get(2L));
+        assertSame(a, cache.get(1L));
+        assertSame(c, cache.get(3L));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testPackedKeysAreDistinct() {
+        assertTrue(PathCache.getKey(1, 2) != PathCache.getKey(2, 1));
+        assertTrue(PathCache.getKey(0, 5) != PathCache.getKey(5, 0));
+    }
+
+    @Test
+    public void testMatchesLinkedHashMap() {
+        Random random = new Random(73L);
+        int capacity = 17;
+        PathCache cache = new PathCache(capacity);
+        Map<Long, int[]> expected = 
+                new LinkedHashMap<Long, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> e) {
+                return size() > capacity;
+            }
+        };
+
+        for (int operation = 0; operation < 10_000; ++operation) {
+            long key = PathCache.getKey(random.nextInt(8), random.nextInt(8));
+
+            if (random.nextBoolean()) {
+                assertSame(expected.get(key), cache.get(key));
+            } else {
+                int[] path = { operation };
+                boolean evicts = expected.size() == capacity 
+                                 && !expected.containsKey(key);
+
+                assertEquals(evicts, cache.put(key, path));
+                expected.put(key, path);
+            }
+
+            assertEquals(expected.size(), cache.size());
+        }
+    }
+
+    @Test
+    public void testStripesOnlyLargeCaches() {
+        assertEquals(1, new PathCache(100).getNumberOfSegments());
+        assertEquals(4, new PathCache(300).getNumberOfSegments());
+        assertEquals(PathCache.MAX_NUMBER_OF_SEGMENTS, 
+                     new PathCache(1 << 20).getNumberOfSegments());
+    }
+
+    @Test
+    public void testStripedCacheKeepsCapacity() {
+        Random random = new Random(71L);
+        int capacity = 1000;
+        PathCache cache = new PathCache(capacity, 8);
+        Map<Long, int[]> stored = new HashMap<>();
+
+        for (int operation = 0; operation < 20_000; ++operation) {
+            long key = PathCache.getKey(random.nextInt(100), 
+                                        random.nextInt(100));
+            int[] path = { operation };
+            cache.put(key, path);
+            stored.put(key, path);
+            assertTrue(cache.size() <= capacity);
+        }
+
+        assertEquals(capacity, cache.size());
+        int found = 0;
+
+        for (Map.Entry<Long, int[]> entry : stored.entrySet()) {
+            int[] path = cache.get(entry.getKey());
+
+            if (path != null) {
+                assertSame(entry.getValue(), path);
+                ++found;
+            }
+        }
+
+        assertEquals(capacity, found);
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        PathCache cache = new PathCache(512, 8);
+        Thread[] threads = new Thread[4];
+        AtomicBoolean failed = new AtomicBoolean();
+
+        for (int t = 0; t < threads.length; ++t) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+
+                for (int operation = 0; operation < 50_000; ++operation) {
+                    int source = random.nextInt(64);
+                    int target = random.nextInt(64);
+                    long key = PathCache.getKey(source, target);
+                    int[] path = cache.get(key);
+
+                    if (path == null) {
+                        cache.put(key, new int[]{ source, target });
+                    } else if (path[0] != source || path[1] != target) {
+                        failed.set(true);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(failed.get());
+        assertTrue(cache.size() <= 512);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonPowerOfTwoSegments() {
+        new PathCache(100, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnNonPositiveCapacity() {
+        new PathCache(0);
+    }
+}
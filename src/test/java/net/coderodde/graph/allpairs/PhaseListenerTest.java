@@ -0,0 +1,118 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class PhaseListenerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReportsEveryPhase() {
+        Random random = new Random(11L);
+        AdjacencyMatrix m = 
+                TestGraphs.getRandomAdjacencyMatrix(30, 200, 1, 10, random);
+
+        for (MatrixStorage storage : new MatrixStorage[]{ 
+                MatrixStorage.heap(), MatrixStorage.offHeap() }) {
+            List<long[]> phases = new ArrayList<>();
+            ShortestPathData data = 
+                    new FloydWarshall(storage).compute(
+                            m,
+                            (phase, numberOfPhases, elapsedNanos, 
+                             relaxations, improvements) -> {
+                                assertEquals(30, numberOfPhases);
+                                assertTrue(elapsedNanos >= 0L);
+                                phases.add(new long[]{ 
+                                    phase, relaxations, improvements 
+                                });
+                            },
+                            new CancellationToken());
+
+            assertEquals(30, phases.size());
+            long totalImprovements = 0L;
+
+            for (int k = 0; k < phases.size(); ++k) {
+                long[] phase = phases.get(k);
+                assertEquals(k, phase[0]);
+                assertTrue(phase[1] % 30 == 0 && phase[1] <= 30 * 30);
+                assertTrue(phase[2] <= phase[1]);
+                totalImprovements += phase[2];
+            }
+
+            assertTrue(totalImprovements > 0L);
+            TestGraphs.assertSameShortestPaths(m, 
+                                               new FloydWarshall().compute(m), 
+                                               data);
+        }
+    }
+
+    @Test
+    public void testCancellationStopsBeforeNextPhase() {
+        AdjacencyMatrix m = 
+                TestGraphs.getRandomAdjacencyMatrix(20, 
+                                                    100, 
+                                                    1, 
+                                                    5, 
+                                                    new Random(13L));
+        CancellationToken token = new CancellationToken();
+        int[] phases = { 0 };
+
+        try {
+            new FloydWarshall().compute(m, 
+                                        (phase, numberOfPhases, elapsedNanos,
+                                         relaxations, improvements) -> {
+                                            if (++phases[0] == 5) {
+                                                token.cancel();
+                                            }
+                                        },
+                                        token);
+            fail("Expected a CancellationException.");
+        } catch (CancellationException ex) {
+            assertTrue(token.isCancelled());
+            assertEquals(5, phases[0]);
+        }
+    }
+
+    @Test
+    public void testRecordsJfrEvents() throws IOException {
+        AdjacencyMatrix m = 
+                TestGraphs.getRandomAdjacencyMatrix(8, 
+                                                    30, 
+                                                    1, 
+                                                    5, 
+                                                    new Random(17L));
+        Path file = folder.newFile("phases.jfr").toPath();
+
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.NAME);
+            recording.start();
+            new FloydWarshall().compute(m);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        int events = 0;
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().equals(PhaseEvent.NAME)) {
+                assertEquals(8, event.getInt("numberOfPhases"));
+                ++events;
+            }
+        }
+
+        assertEquals(8, events);
+    }
+}
@@ -0,0 +1,139 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SccFloydWarshallTest {
+
+    @Test
+    public void testMatchesFloydWarshallOnRandomGraphs() {
+        Random random = new Random(43L);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            for (int iteration = 0; iteration < 30; ++iteration) {
+                int n = random.nextInt(40);
+                AdjacencyMatrix m = 
+                        TestGraphs.getRandomAdjacencyMatrix(
+                                Math.max(n, 1), 
+                                random.nextInt(3 * n + 1), 
+                                iteration % 2 == 0 ? 0 : -2, 
+                                9, 
+                                random);
+                ShortestPathData expected = new FloydWarshall().compute(m);
+
+                for (int parallelism = 1; parallelism <= 4; parallelism += 3) {
+                    TestGraphs.assertSameShortestPaths(
+                            m, 
+                            expected, 
+                            new SccFloydWarshall(executor)
+                                    .compute(m, parallelism));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMatchesFloydWarshallOnChainedComponents() {
+        Random random = new Random(47L);
+        int componentSize = 6;
+        int numberOfComponents = 8;
+        int n = componentSize * numberOfComponents;
+
+        for (int iteration = 0; iteration < 10; ++iteration) {
+            AdjacencyMatrix m = new AdjacencyMatrix(n);
+
+            for (int c = 0; c < numberOfComponents; ++c) {
+                int base = c * componentSize;
+
+                // A cycle through the component plus a few chords.
+                for (int i = 0; i < componentSize; ++i) {
+                    m.setArcCost(base + i, 
+                                 base + (i + 1) % componentSize, 
+                                 random.nextInt(5));
+                    m.setArcCost(base + random.nextInt(componentSize),
+                                 base + random.nextInt(componentSize),
+                                 random.nextInt(5));
+                }
+
+                // One-way links to later components only, some with ties.
+                for (int link = 0; link < 3 && c + 1 < numberOfComponents; 
+                        ++link) {
+                    int target = c + 1 + random.nextInt(
+                            Math.min(2, numberOfComponents - c - 1));
+                    m.setArcCost(base + random.nextInt(componentSize),
+                                 target * componentSize 
+                                         + random.nextInt(componentSize),
+                                 random.nextInt(3) - 1);
+                }
+            }
+
+            TestGraphs.assertSameShortestPaths(m, 
+                                               new FloydWarshall().compute(m), 
+                                               new SccFloydWarshall()
+                                                       .compute(m));
+        }
+    }
+
+    @Test
+    public void testUnreachableComponentsStayInfinite() {
+        // {0, 1} -> {2, 3}, and {4} on its own.
+        AdjacencyMatrix m = new AdjacencyMatrix(5);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 0, 1.0);
+        m.setArcCost(2, 3, 1.0);
+        m.setArcCost(3, 2, 1.0);
+        m.setArcCost(1, 2, 5.0);
+
+        ShortestPathData data = new SccFloydWarshall().compute(m, 1);
+        ShortestPathCostMatrix costs = data.getCostMatrix();
+        assertEquals(7.0, costs.getShortestPathCost(0, 3), 0.0);
+        assertArrayEquals(new int[]{ 0, 1, 2, 3 }, 
+                          data.getParentMatrix().getShortestPath(0, 3));
+        assertTrue(Double.isInfinite(costs.getShortestPathCost(2, 0)));
+        assertTrue(Double.isInfinite(costs.getShortestPathCost(0, 4)));
+        assertTrue(Double.isInfinite(costs.getShortestPathCost(4, 0)));
+        assertEquals(ParentMatrix.NIL, data.getParentMatrix().getParent(3, 1));
+        assertFalse(data.containsNegativeWeightCycle());
+    }
+
+    @Test
+    public void testFindsComponentsInReverseTopologicalOrder() {
+        // 0 -> {1, 2} -> 3, plus a long path to exercise the iteration.
+        int n = 10_000;
+        int[] tails = new int[n + 2];
+        int[] heads = new int[n + 2];
+        double[] costs = new double[n + 2];
+
+        for (int i = 0; i < n - 1; ++i) {
+            tails[i] = i;
+            heads[i] = i + 1;
+        }
+
+        tails[n - 1] = 2;
+        heads[n - 1] = 1;
+        tails[n] = 5;
+        heads[n] = 3;
+        tails[n + 1] = 3;
+        heads[n + 1] = 4;
+
+        StronglyConnectedComponents components = 
+                new StronglyConnectedComponents(
+                        new SparseGraph(n, tails, heads, costs));
+        assertEquals(n - 3, components.getNumberOfComponents());
+        assertEquals(components.getComponent(1), components.getComponent(2));
+        assertEquals(components.getComponent(3), components.getComponent(5));
+        assertEquals(2, components.getComponentSize(
+                components.getComponent(1)));
+
+        for (int i = 0; i < n - 1; ++i) {
+            assertTrue(components.getComponent(i) 
+                           >= components.getComponent(i + 1));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package net.coderodde.graph.allpairs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class ShortestPathDataIOTest {
+
+    private static final FloydWarshall ALGO = new FloydWarshall();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random random = new Random(53L);
+
+        for (int iteration = 0; iteration < 10; ++iteration) {
+            int n = 1 + random.nextInt(40);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        3 * n, 
+                                                        iteration % 2 - 1, 
+                                                        10, 
+                                                        random);
+            ShortestPathData expected = ALGO.compute(m);
+            Path file = folder.newFile().toPath();
+
+            ShortestPathDataIO.write(expected, file);
+            ShortestPathData actual = ShortestPathDataIO.load(file, true);
+
+            assertEquals(expected.containsNegativeWeightCycle(),
+                         actual.containsNegativeWeightCycle());
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    assertEquals(
+                            expected.getCostMatrix().getShortestPathCost(i, j),
+                            actual.getCostMatrix().getShortestPathCost(i, j),
+                            0.0);
+                    assertEquals(
+                            expected.getParentMatrix().getParent(i, j),
+                            actual.getParentMatrix().getParent(i, j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyData() throws IOException {
+        Path file = folder.newFile().toPath();
+        ShortestPathDataIO.write(ALGO.compute(new AdjacencyMatrix(0)), file);
+
+        assertEquals(0, ShortestPathDataIO.load(file, true)
+                                          .getCostMatrix()
+                                          .getNumberOfNodes());
+    }
+
+    @Test(expected = IOException.class)
+    public void testDetectsCorruption() throws IOException {
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 1, 1.0);
+        Path file = folder.newFile().toPath();
+        ShortestPathDataIO.write(ALGO.compute(m), file);
+
+        try (FileChannel channel = 
+                FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{ 42 }), 
+                          ShortestPathDataIO.HEADER_SIZE + 5);
+        }
+
+        // Without verification the corruption goes unnoticed.
+        ShortestPathDataIO.load(file);
+        ShortestPathDataIO.load(file, true);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsForeignFile() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        try (FileChannel channel = 
+                FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[64]));
+        }
+
+        ShortestPathDataIO.load(file);
+    }
+}
@@ -0,0 +1,192 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ShortestPathQueryServiceTest {
+
+    private static final FloydWarshall ALGO = new FloydWarshall();
+
+    @Test
+    public void testBatchedLookupsMatchSingleLookups() {
+        Random random = new Random(71L);
+        int n = 30;
+        ShortestPathData data = ALGO.compute(
+                TestGraphs.getRandomAdjacencyMatrix(n, 60, 0, 10, random));
+        ShortestPathQueryService service = new ShortestPathQueryService(data);
+        int[] sources = new int[100];
+        int[] targets = new int[100];
+        double[] costs = new double[100];
+        int[] lengths = new int[100];
+
+        for (int i = 0; i < sources.length; ++i) {
+            sources[i] = random.nextInt(n);
+            targets[i] = random.nextInt(n);
+        }
+
+        assertSame(data, service.getShortestPathCosts(sources, 
+                                                      targets, 
+                                                      costs));
+        assertSame(data, service.getShortestPathLengths(sources, 
+                                                        targets, 
+                                                        lengths));
+
+        for (int i = 0; i < sources.length; ++i) {
+            assertEquals(service.getShortestPathCost(sources[i], targets[i]),
+                         costs[i], 
+                         0.0);
+            assertEquals(service.getShortestPath(sources[i], 
+                                                 targets[i]).length,
+                         lengths[i]);
+        }
+    }
+
+    @Test
+    public void testSwapReturnsPreviousSnapshot() {
+        ShortestPathData first = ALGO.compute(new AdjacencyMatrix(2));
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 2, 4.0);
+        ShortestPathData second = ALGO.compute(m);
+        ShortestPathQueryService service = new ShortestPathQueryService(first);
+
+        assertSame(first, service.swap(second));
+        assertSame(second, service.getSnapshot());
+        assertEquals(3, service.getNumberOfNodes());
+        assertEquals(4.0, service.getShortestPathCost(0, 2), 0.0);
+    }
+
+    @Test
+    public void testPathCacheCountsHitsMissesAndEvictions() {
+        Random random = new Random(79L);
+        int n = 20;
+        ShortestPathData data = ALGO.compute(
+                TestGraphs.getRandomAdjacencyMatrix(n, 60, 0, 10, random));
+        ShortestPathQueryService service = 
+                new ShortestPathQueryService(data, 2);
+        int[] path = new int[n];
+
+        assertArrayEquals(data.getParentMatrix().getShortestPath(0, 1),
+                          service.getShortestPath(0, 1));
+        assertArrayEquals(data.getParentMatrix().getShortestPath(0, 1),
+                          service.getShortestPath(0, 1));
+
+        int length = service.getShortestPath(2, 3, path, 0);
+
+        assertArrayEquals(data.getParentMatrix().getShortestPath(2, 3),
+                          Arrays.copyOf(path, length));
+        assertEquals(1L, service.getPathCacheHits());
+        assertEquals(2L, service.getPathCacheMisses());
+        assertEquals(0L, service.getPathCacheEvictions());
+
+        service.getShortestPath(4, 5);
+
+        assertEquals(1L, service.getPathCacheEvictions());
+    }
+
+    @Test
+    public void testSwapInvalidatesPathCache() {
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 2, 1.0);
+        ShortestPathQueryService service = 
+                new ShortestPathQueryService(ALGO.compute(m), 10);
+
+        assertArrayEquals(new int[]{ 0, 2 }, service.getShortestPath(0, 2));
+
+        m.setArcCost(0, 1, 0.25);
+        m.setArcCost(1, 2, 0.25);
+        service.swap(ALGO.compute(m));
+
+        assertArrayEquals(new int[]{ 0, 1, 2 }, 
+                          service.getShortestPath(0, 2));
+        assertEquals(0L, service.getPathCacheHits());
+        assertEquals(2L, service.getPathCacheMisses());
+    }
+
+    @Test
+    public void testCachedPathsCannotBeModifiedByCallers() {
+        AdjacencyMatrix m = new AdjacencyMatrix(2);
+        m.setArcCost(0, 1, 1.0);
+        ShortestPathQueryService service = 
+                new ShortestPathQueryService(ALGO.compute(m), 10);
+
+        service.getShortestPath(0, 1)[0] = 1;
+
+        assertArrayEquals(new int[]{ 0, 1 }, service.getShortestPath(0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnBatchLengthMismatch() {
+        new ShortestPathQueryService(ALGO.compute(new AdjacencyMatrix(2)))
+                .getShortestPathCosts(new int[2], new int[2], new double[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnInvalidNodeInBatch() {
+        new ShortestPathQueryService(ALGO.compute(new AdjacencyMatrix(2)))
+                .getShortestPathLengths(new int[]{ 0, 2 }, 
+                                        new int[2], 
+                                        new int[2]);
+    }
+
+    @Test
+    public void testReadersSeeCompleteSnapshotsDuringSwaps() 
+            throws InterruptedException {
+        int n = 20;
+        ShortestPathData[] versions = new ShortestPathData[2];
+
+        // In the version 'v' every path of one arc costs 'v + 1'.
+        for (int v = 0; v < versions.length; ++v) {
+            AdjacencyMatrix m = new AdjacencyMatrix(n);
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    m.setArcCost(i, j, v + 1.0);
+                }
+            }
+
+            versions[v] = ALGO.compute(m);
+        }
+
+        ShortestPathQueryService service = 
+                new ShortestPathQueryService(versions[0]);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            int[] sources = new int[n * n];
+            int[] targets = new int[n * n];
+            double[] costs = new double[n * n];
+
+            for (int i = 0; i < n * n; ++i) {
+                sources[i] = i / n;
+                targets[i] = i % n == i / n ? (i + 1) % n : i % n;
+            }
+
+            try {
+                while (!done.get()) {
+                    service.getShortestPathCosts(sources, targets, costs);
+
+                    for (double cost : costs) {
+                        assertEquals(costs[0], cost, 0.0);
+                    }
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+
+        reader.start();
+
+        for (int swap = 0; swap < 1000; ++swap) {
+            service.swap(versions[swap % 2]);
+        }
+
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+    }
+}
@@ -0,0 +1,169 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ShortestPathUpdaterTest {
+
+    private static final FloydWarshall REFERENCE = new FloydWarshall();
+    private static final ShortestPathUpdater UPDATER = 
+            new ShortestPathUpdater();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseThrowsOnIncrease() {
+        AdjacencyMatrix m = new AdjacencyMatrix(2);
+        m.setArcCost(0, 1, 1.0);
+        UPDATER.decreaseArcCost(REFERENCE.compute(m), m, 0, 1, 2.0);
+    }
+
+    @Test
+    public void testDecreaseDetectsNegativeWeightCycle() {
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, 1.0);
+        m.setArcCost(2, 0, 1.0);
+        ShortestPathData data = REFERENCE.compute(m);
+
+        UPDATER.decreaseArcCost(data, m, 2, 0, -2.0);
+        assertFalse(data.containsNegativeWeightCycle());
+
+        UPDATER.decreaseArcCost(data, m, 2, 0, -2.5);
+        assertTrue(data.containsNegativeWeightCycle());
+    }
+
+    @Test
+    public void testDecreaseMatchesRecomputation() {
+        Random random = new Random(41L);
+
+        for (int iteration = 0; iteration < 30; ++iteration) {
+            int n = 2 + random.nextInt(30);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        2 * n, 
+                                                        0, 
+                                                        20, 
+                                                        random);
+            ShortestPathData data = REFERENCE.compute(m);
+
+            for (int update = 0; update < 10; ++update) {
+                int tail = random.nextInt(n);
+                int head = random.nextInt(n);
+                double oldCost = m.getArcCost(tail, head);
+                double newCost = 
+                        Math.min(oldCost, random.nextInt(20) - 1);
+
+                UPDATER.decreaseArcCost(data, m, tail, head, newCost);
+                TestGraphs.assertSameShortestPaths(m, 
+                                                   REFERENCE.compute(m), 
+                                                   data);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnBadThreshold() {
+        new ShortestPathUpdater(1.5);
+    }
+
+    @Test
+    public void testArcRemovalReroutes() {
+        // 0 -> 1 -> 2 costs 2.0, 0 -> 2 costs 5.0.
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, 1.0);
+        m.setArcCost(0, 2, 5.0);
+        ShortestPathData data = REFERENCE.compute(m);
+
+        assertFalse(new ShortestPathUpdater(1.0).applyArcCostChanges(
+                data, 
+                m, 
+                Arrays.asList(new ArcCostChange(1, 2, 
+                                                Double.POSITIVE_INFINITY))));
+
+        assertEquals(5.0, data.getCostMatrix().getShortestPathCost(0, 2), 0.0);
+        assertArrayEquals(new int[]{ 0, 2 }, 
+                          data.getParentMatrix().getShortestPath(0, 2));
+        assertEquals(Double.POSITIVE_INFINITY,
+                     data.getCostMatrix().getShortestPathCost(1, 2), 
+                     0.0);
+        assertEquals(0, data.getParentMatrix().getShortestPath(1, 2).length);
+    }
+
+    @Test
+    public void testFallsBackToFullRecomputation() {
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, 1.0);
+        ShortestPathData data = REFERENCE.compute(m);
+
+        assertTrue(new ShortestPathUpdater(0.0).applyArcCostChanges(
+                data, 
+                m, 
+                Arrays.asList(new ArcCostChange(0, 1, 3.0))));
+        TestGraphs.assertSameShortestPaths(m, REFERENCE.compute(m), data);
+    }
+
+    @Test
+    public void testBatchMatchesRecomputation() {
+        Random random = new Random(43L);
+        ShortestPathUpdater updater = new ShortestPathUpdater(0.5);
+
+        for (int iteration = 0; iteration < 40; ++iteration) {
+            int n = 2 + random.nextInt(30);
+            int minWeight = iteration % 2 == 0 ? 0 : -2;
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        3 * n, 
+                                                        minWeight, 
+                                                        20, 
+                                                        random);
+            ShortestPathData data = REFERENCE.compute(m);
+
+            for (int batch = 0; batch < 5; ++batch) {
+                List<ArcCostChange> changes = new ArrayList<>();
+
+                for (int i = 1 + random.nextInt(4); i > 0; --i) {
+                    double newCost = random.nextInt(5) == 0 ?
+                                     Double.POSITIVE_INFINITY :
+                                     minWeight + random.nextInt(25);
+                    changes.add(new ArcCostChange(random.nextInt(n),
+                                                  random.nextInt(n),
+                                                  newCost));
+                }
+
+                updater.applyArcCostChanges(data, m, changes);
+                TestGraphs.assertSameShortestPaths(m, 
+                                                   REFERENCE.compute(m), 
+                                                   data);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchMixingIncreaseAndDecrease() {
+        AdjacencyMatrix m = new AdjacencyMatrix(4);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(0, 2, 2.8);
+        m.setArcCost(1, 2, 10.0);
+        m.setArcCost(1, 3, 1.0);
+        m.setArcCost(3, 2, 1.0);
+        ShortestPathData data = REFERENCE.compute(m);
+
+        // The increase affects the row 0 only via 3 -> 2; the decrease must 
+        // still reach every row.
+        new ShortestPathUpdater(1.0).applyArcCostChanges(
+                data, 
+                m, 
+                Arrays.asList(new ArcCostChange(3, 2, 100.0),
+                              new ArcCostChange(1, 2, 1.5)));
+
+        assertEquals(2.5, 
+                     data.getCostMatrix().getShortestPathCost(0, 2), 
+                     0.0);
+        TestGraphs.assertSameShortestPaths(m, REFERENCE.compute(m), data);
+    }
+}
@@ -0,0 +1,91 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class contains helper methods shared by the engine tests.
+ */
+final class TestGraphs {
+
+    private TestGraphs() {}
+
+    /**
+     * Creates a random graph with integral arc weights from the range
+     * {@code [minWeight, maxWeight]}. Integral weights keep all the path costs
+     * exact, so the results of different engines may be compared without a 
+     * tolerance.
+     */
+    static AdjacencyMatrix getRandomAdjacencyMatrix(int nodes, 
+                                                    int arcs,
+                                                    int minWeight,
+                                                    int maxWeight,
+                                                    Random random) {
+        AdjacencyMatrix m = new AdjacencyMatrix(nodes);
+
+        for (int i = 0; i < arcs; ++i) {
+            m.setArcCost(random.nextInt(nodes),
+                         random.nextInt(nodes),
+                         minWeight + random.nextInt(maxWeight - minWeight + 1));
+        }
+
+        return m;
+    }
+
+    /**
+     * Asserts that {@code actual} has the same costs and the same negative
+     * weight cycle flag as {@code expected}, and that every path in the parent
+     * matrix of {@code actual} is a valid path of matching cost.
+     */
+    static void assertSameShortestPaths(AdjacencyMatrix m,
+                                        ShortestPathData expected,
+                                        ShortestPathData actual) {
+        assertEquals(expected.containsNegativeWeightCycle(),
+                     actual.containsNegativeWeightCycle());
+
+        if (expected.containsNegativeWeightCycle()) {
+            return;
+        }
+
+        int n = m.getNumberOfNodes();
+        ShortestPathCostMatrix cm = actual.getCostMatrix();
+        ParentMatrix pm = actual.getParentMatrix();
+
+        assertEquals(n, cm.getNumberOfNodes());
+        assertEquals(n, pm.getNumberOfNodes());
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                double cost = cm.getShortestPathCost(i, j);
+                assertEquals(expected.getCostMatrix().getShortestPathCost(i, j),
+                             cost,
+                             0.0);
+                assertPathCost(m, pm.getShortestPath(i, j), i, j, cost);
+            }
+        }
+    }
+
+    static void assertPathCost(AdjacencyMatrix m, 
+                               int[] path, 
+                               int source,
+                               int target,
+                               double cost) {
+        if (cost == Double.POSITIVE_INFINITY) {
+            assertEquals(0, path.length);
+            return;
+        }
+
+        assertTrue(path.length > 0);
+        assertEquals(source, path[0]);
+        assertEquals(target, path[path.length - 1]);
+
+        double pathCost = 0.0;
+
+        for (int i = 0; i < path.length - 1; ++i) {
+            pathCost += m.getArcCost(path[i], path[i + 1]);
+        }
+
+        assertEquals(cost, pathCost, 0.0);
+    }
+}
@@ -0,0 +1,99 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TransitiveClosureTest {
+
+    @Test
+    public void testMatchesFloydWarshall() {
+        Random random = new Random(19L);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            for (int n : new int[]{ 0, 1, 63, 64, 65, 130 }) {
+                AdjacencyMatrix m = 
+                        TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                            n + n / 3, 
+                                                            1, 
+                                                            9, 
+                                                            random);
+                ShortestPathCostMatrix costs = 
+                        new FloydWarshall().compute(m).getCostMatrix();
+
+                assertReachability(costs, 
+                                   new FloydWarshall().computeReachability(m));
+
+                for (int parallelism = 1; parallelism <= 5; ++parallelism) {
+                    assertReachability(
+                            costs, 
+                            new TransitiveClosure(executor)
+                                    .compute(m, parallelism));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCountsReachableNodes() {
+        // 0 -> 1 -> 2, 3 isolated.
+        AdjacencyMatrix m = new AdjacencyMatrix(4);
+        m.setArcCost(0, 1, 1.0);
+        m.setArcCost(1, 2, -1.0);
+
+        ReachabilityMatrix r = new TransitiveClosure().compute(m);
+        assertEquals(3, r.getNumberOfReachableNodes(0));
+        assertEquals(2, r.getNumberOfReachableNodes(1));
+        assertEquals(1, r.getNumberOfReachableNodes(3));
+        assertTrue(r.isReachable(0, 2));
+        assertFalse(r.isReachable(2, 0));
+    }
+
+    @Test
+    public void testIgnoresNegativeInfinityArcs() {
+        // 0 -> 1 costs -infinity, 2 -> 1 costs 1.
+        AdjacencyMatrix m = new AdjacencyMatrix(3);
+        m.setArcCost(0, 1, Double.NEGATIVE_INFINITY);
+        m.setArcCost(2, 1, 1.0);
+
+        ParentMatrix parents = new FloydWarshall().compute(m).getParentMatrix();
+        ReachabilityMatrix r = new TransitiveClosure().compute(m);
+
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                assertEquals(parents.getShortestPathLength(i, j) > 0, 
+                             r.isReachable(i, j));
+            }
+        }
+
+        assertFalse(r.isReachable(0, 1));
+        assertTrue(r.isReachable(2, 1));
+        assertFalse(new FloydWarshall().computeReachability(m)
+                                       .isReachable(0, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsBadNodeIndex() {
+        new TransitiveClosure().compute(new AdjacencyMatrix(2))
+                               .isReachable(0, 2);
+    }
+
+    private static void assertReachability(ShortestPathCostMatrix costs, 
+                                           ReachabilityMatrix r) {
+        int n = costs.getNumberOfNodes();
+        assertEquals(n, r.getNumberOfNodes());
+
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                assertEquals(costs.getShortestPathCost(i, j) 
+                                     != Double.POSITIVE_INFINITY,
+                             r.isReachable(i, j));
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package net.coderodde.graph.allpairs;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class VectorFloydWarshallTest {
+
+    private static final FloydWarshall REFERENCE = new FloydWarshall();
+    private static final VectorFloydWarshall ALGO = new VectorFloydWarshall();
+
+    @Test
+    public void testVectorApiIsAvailableInTests() {
+        // The surefire configuration adds the incubator module.
+        assertTrue(VectorFloydWarshall.isVectorApiAvailable());
+    }
+
+    @Test
+    public void testOnEmptyAdjacencyMatrix() {
+        ShortestPathData data = ALGO.compute(new AdjacencyMatrix(0));
+
+        assertEquals(0, data.getCostMatrix().getNumberOfNodes());
+        assertFalse(data.containsNegativeWeightCycle());
+    }
+
+    @Test
+    public void testIdenticalToFloydWarshall() {
+        Random random = new Random(31L);
+
+        for (int iteration = 0; iteration < 40; ++iteration) {
+            // Cover row lengths that are not multiples of the vector length.
+            int n = 1 + random.nextInt(70);
+            AdjacencyMatrix m = 
+                    TestGraphs.getRandomAdjacencyMatrix(n, 
+                                                        3 * n, 
+                                                        -1, 
+                                                        10, 
+                                                        random);
+            ShortestPathData expected = REFERENCE.compute(m);
+            ShortestPathData actual = ALGO.compute(m);
+
+            TestGraphs.assertSameShortestPaths(m, expected, actual);
+
+            if (expected.containsNegativeWeightCycle()) {
+                continue;
+            }
+
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    assertEquals(expected.getParentMatrix().getParent(i, j),
+                                 actual.getParentMatrix().getParent(i, j));
+                }
+            }
+        }
+    }
+}